@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.jetbrains.intellij.platform") version "2.4.0"
     id("io.freefair.lombok") version "8.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.catchaybk"
@@ -16,6 +17,11 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-annotations:2.18.3")
     compileOnly("org.projectlombok:lombok:1.18.36")
     annotationProcessor("org.projectlombok:lombok:1.18.36")
+
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    // IntelliJ Platform Gradle Plugin 的測試配置需要 JUnit 4 類（即使只使用 JUnit 5）
+    testRuntimeOnly("junit:junit:4.13.2")
     
     intellijPlatform {
         local("/Applications/IntelliJ IDEA.app")
@@ -33,11 +39,31 @@ sourceSets {
     }
 }
 
+// 基準測試在獨立JVM中執行，不啟動IDE，但仍需載入平台類（如 FieldTableModel 引用的 Messages）
+configurations {
+    named("jmhCompileClasspath") { extendsFrom(configurations["intellijPlatformClasspath"]) }
+    named("jmhRuntimeClasspath") { extendsFrom(configurations["intellijPlatformClasspath"]) }
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    jvmArgs.set(listOf("-Djava.awt.headless=true", "-Xmx2g"))
+    resultFormat.set("JSON")
+}
+
 tasks {
     withType<JavaCompile> {
         sourceCompatibility = "17"
         targetCompatibility = "17"
     }
+
+    // core 的單元測試，不啟動IDE
+    test {
+        useJUnitPlatform()
+    }
 }
 
 intellijPlatform {
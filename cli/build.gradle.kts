@@ -0,0 +1,41 @@
+plugins {
+    id("java")
+    id("io.freefair.lombok")
+}
+
+group = rootProject.group
+version = rootProject.version
+
+repositories {
+    mavenCentral()
+}
+
+// 直接編譯根項目的 core 包，CLI 不依賴任何 com.intellij 類
+sourceSets {
+    main {
+        java {
+            srcDirs("src/main/java", "../src/main/java")
+            include("com/catchaybk/dtogeneratorplugin/core/**")
+            include("com/catchaybk/dtogeneratorplugin/cli/**")
+        }
+    }
+}
+
+tasks {
+    withType<JavaCompile> {
+        sourceCompatibility = "17"
+        targetCompatibility = "17"
+    }
+
+    // 打包為可直接執行的 fat jar：java -jar dto-generator-cli-<version>.jar
+    jar {
+        archiveBaseName.set("dto-generator-cli")
+        manifest {
+            attributes["Main-Class"] = "com.catchaybk.dtogeneratorplugin.cli.DtoGeneratorCli"
+        }
+        duplicatesStrategy = DuplicatesStrategy.EXCLUDE
+        from(configurations.runtimeClasspath.map { classpath ->
+            classpath.map { if (it.isDirectory) it else zipTree(it) }
+        })
+    }
+}
@@ -0,0 +1,155 @@
+package com.catchaybk.dtogeneratorplugin.cli;
+
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.parser.SpecParser;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 命令列參數
+ * 對應IDE配置對話框中的各項設定
+ */
+public class CliOptions {
+    static final String USAGE = String.join("\n",
+            "用法: java -jar dto-generator-cli.jar --input <目錄> --output <目錄> --package <包路徑> [選項]",
+            "",
+            "必填參數：",
+            "  --input <目錄>          規格文件所在目錄，每個文件對應一個電文",
+            "  --output <目錄>         輸出的源碼根目錄，會依包路徑建立子目錄",
+            "  --package <包路徑>      生成類的目標包路徑",
+            "",
+            "選項：",
+            "  --author <名稱>         類文檔中的作者，默認為空",
+            "  --java <8|17>           目標Java版本，決定使用javax或jakarta驗證包，默認17",
+            "  --direction <方向>      電文方向：無/上行/下行，默認為無",
+            "  --json-property <格式>  JSON Property 格式，默認為原始格式",
+            "  --json-alias <格式,...> JSON Alias 格式，以逗號分隔，默認不添加",
+            "  --messages <文件>       驗證消息模板的properties文件，鍵與IDE設定相同",
+            "  --ext <副檔名,...>      要處理的規格文件副檔名，默認為 txt,tsv,spec",
+            "  --threads <數量>        並行處理的線程數，默認為CPU核心數",
+            "  --features <功能,...>   啟用的生成功能，以逗號分隔，none 表示全部關閉，默認為 "
+                    + defaultFeatureNames(),
+            featureUsage(),
+            "",
+            "電文方向為「無」時，每個規格文件生成到以文件名命名的子包中，避免不同電文的子類重名。");
+
+    Path inputDir;
+    Path outputDir;
+    String targetPackage;
+    String author = "";
+    boolean isJava17 = true;
+    String messageDirection = "無";
+    String jsonPropertyStyle = "原始格式";
+    List<String> jsonAliasStyles = new ArrayList<>();
+    Path messagesFile;
+    List<String> extensions = SpecParser.DEFAULT_EXTENSIONS;
+    int threads = Runtime.getRuntime().availableProcessors();
+    Set<GenerationFeature> features = GenerationFeature.defaults();
+
+    /**
+     * 解析命令列參數
+     *
+     * @param args 命令列參數
+     * @return 解析結果
+     * @throws IllegalArgumentException 參數缺少或格式錯誤時
+     */
+    static CliOptions parse(String[] args) {
+        CliOptions options = new CliOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("參數 " + name + " 缺少值");
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--input" -> options.inputDir = Paths.get(value);
+                case "--output" -> options.outputDir = Paths.get(value);
+                case "--package" -> options.targetPackage = value.trim();
+                case "--author" -> options.author = value.trim();
+                case "--java" -> options.isJava17 = parseJavaVersion(value);
+                case "--direction" -> options.messageDirection = parseDirection(value);
+                case "--json-property" -> options.jsonPropertyStyle = value.trim();
+                case "--json-alias" -> options.jsonAliasStyles = splitList(value);
+                case "--messages" -> options.messagesFile = Paths.get(value);
+                case "--ext" -> options.extensions = splitList(value);
+                case "--threads" -> options.threads = Math.max(1, Integer.parseInt(value.trim()));
+                case "--features" -> options.features = parseFeatures(value);
+                default -> throw new IllegalArgumentException("未知的參數: " + name);
+            }
+        }
+
+        if (options.inputDir == null || options.outputDir == null
+                || options.targetPackage == null || options.targetPackage.isEmpty()) {
+            throw new IllegalArgumentException("--input、--output 和 --package 為必填參數");
+        }
+        return options;
+    }
+
+    /**
+     * 獲取電文方向的註釋，與IDE配置對話框一致
+     */
+    String getMessageDirectionComment() {
+        return switch (messageDirection) {
+            case "上行" -> "上行/請求電文";
+            case "下行" -> "下行/回應電文";
+            default -> "";
+        };
+    }
+
+    private static boolean parseJavaVersion(String value) {
+        return switch (value.trim()) {
+            case "8" -> false;
+            case "17" -> true;
+            default -> throw new IllegalArgumentException("不支援的Java版本: " + value);
+        };
+    }
+
+    private static String parseDirection(String value) {
+        String direction = value.trim();
+        if (!direction.equals("無") && !direction.equals("上行") && !direction.equals("下行")) {
+            throw new IllegalArgumentException("電文方向必須是 無、上行 或 下行: " + value);
+        }
+        return direction;
+    }
+
+    private static Set<GenerationFeature> parseFeatures(String value) {
+        Set<GenerationFeature> features = EnumSet.noneOf(GenerationFeature.class);
+        for (String name : splitList(value)) {
+            if (!name.equals("none")) {
+                features.add(GenerationFeature.fromOptionName(name));
+            }
+        }
+        return features;
+    }
+
+    private static String featureUsage() {
+        List<String> lines = new ArrayList<>();
+        for (GenerationFeature feature : GenerationFeature.values()) {
+            lines.add("                          " + feature.getOptionName() + ": " + feature.getDescription());
+        }
+        return String.join("\n", lines);
+    }
+
+    private static String defaultFeatureNames() {
+        List<String> names = new ArrayList<>();
+        for (GenerationFeature feature : GenerationFeature.defaults()) {
+            names.add(feature.getOptionName());
+        }
+        return names.isEmpty() ? "none" : String.join(",", names);
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> result = new ArrayList<>();
+        for (String part : value.split(",")) {
+            if (!part.trim().isEmpty()) {
+                result.add(part.trim());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package com.catchaybk.dtogeneratorplugin.cli;
+
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * DTO生成器命令列入口
+ * 在沒有IDE的環境（如建置伺服器）中，批次將目錄下的規格文件生成為DTO源碼
+ * <p>
+ * 退出碼：
+ * 0 - 全部成功
+ * 1 - 部分規格文件生成失敗
+ * 2 - 參數錯誤或無法讀取輸入目錄
+ */
+public class DtoGeneratorCli {
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        CliOptions options;
+        try {
+            options = CliOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.println(CliOptions.USAGE);
+            return 2;
+        }
+
+        List<Path> specFiles;
+        ValidationMessageTemplates messages;
+        try {
+            specFiles = listSpecFiles(options);
+            messages = loadMessages(options);
+        } catch (IOException e) {
+            System.err.println("讀取輸入失敗: " + e.getMessage());
+            return 2;
+        }
+
+        long start = System.nanoTime();
+        SpecBatchGenerator generator = new SpecBatchGenerator(options, messages);
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        int totalClasses = 0;
+        int failures = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<>(specFiles.size());
+            for (Path specFile : specFiles) {
+                results.add(executor.submit(() -> generator.generate(specFile)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    totalClasses += results.get(i).get();
+                } catch (Exception e) {
+                    failures++;
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("生成失敗: " + specFiles.get(i) + " - " + cause.getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        System.out.printf(Locale.ROOT, "已從 %d 個規格文件生成 %d 個類，耗時 %d ms（約 %.0f 類/秒）%n",
+                specFiles.size() - failures, totalClasses, elapsedMillis, totalClasses * 1000.0 / elapsedMillis);
+        return failures == 0 ? 0 : 1;
+    }
+
+    private static List<Path> listSpecFiles(CliOptions options) throws IOException {
+        try (Stream<Path> files = Files.list(options.inputDir)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> hasExtension(file, options.extensions))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static boolean hasExtension(Path file, List<String> extensions) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (String extension : extensions) {
+            if (name.endsWith("." + extension.toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ValidationMessageTemplates loadMessages(CliOptions options) throws IOException {
+        if (options.messagesFile == null) {
+            return ValidationMessageTemplates.defaults();
+        }
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(options.messagesFile, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        return ValidationMessageTemplates.fromProperties(props);
+    }
+}
@@ -0,0 +1,167 @@
+package com.catchaybk.dtogeneratorplugin.cli;
+
+import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureAnalyzer;
+import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureDeduplicator;
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
+import com.catchaybk.dtogeneratorplugin.core.generator.AliasFanOutChecker;
+import com.catchaybk.dtogeneratorplugin.core.generator.BenchmarkGenerator;
+import com.catchaybk.dtogeneratorplugin.core.generator.ClassGenerator;
+import com.catchaybk.dtogeneratorplugin.core.generator.ClassNameGenerator;
+import com.catchaybk.dtogeneratorplugin.core.generator.CompanionGenerator;
+import com.catchaybk.dtogeneratorplugin.core.generator.ContentHash;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+import com.catchaybk.dtogeneratorplugin.core.parser.SpecParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 規格文件批次生成器
+ * 將單個規格文件解析、分析並生成對應的DTO源碼文件
+ * <p>
+ * 命名規則與IDE一致：
+ * 1. 電文ID取自文件名（去除副檔名及非識別字字符）
+ * 2. 子類名由 ClassNameGenerator 根據電文ID、方向和字段名生成
+ * 3. 電文方向為「無」時，輸出到以電文ID命名的子包，主類以電文ID命名
+ */
+public class SpecBatchGenerator {
+    private final CliOptions options;
+    private final ValidationMessageTemplates messages;
+
+    public SpecBatchGenerator(CliOptions options, ValidationMessageTemplates messages) {
+        this.options = options;
+        this.messages = messages;
+    }
+
+    /**
+     * 生成單個規格文件對應的所有類
+     *
+     * @param specFile 規格文件
+     * @return 生成的類數量（不含伴生類）
+     * @throws IOException 讀寫文件失敗時
+     */
+    public int generate(Path specFile) throws IOException {
+        String specId = SpecParser.specId(specFile.getFileName().toString());
+        List<Field> fields = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(specFile, StandardCharsets.UTF_8)) {
+            SpecParser.parseFields(reader, options.isJava17, fields::add);
+        }
+        if (fields.isEmpty()) {
+            return 0;
+        }
+
+        boolean noDirection = "無".equals(options.messageDirection);
+        String packageName = noDirection
+                ? options.targetPackage + "." + specId.toLowerCase()
+                : options.targetPackage;
+        String mainClassName = ClassNameGenerator.generateClassName(
+                specId, options.messageDirection, capitalize(specId), true);
+
+        UserConfig config = new UserConfig(
+                fields,
+                mainClassName,
+                options.author,
+                specId,
+                options.isJava17,
+                options.getMessageDirectionComment(),
+                ClassNameGenerator.generateLevelClassNames(fields, specId, options.messageDirection),
+                packageName,
+                options.jsonPropertyStyle,
+                options.jsonAliasStyles,
+                messages,
+                options.features);
+
+        Structure mainStructure = new StructureAnalyzer(
+                config.fields, config.mainClassName, config.levelClassNamesMap,
+                config.isEnabled(GenerationFeature.MERGE_IDENTICAL_STRUCTURES) ? new StructureDeduplicator() : null)
+                .analyze();
+
+        ClassGenerator generator = new ClassGenerator(packageName, config);
+        if (config.isEnabled(GenerationFeature.JACKSON_THROUGHPUT)) {
+            for (String warning : new AliasFanOutChecker(generator).check(mainStructure)) {
+                System.err.println("提示: " + specFile.getFileName() + " " + warning);
+            }
+        }
+
+        List<CompanionGenerator> companionGenerators = CompanionGenerator.forConfig(packageName, config);
+
+        Path packageDir = options.outputDir.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(packageDir);
+        StringBuilder buffer = new StringBuilder();
+        int count = writeAllClasses(packageDir, generator, companionGenerators, mainStructure, buffer);
+        if (config.isEnabled(GenerationFeature.BENCHMARKS)) {
+            BenchmarkGenerator benchmarkGenerator = new BenchmarkGenerator(packageName, config);
+            writeSource(packageDir.resolve(mainStructure.getClassName() + BenchmarkGenerator.SUFFIX + ".java"), buffer,
+                    benchmarkGenerator.estimateSize(mainStructure),
+                    out -> benchmarkGenerator.generate(mainStructure, out));
+        }
+        return count;
+    }
+
+    /**
+     * 逐個類生成並寫入文件，任一時刻只保留一個類的源碼
+     * 每個類的伴生類（驗證器、JSON編解碼器等）寫在同一目錄
+     */
+    private int writeAllClasses(Path packageDir, ClassGenerator generator,
+                                List<CompanionGenerator> companionGenerators,
+                                Structure structure, StringBuilder buffer) throws IOException {
+        String className = structure.getClassName();
+        List<Field> fields = structure.getFields();
+        writeSource(packageDir.resolve(className + ".java"), buffer, generator.estimateSize(fields),
+                out -> generator.generateClass(className, fields, out));
+        for (CompanionGenerator companionGenerator : companionGenerators) {
+            writeSource(packageDir.resolve(className + companionGenerator.getSuffix() + ".java"), buffer,
+                    companionGenerator.estimateSize(fields),
+                    out -> companionGenerator.generate(className, fields, out));
+        }
+
+        int count = 1;
+        for (Structure childStructure : structure.getChildStructures()) {
+            count += writeAllClasses(packageDir, generator, companionGenerators, childStructure, buffer);
+        }
+        return count;
+    }
+
+    /**
+     * 寫入單個源碼文件
+     * <p>
+     * 新文件直接輸出到文件流；已存在的文件先渲染到共用緩衝區，內容未變更時不重寫，
+     * 保留修改時間以免觸發增量編譯
+     */
+    private void writeSource(Path file, StringBuilder buffer, int estimatedSize, SourceWriter source)
+            throws IOException {
+        if (Files.isRegularFile(file)) {
+            buffer.setLength(0);
+            buffer.ensureCapacity(estimatedSize);
+            source.writeTo(buffer);
+            if (!ContentHash.sameContent(Files.readString(file, StandardCharsets.UTF_8), buffer)) {
+                Files.writeString(file, buffer, StandardCharsets.UTF_8);
+            }
+        } else {
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                source.writeTo(writer);
+            }
+        }
+    }
+
+    private static String capitalize(String input) {
+        return Character.toUpperCase(input.charAt(0)) + input.substring(1);
+    }
+
+    /**
+     * 將源碼輸出到指定目標
+     */
+    @FunctionalInterface
+    private interface SourceWriter {
+        void writeTo(Appendable out) throws IOException;
+    }
+}
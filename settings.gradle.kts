@@ -5,4 +5,6 @@ pluginManagement {
     }
 }
 
-rootProject.name = "dto-generator-plugin"
\ No newline at end of file
+rootProject.name = "dto-generator-plugin"
+
+include("cli")
@@ -0,0 +1,55 @@
+package com.catchaybk.dtogeneratorplugin.benchmark;
+
+import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureAnalyzer;
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
+import com.catchaybk.dtogeneratorplugin.core.generator.ClassGenerator;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 類生成基準測試
+ * 測量將整棵結構樹渲染為Java源碼的時間
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ClassGeneratorBenchmark {
+    @Param({ "10", "1000", "50000" })
+    public int rows;
+
+    @Param({ "1", "4", "8" })
+    public int depth;
+
+    private Structure mainStructure;
+    private ClassGenerator generator;
+
+    @Setup
+    public void setUp() {
+        List<Field> fields = SyntheticSpec.fields(rows, depth, true);
+        UserConfig config = new UserConfig(fields, "MainDTO", "benchmark", "BENCH001", true,
+                "上行/請求電文", new HashMap<>(), "com.example.dto", "原始格式", List.of("大寫底線", "小駝峰"),
+                ValidationMessageTemplates.defaults(), GenerationFeature.defaults());
+        mainStructure = new StructureAnalyzer(fields, config.mainClassName, config.levelClassNamesMap).analyze();
+        generator = new ClassGenerator(config.targetPackage, config);
+    }
+
+    @Benchmark
+    public void generateClass(Blackhole blackhole) {
+        generate(mainStructure, blackhole);
+    }
+
+    private void generate(Structure structure, Blackhole blackhole) {
+        blackhole.consume(generator.generateClass(structure.getClassName(), structure.getFields()));
+        for (Structure child : structure.getChildStructures()) {
+            generate(child, blackhole);
+        }
+    }
+}
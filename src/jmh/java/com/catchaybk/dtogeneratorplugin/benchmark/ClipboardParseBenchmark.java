@@ -0,0 +1,35 @@
+package com.catchaybk.dtogeneratorplugin.benchmark;
+
+import com.catchaybk.dtogeneratorplugin.intellij.ui.model.FieldTableModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 剪貼板數據解析基準測試
+ * 測量 FieldTableModel.processClipboardData 將貼上的文本轉為表格行的吞吐量
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ClipboardParseBenchmark {
+    @Param({ "10", "1000", "50000" })
+    public int rows;
+
+    @Param({ "1", "4", "8" })
+    public int depth;
+
+    private String clipboardText;
+
+    @Setup
+    public void setUp() {
+        clipboardText = SyntheticSpec.clipboardText(rows, depth);
+    }
+
+    @Benchmark
+    public int processClipboardData() {
+        FieldTableModel model = new FieldTableModel(true);
+        model.processClipboardData(clipboardText);
+        return model.getRowCount();
+    }
+}
@@ -0,0 +1,40 @@
+package com.catchaybk.dtogeneratorplugin.benchmark;
+
+import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureAnalyzer;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 巢狀形狀基準測試
+ * 以深樹（100,000 行約 16,000 層）與寬樹（所有群組都在第一層且子群組同名）分析結構，
+ * 子類名以字段路徑查找，每次操作的平均時間應隨行數線性增長，與層數和同名子群組數量無關
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class NestingShapeBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    public int rows;
+
+    @Param({ "deep", "wide" })
+    public String shape;
+
+    private List<Field> fields;
+
+    @Setup
+    public void setUp() {
+        fields = SyntheticSpec.toFields("deep".equals(shape)
+                ? SyntheticSpec.deepRows(rows)
+                : SyntheticSpec.wideRows(rows), true);
+    }
+
+    @Benchmark
+    public Structure analyze() {
+        return new StructureAnalyzer(fields, "MainDTO", new HashMap<>()).analyze();
+    }
+}
@@ -0,0 +1,352 @@
+package com.catchaybk.dtogeneratorplugin.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 基於正則表達式的規格解析器
+ * 保留 SpecParser 改用單次遍歷掃描器之前的實現，僅作為 RowScanBenchmark 的比較基準
+ * <p>
+ * 每行調用多次 String.matches 與 String.split，每次都會重新編譯正則表達式
+ */
+final class RegexSpecParser {
+    static final int COLUMN_COUNT = 7;
+    static final int LEVEL_INDEX = 0;
+    static final int DATA_NAME_INDEX = 1;
+    static final int DATA_TYPE_INDEX = 2;
+    static final int SIZE_INDEX = 3;
+    static final int REQUIRED_INDEX = 4;
+    static final int COMMENTS_INDEX = 5;
+    static final int PATTERN_INDEX = 6;
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private RegexSpecParser() {
+    }
+
+    /**
+     * 解析規格文本
+     *
+     * @param text 規格文本
+     * @param sink 接收每一行解析結果的回調
+     */
+    static void parse(String text, Consumer<String[]> sink) {
+        try {
+            parse(new StringReader(text), sink);
+        } catch (IOException e) {
+            // StringReader 不會拋出IO異常
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 以串流方式解析規格內容
+     * 逐塊讀取輸入並按換行符切分，任何時候只保留當前行與尚未輸出的數據行，
+     * 適合從文件讀取體積很大的規格
+     *
+     * @param reader 規格內容，由調用方負責關閉
+     * @param sink   接收每一行解析結果的回調
+     * @throws IOException 讀取失敗時
+     */
+    static void parse(Reader reader, Consumer<String[]> sink) throws IOException {
+        RowAccumulator accumulator = new RowAccumulator(sink);
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        StringBuilder line = new StringBuilder();
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    line.append(buffer, start, i - start);
+                    accumulator.accept(line.toString());
+                    line.setLength(0);
+                    start = i + 1;
+                }
+            }
+            line.append(buffer, start, read - start);
+        }
+        accumulator.accept(line.toString());
+        accumulator.finish();
+    }
+
+    /**
+     * 驗證Size格式是否有效
+     * 支持：
+     * 1. 純數字格式（如：10）
+     * 2. 帶小數點的格式（如：10,2）
+     *
+     * @param value 要驗證的值
+     * @return 格式是否有效
+     */
+    static boolean isValidSizeFormat(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return true;
+        }
+
+        // 檢查是否為純數字或帶逗號的數字格式
+        return value.matches("\\d+") || value.matches("\\d+,\\d+");
+    }
+
+    /**
+     * 判斷是否為新的數據行
+     * 條件：
+     * 1. 以數字開頭
+     * 2. 包含至少3個以上的值（用tab或多個空格分隔）
+     * 3. 第二個值不能是純數字（避免誤判列舉值）
+     */
+    private static boolean isNewDataRow(String row) {
+        // 先去除前後空格再判斷
+        String trimmedRow = row.trim();
+
+        // 排除 "1:" 或 "1." 這種格式
+        if (trimmedRow.matches("^\\d+[:.。].*")) {
+            return false;
+        }
+
+        if (!trimmedRow.matches("^\\s*\\d+.*")) {
+            return false;
+        }
+
+        // 處理多個空格或 tab
+        String[] parts = trimmedRow.split("\\s+|\\t+");
+        // 過濾掉空字符串
+        parts = Arrays.stream(parts)
+                .filter(part -> !part.trim().isEmpty())
+                .toArray(String[]::new);
+
+        if (parts.length < 3) {
+            return false;
+        }
+
+        // 檢查第二個值是否為純數字或是包含冒號、點號的格式（避免誤判列舉值）
+        if (parts.length > 1 && (parts[1].trim().matches("\\d+") ||
+                parts[1].contains(":") || parts[1].contains("."))) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static String[] withComment(String[] row, String comment) {
+        row[COMMENTS_INDEX] = (row[COMMENTS_INDEX] + " " + comment).trim();
+        return row;
+    }
+
+    /**
+     * 處理數據行，返回處理後的行數據
+     */
+    private static String[] processDataRow(String row) {
+        String[] newRow = new String[COLUMN_COUNT];
+        Arrays.fill(newRow, "");
+
+        // 分割輸入數據，但保留括號開頭的註解部分
+        String[] mainParts = row.split("\\t|(?:  +)");
+        List<String> values = new ArrayList<>();
+        StringBuilder comment = new StringBuilder();
+        boolean isComment = false;
+
+        for (String part : mainParts) {
+            if (!part.trim().isEmpty()) {
+                if (part.startsWith("(") && !isComment) {
+                    isComment = true;
+                    comment.append(part);
+                } else if (isComment) {
+                    comment.append(" ").append(part);
+                } else {
+                    values.add(part.trim());
+                }
+            }
+        }
+
+        distributeValues(values, newRow);
+
+        // 設置註解
+        if (comment.length() > 0) {
+            newRow[COMMENTS_INDEX] = comment.toString();
+        }
+
+        return newRow;
+    }
+
+    /**
+     * 根據數據量和特徵智能分配值到對應欄位
+     *
+     * @param values 要分配的值列表
+     * @param newRow 新行數據數組
+     */
+    private static void distributeValues(List<String> values, String[] newRow) {
+        int totalValues = values.size();
+
+        // 根據值的數量決定處理策略
+        switch (totalValues) {
+            case 1:
+            case 2:
+            case 3:
+                // 3個或更少的值，直接按順序填充前面的欄位
+                fillByOrder(values, newRow);
+                break;
+
+            case 4:
+                handleFourValues(values, newRow);
+                break;
+            case 5:
+                handleFiveValues(values, newRow);
+                break;
+            case 6:
+                // 6個值的情況，Pattern欄位保持為空
+                handleNormalValues(values, newRow);
+                break;
+
+            default:
+                // 7個或更多值，最後一個值作為Pattern
+                handleValuesWithPattern(values, newRow);
+        }
+    }
+
+    private static void fillByOrder(List<String> values, String[] newRow) {
+        // 直接按順序填充
+        for (int i = 0; i < values.size(); i++) {
+            newRow[i] = values.get(i);
+        }
+    }
+
+    /**
+     * 處理4個值的情況
+     * 規則：
+     * 1. 如果最後一個值是數字格式，視為Size
+     * 2. 如果最後一個值是Y/N，視為Required
+     * 3. 其他情況，視為Comments
+     *
+     * @param values 4個值的列表
+     * @param newRow 新行數據數組
+     */
+    private static void handleFourValues(List<String> values, String[] newRow) {
+        String lastValue = values.get(3);
+
+        newRow[LEVEL_INDEX] = values.get(0);
+        newRow[DATA_NAME_INDEX] = values.get(1);
+        newRow[DATA_TYPE_INDEX] = values.get(2);
+
+        // 如果最後一個值是數字格式，可能是Size
+        if (isValidSizeFormat(lastValue)) {
+            newRow[SIZE_INDEX] = lastValue;
+        }
+        // 如果最後一個值是Y/N，可能是Required
+        else if (lastValue.matches("[YyNn]")) {
+            newRow[REQUIRED_INDEX] = lastValue.toUpperCase();
+        }
+        // 其他情況，可能是註解
+        else {
+            newRow[COMMENTS_INDEX] = lastValue;
+        }
+    }
+
+    /**
+     * 處理5個值的情況
+     * 規則：
+     * 1. 前三個值固定為Level、Name、Type
+     * 2. 第四個值如果是Size格式，則第五個值可能是Required或Comment
+     * 3. 第四個值如果是Y/N，則是Required，第五個值為Comment
+     * 4. 其他情況，第四個值為Size，第五個值為Comment
+     *
+     * @param values 5個值的列表
+     * @param newRow 新行數據數組
+     */
+    private static void handleFiveValues(List<String> values, String[] newRow) {
+        String fourthValue = values.get(3);
+        String fifthValue = values.get(4);
+
+        // 基本資料總是填入
+        newRow[LEVEL_INDEX] = values.get(0);
+        newRow[DATA_NAME_INDEX] = values.get(1);
+        newRow[DATA_TYPE_INDEX] = values.get(2);
+
+        // 如果第四個值是Size格式
+        if (isValidSizeFormat(fourthValue)) {
+            newRow[SIZE_INDEX] = fourthValue;
+            if (fifthValue.matches("[YyNn]")) {
+                newRow[REQUIRED_INDEX] = fifthValue.toUpperCase();
+            } else {
+                newRow[COMMENTS_INDEX] = fifthValue;
+            }
+        }
+        // 如果第四個值是Y/N
+        else if (fourthValue.matches("[YyNn]")) {
+            newRow[REQUIRED_INDEX] = fourthValue.toUpperCase();
+            newRow[COMMENTS_INDEX] = fifthValue;
+        }
+        // 其他情況
+        else {
+            newRow[SIZE_INDEX] = fourthValue;
+            newRow[COMMENTS_INDEX] = fifthValue;
+        }
+    }
+
+    private static void handleNormalValues(List<String> values, String[] newRow) {
+        // 填充前6個欄位
+        for (int i = 0; i < Math.min(values.size(), 6); i++) {
+            newRow[i] = values.get(i);
+        }
+        // Pattern 欄位保持為空
+        newRow[PATTERN_INDEX] = "";
+    }
+
+    private static void handleValuesWithPattern(List<String> values, String[] newRow) {
+        // 填充前6個欄位
+        for (int i = 0; i < 6; i++) {
+            newRow[i] = values.get(i);
+        }
+        // 最後一個值作為Pattern
+        newRow[PATTERN_INDEX] = values.get(values.size() - 1);
+    }
+
+    /**
+     * 逐行累積數據行
+     * 數據行要等到下一個數據行出現（或輸入結束）才能輸出，因為其後不符合數據行格式的行
+     * 需要合併到它的註解中
+     */
+    private static class RowAccumulator {
+        private final Consumer<String[]> sink;
+        private final StringBuilder currentComment = new StringBuilder();
+        private String[] currentRow;
+
+        RowAccumulator(Consumer<String[]> sink) {
+            this.sink = sink;
+        }
+
+        void accept(String row) {
+            if (row.trim().isEmpty())
+                return;
+
+            if (isNewDataRow(row)) {
+                if (currentRow != null) {
+                    // 輸出之前的行
+                    sink.accept(withComment(currentRow, currentComment.toString()));
+                }
+                // 處理新行
+                currentRow = processDataRow(row);
+                currentComment.setLength(0); // 清空註解
+            } else {
+                // 累積註解
+                if (!currentComment.isEmpty()) {
+                    currentComment.append("\n");
+                }
+                currentComment.append(row.trim());
+            }
+        }
+
+        void finish() {
+            // 輸出最後一行
+            if (currentRow != null) {
+                sink.accept(withComment(currentRow, currentComment.toString()));
+                currentRow = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.catchaybk.dtogeneratorplugin.benchmark;
+
+import com.catchaybk.dtogeneratorplugin.core.parser.SpecParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 規格行分類與欄位切分基準測試
+ * 比較單次遍歷掃描器（SpecParser）與原先基於正則表達式的實現（RegexSpecParser）
+ * <p>
+ * 每次調用解析 100,000 行，結果以「行/秒」表示
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(RowScanBenchmark.ROWS)
+@State(Scope.Benchmark)
+public class RowScanBenchmark {
+    static final int ROWS = 100_000;
+
+    @Param({ "1", "8" })
+    public int depth;
+
+    private String clipboardText;
+
+    @Setup
+    public void setUp() {
+        clipboardText = SyntheticSpec.clipboardText(ROWS, depth);
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        SpecParser.parse(clipboardText, blackhole::consume);
+    }
+
+    @Benchmark
+    public void regexBaseline(Blackhole blackhole) {
+        RegexSpecParser.parse(clipboardText, blackhole::consume);
+    }
+}
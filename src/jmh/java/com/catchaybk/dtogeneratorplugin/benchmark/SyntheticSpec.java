@@ -0,0 +1,136 @@
+package com.catchaybk.dtogeneratorplugin.benchmark;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 合成電文規格
+ * 依指定的行數與巢狀層級產生可重現的測試數據，格式與從Excel複製的內容一致
+ * <p>
+ * 生成規則：
+ * 1. 每隔 GROUP_SPAN 行開啟一個新的 List 群組，直到達到指定層級
+ * 2. 每隔 GROUP_SPAN * depth 行回到第一層
+ * 3. 簡單字段依序輪替 String/int/BigDecimal/帶正則的String/Date/Long
+ * <p>
+ * 另提供兩種極端形狀：每個群組都比上一個深一層的深樹，以及所有群組都在第一層的寬樹
+ */
+public final class SyntheticSpec {
+    private static final int GROUP_SPAN = 6;
+
+    private static final String[][] SIMPLE_TYPES = {
+            { "String", "20", "" },
+            { "int", "10", "" },
+            { "BigDecimal", "12,2", "" },
+            { "String", "8", "[0-9]+" },
+            { "Date", "8", "" },
+            { "Long", "19", "" }
+    };
+
+    private SyntheticSpec() {
+    }
+
+    /**
+     * 產生每行的欄位值
+     * 順序為 Level、Data Name、Data Type、Size、Required、Comments、Pattern
+     */
+    public static List<String[]> rows(int rowCount, int depth) {
+        List<String[]> rows = new ArrayList<>(rowCount);
+        int level = 1;
+        for (int i = 0; i < rowCount; i++) {
+            if (level < depth && i % GROUP_SPAN == 0) {
+                rows.add(new String[] { String.valueOf(level), "Grp" + i, "List", "1", "Y", "群組" + i, "" });
+                level++;
+                continue;
+            }
+
+            String[] type = SIMPLE_TYPES[i % SIMPLE_TYPES.length];
+            rows.add(new String[] { String.valueOf(level), "Fld" + i, type[0], type[1],
+                    i % 2 == 0 ? "Y" : "N", "欄位" + i, type[2] });
+
+            if (i % (GROUP_SPAN * depth) == GROUP_SPAN * depth - 1) {
+                level = 1;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 產生深樹，每隔 GROUP_SPAN 行開啟一個更深一層的群組且不再返回，
+     * 100,000 行時約有 16,000 層
+     */
+    public static List<String[]> deepRows(int rowCount) {
+        List<String[]> rows = new ArrayList<>(rowCount);
+        int level = 1;
+        for (int i = 0; i < rowCount; i++) {
+            if (i % GROUP_SPAN == 0) {
+                rows.add(new String[] { String.valueOf(level), "Grp" + i, "Object", "1", "Y", "群組" + i, "" });
+                level++;
+            } else {
+                rows.add(simpleRow(level, i));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 產生寬樹，所有群組都在第一層，每個群組下有一個同名的 Item 子群組，
+     * 子群組的類名需要以父字段名區分
+     */
+    public static List<String[]> wideRows(int rowCount) {
+        List<String[]> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            switch (i % GROUP_SPAN) {
+                case 0 -> rows.add(new String[] { "1", "Grp" + i, "List", "1", "Y", "群組" + i, "" });
+                case 1 -> rows.add(new String[] { "2", "Item", "Object", "1", "Y", "子群組" + i, "" });
+                case 2, 3 -> rows.add(simpleRow(3, i));
+                default -> rows.add(simpleRow(2, i));
+            }
+        }
+        return rows;
+    }
+
+    private static String[] simpleRow(int level, int i) {
+        String[] type = SIMPLE_TYPES[i % SIMPLE_TYPES.length];
+        return new String[] { String.valueOf(level), "Fld" + i, type[0], type[1],
+                i % 2 == 0 ? "Y" : "N", "欄位" + i, type[2] };
+    }
+
+    /**
+     * 產生剪貼板格式的文本（以tab分隔）
+     */
+    public static String clipboardText(int rowCount, int depth) {
+        StringBuilder sb = new StringBuilder(rowCount * 48);
+        for (String[] row : rows(rowCount, depth)) {
+            int columns = row[6].isEmpty() ? 6 : 7;
+            for (int i = 0; i < columns; i++) {
+                if (i > 0) {
+                    sb.append('\t');
+                }
+                sb.append(row[i]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 產生字段列表
+     */
+    public static List<Field> fields(int rowCount, int depth, boolean isJava17) {
+        return toFields(rows(rowCount, depth), isJava17);
+    }
+
+    /**
+     * 將每行的欄位值轉為字段列表
+     */
+    public static List<Field> toFields(List<String[]> rows, boolean isJava17) {
+        List<Field> fields = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            fields.add(new Field(Integer.parseInt(row[0]), row[1], row[2], row[3],
+                    "Y".equals(row[4]), row[5], row[6], isJava17));
+        }
+        return fields;
+    }
+}
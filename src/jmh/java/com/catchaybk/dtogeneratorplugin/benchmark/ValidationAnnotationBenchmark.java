@@ -0,0 +1,40 @@
+package com.catchaybk.dtogeneratorplugin.benchmark;
+
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 驗證註解生成基準測試
+ * 測量對所有字段呼叫 Field.getValidationAnnotations 的時間
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ValidationAnnotationBenchmark {
+    @Param({ "10", "1000", "50000" })
+    public int rows;
+
+    @Param({ "1", "4", "8" })
+    public int depth;
+
+    private List<Field> fields;
+    private ValidationMessageTemplates messages;
+
+    @Setup
+    public void setUp() {
+        fields = SyntheticSpec.fields(rows, depth, true);
+        messages = ValidationMessageTemplates.defaults();
+    }
+
+    @Benchmark
+    public void getValidationAnnotations(Blackhole blackhole) {
+        for (Field field : fields) {
+            blackhole.consume(field.getValidationAnnotations(messages));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.catchaybk.dtogeneratorplugin.core.analyzer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 子類名稱表
+ * 以字段路徑（從主類到該字段經過的字段名）為鍵分配子類名，層級數不受限制
+ * <p>
+ * 解析順序：
+ * 1. 同一層級中該字段名配置的類名（配置對話框按層級填寫的類名）
+ * 2. 其他層級中該字段名配置的類名（字段出現在未配置的層級時）
+ * 3. 字段名加 DTO 後綴
+ * <p>
+ * 每次查找都是常數時間的哈希查找。同一類名已分配給另一路徑時，
+ * 以父字段名作前綴區分，仍然重複時再加序號，保證同一電文中的子類不會互相覆蓋。
+ */
+public class ClassNameTable {
+    private final Map<Integer, Map<String, String>> levelClassNamesMap;
+    /** 字段名到類名，多個層級都有配置時取層級最小的 */
+    private final Map<String, String> anyLevelClassNames = new HashMap<>();
+    /** 已分配的類名到其路徑 */
+    private final Map<String, Path> assignedPaths = new HashMap<>();
+    /** 加前綴後仍重複的類名下一個可用的序號，避免同名字段很多時反覆從 2 開始嘗試 */
+    private final Map<String, Integer> nextSuffixes = new HashMap<>();
+
+    /**
+     * @param mainClassName      主類名，子類不會使用此名稱
+     * @param levelClassNamesMap 層級到「字段名 -> 類名」的映射，可為 null
+     */
+    public ClassNameTable(String mainClassName, Map<Integer, Map<String, String>> levelClassNamesMap) {
+        this.levelClassNamesMap = levelClassNamesMap != null ? levelClassNamesMap : new HashMap<>();
+        for (Map<String, String> levelMap : new TreeMap<>(this.levelClassNamesMap).values()) {
+            if (levelMap == null) {
+                continue;
+            }
+            for (Map.Entry<String, String> entry : levelMap.entrySet()) {
+                if (entry.getValue() != null && !entry.getValue().isEmpty()) {
+                    anyLevelClassNames.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        assignedPaths.put(mainClassName, Path.ROOT);
+    }
+
+    /**
+     * 為字段分配子類名
+     *
+     * @param path  字段路徑
+     * @param level 字段層級
+     * @return 本電文中唯一的類名
+     */
+    public String assign(Path path, int level) {
+        String className = resolve(path, level);
+        Path owner = assignedPaths.putIfAbsent(className, path);
+        if (owner == null || owner.equals(path)) {
+            return className;
+        }
+
+        String prefixed = path.parent == Path.ROOT ? className : capitalize(path.parent.name) + className;
+        String candidate = prefixed;
+        int suffix = nextSuffixes.getOrDefault(prefixed, 2);
+        while ((owner = assignedPaths.putIfAbsent(candidate, path)) != null && !owner.equals(path)) {
+            candidate = prefixed + suffix++;
+        }
+        nextSuffixes.put(prefixed, suffix);
+        return candidate;
+    }
+
+    private String resolve(Path path, int level) {
+        String className;
+        Map<String, String> levelMap = levelClassNamesMap.get(level);
+        if (levelMap != null) {
+            className = levelMap.get(path.name);
+            if (className != null && !className.isEmpty()) {
+                return className;
+            }
+        }
+
+        className = anyLevelClassNames.get(path.name);
+        return className != null ? className : path.name + "DTO";
+    }
+
+    private static String capitalize(String name) {
+        return name.isEmpty() ? name : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * 字段路徑
+     * 以父路徑加字段名表示，創建子路徑和計算哈希值都是常數時間，不隨層級增加
+     */
+    public static final class Path {
+        /** 主類 */
+        public static final Path ROOT = new Path(null, "");
+
+        private final Path parent;
+        private final String name;
+        private final int depth;
+        private final int hash;
+
+        private Path(Path parent, String name) {
+            this.parent = parent;
+            this.name = name;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.hash = parent == null ? 0 : 31 * parent.hash + name.hashCode();
+        }
+
+        /**
+         * 創建子路徑
+         *
+         * @param name 字段名
+         */
+        public Path child(String name) {
+            return new Path(this, name);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Path)) {
+                return false;
+            }
+            Path a = this;
+            Path b = (Path) o;
+            if (a.hash != b.hash || a.depth != b.depth) {
+                return false;
+            }
+            // 逐層比較，避免深層路徑遞歸
+            while (a != b) {
+                if (!a.name.equals(b.name)) {
+                    return false;
+                }
+                a = a.parent;
+                b = b.parent;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (Path path = this; path.parent != null; path = path.parent) {
+                sb.insert(0, path.parent.parent != null ? "/" + path.name : path.name);
+            }
+            return sb.toString();
+        }
+    }
+}
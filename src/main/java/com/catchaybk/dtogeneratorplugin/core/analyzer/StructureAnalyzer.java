@@ -2,6 +2,7 @@ package com.catchaybk.dtogeneratorplugin.core.analyzer;
 
 import com.catchaybk.dtogeneratorplugin.core.model.Field;
 import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.TypeDescriptor;
 
 import java.util.*;
 
@@ -13,134 +14,115 @@ public class StructureAnalyzer {
     private final List<Field> allFields;
     private final String mainClassName;
     private final Map<Integer, Map<String, String>> levelClassNamesMap;
+    private final StructureDeduplicator deduplicator;
 
     public StructureAnalyzer(List<Field> allFields, String mainClassName,
             Map<Integer, Map<String, String>> levelClassNamesMap) {
+        this(allFields, mainClassName, levelClassNamesMap, null);
+    }
+
+    /**
+     * @param deduplicator 用於合併相同子結構的去重器，為 null 時不合併
+     */
+    public StructureAnalyzer(List<Field> allFields, String mainClassName,
+            Map<Integer, Map<String, String>> levelClassNamesMap, StructureDeduplicator deduplicator) {
         this.allFields = allFields;
         this.mainClassName = mainClassName;
         this.levelClassNamesMap = levelClassNamesMap;
-    }
-
+        this.deduplicator = deduplicator;
+    }
+
+    /**
+     * 以單次掃描建立結構樹
+     * 使用祖先堆疊記錄目前路徑上可作為父節點的字段（對象或List），每個層級只保留最後一個。
+     * 父節點是同一層級中最近的對象或List，中間的簡單字段不影響，例如：
+     * <pre>
+     * 1 Payer   Object    ← 2 Name 的父節點
+     * 1 Remark  String
+     * 2 Name    String
+     * </pre>
+     * 每個字段最多與堆疊頂端的兩個節點比較即可找到父結構，整體為 O(n)，層級數不受限制。
+     * 子類名以字段路徑在類名表中查找，路徑隨堆疊逐層延伸，每個字段為常數時間。
+     * 提供去重器時，建立完成後再合併相同的子結構
+     *
+     * @return 主結構
+     */
     public Structure analyze() {
         int minLevel = findMinLevel();
         Structure mainStructure = new Structure(mainClassName);
-        Map<Integer, Map<String, Structure>> levelStructures = initializeLevelStructures(minLevel, mainStructure);
-        processFieldsByLevel(levelStructures, minLevel);
-        return mainStructure;
-    }
+        ClassNameTable classNames = new ClassNameTable(mainClassName, levelClassNamesMap);
+        Deque<ParentFrame> ancestors = new ArrayDeque<>();
 
-    private int findMinLevel() {
-        return allFields.stream()
-                .mapToInt(Field::getLevel)
-                .min()
-                .orElse(1);
-    }
+        for (Field field : allFields) {
+            int level = field.getLevel();
+            boolean complex = field.isObject() || field.isList();
 
-    private Map<Integer, Map<String, Structure>> initializeLevelStructures(int minLevel,
-            Structure mainStructure) {
-        Map<Integer, Map<String, Structure>> levelStructures = new HashMap<>();
-        Map<String, Structure> currentLevelStructures = new HashMap<>();
-        levelStructures.put(minLevel, currentLevelStructures);
-        currentLevelStructures.put("main", mainStructure);
-        return levelStructures;
-    }
+            // 彈出更深層的節點；同層的節點只由新的對象或List取代，簡單字段之後仍是同層字段的候選父節點
+            while (!ancestors.isEmpty()
+                    && (ancestors.peek().level > level || complex && ancestors.peek().level == level)) {
+                ancestors.pop();
+            }
 
-    private void processFieldsByLevel(Map<Integer, Map<String, Structure>> levelStructures, int minLevel) {
-        Map<Integer, List<Field>> levelFields = groupFieldsByLevel();
-        Set<Integer> levels = new TreeSet<>(levelFields.keySet());
+            ParentFrame parent = findParent(level, minLevel, mainStructure, ancestors);
+            Structure childStructure = null;
+            ClassNameTable.Path path = null;
+            if (parent != null && parent.structure != null) {
+                if (shouldCreateNewStructure(field)) {
+                    path = parent.path.child(field.getDataName());
+                    childStructure = processComplexField(field, classNames.assign(path, level), parent.structure);
+                } else if (field.isList()) {
+                    updateSimpleListDataType(field);
+                }
+                parent.structure.addField(field);
+            }
 
-        for (Integer level : levels) {
-            processLevelFields(level, levelFields.get(level), levelStructures, minLevel);
+            if (complex) {
+                ancestors.push(new ParentFrame(level, childStructure, path));
+            }
         }
-    }
 
-    private Map<Integer, List<Field>> groupFieldsByLevel() {
-        Map<Integer, List<Field>> levelFields = new HashMap<>();
-        for (Field field : allFields) {
-            levelFields.computeIfAbsent(field.getLevel(), k -> new ArrayList<>()).add(field);
+        if (deduplicator != null) {
+            deduplicator.deduplicate(mainStructure);
         }
-        return levelFields;
+        return mainStructure;
     }
 
-    private void processLevelFields(Integer level, List<Field> fields,
-            Map<Integer, Map<String, Structure>> levelStructures, int minLevel) {
-        if (fields == null)
-            return;
-
-        Map<String, Structure> currentLevelStructures = levelStructures.computeIfAbsent(level, k -> new HashMap<>());
-
-        for (Field field : fields) {
-            Structure parentStructure = findParentStructure(field, level, minLevel, levelStructures);
-            if (parentStructure == null)
-                continue;
-
-            if (shouldCreateNewStructure(field)) {
-                processComplexField(field, level, parentStructure, currentLevelStructures);
-            } else if (field.isList()) {
-                updateSimpleListDataType(field);
-            }
-            parentStructure.addField(field);
-        }
+    private int findMinLevel() {
+        return allFields.stream()
+                .mapToInt(Field::getLevel)
+                .min()
+                .orElse(1);
     }
 
-    private Structure findParentStructure(Field field, Integer level, int minLevel,
-            Map<Integer, Map<String, Structure>> levelStructures) {
+    /**
+     * 查找字段的父節點
+     * 堆疊中的層級由底至頂遞增，跳過同層的節點後第一個節點即為候選；
+     * 它不是上一層時（中間隔著更淺的字段），字段沒有父節點。
+     * 簡單類型的List沒有子結構，其下的字段會被忽略
+     *
+     * @return 父節點，找不到時返回 null
+     */
+    private ParentFrame findParent(int level, int minLevel, Structure mainStructure,
+            Deque<ParentFrame> ancestors) {
         if (level == minLevel) {
-            return levelStructures.get(minLevel).get("main");
+            return new ParentFrame(level - 1, mainStructure, ClassNameTable.Path.ROOT);
         }
 
-        Field parentField = findParentField(field);
-        if (parentField == null)
-            return null;
-
-        Map<String, Structure> parentLevelStructures = levelStructures.get(level - 1);
-        return parentLevelStructures.get(parentField.getDataName());
-    }
-
-    private Field findParentField(Field currentField) {
-        int currentIndex = allFields.indexOf(currentField);
-        int targetLevel = currentField.getLevel() - 1;
-
-        for (int i = currentIndex - 1; i >= 0; i--) {
-            Field field = allFields.get(i);
-            if (field.getLevel() == targetLevel && (field.isObject() || field.isList())) {
-                return field;
-            }
-            if (field.getLevel() < targetLevel) {
-                break;
+        for (ParentFrame frame : ancestors) {
+            if (frame.level < level) {
+                return frame.level == level - 1 ? frame : null;
             }
         }
         return null;
     }
 
-    private void processComplexField(Field field, Integer level,
-            Structure parentStructure, Map<String, Structure> currentLevelStructures) {
-        String className = determineClassName(field, level);
+    private Structure processComplexField(Field field, String className, Structure parentStructure) {
         field.setChildClassName(className);
         updateFieldDataType(field);
 
         Structure childStructure = new Structure(className);
         parentStructure.addChildStructure(childStructure, field);
-        currentLevelStructures.put(field.getDataName(), childStructure);
-    }
-
-    private String determineClassName(Field field, Integer level) {
-        Map<String, String> levelMap = levelClassNamesMap.get(level);
-        if (levelMap != null) {
-            String configuredClassName = levelMap.get(field.getDataName());
-            if (configuredClassName != null && !configuredClassName.isEmpty()) {
-                return configuredClassName;
-            }
-        }
-
-        if (field.getDataName().equals("SupList")) {
-            return levelClassNamesMap.get(1).get("SupList");
-        }
-        if (field.getDataName().equals("SubSeqnoList")) {
-            return levelClassNamesMap.get(2).get("SubSeqnoList");
-        }
-
-        return field.getDataName() + "DTO";
+        return childStructure;
     }
 
     private void updateFieldDataType(Field field) {
@@ -172,24 +154,27 @@ public class StructureAnalyzer {
     }
 
     private boolean isSimpleType(String type) {
-        Set<String> simpleTypes = new HashSet<>(Arrays.asList(
-                "String", "Integer", "Long", "Double", "Float", "Boolean",
-                "Short", "Byte", "Character", "int", "long", "double",
-                "float", "boolean", "short", "byte", "char"));
-
-        simpleTypes.addAll(Arrays.asList(
-                "BigDecimal", "BigInteger", "Date", "LocalDate", "LocalDateTime"));
-
-        Field tempField = new Field(0, "", type, "", false, "", "", false);
-        String formattedType = tempField.getFormattedDataType();
-
-        return simpleTypes.contains(formattedType);
+        return TypeDescriptor.of(type).isSimpleValueType();
     }
 
     private void updateSimpleListDataType(Field field) {
         String genericType = extractGenericType(field.getDataType());
-        Field tempField = new Field(0, "", genericType, "", false, "", "", false);
-        String formattedType = tempField.getFormattedDataType();
-        field.setDataType("List<" + formattedType + ">");
+        field.setDataType("List<" + TypeDescriptor.of(genericType).getFormattedName() + ">");
+    }
+
+    /**
+     * 祖先堆疊中的節點
+     * 記錄候選父字段的層級、對應的子結構及字段路徑（簡單類型List時兩者皆為null）
+     */
+    private static class ParentFrame {
+        final int level;
+        final Structure structure;
+        final ClassNameTable.Path path;
+
+        ParentFrame(int level, Structure structure, ClassNameTable.Path path) {
+            this.level = level;
+            this.structure = structure;
+            this.path = path;
+        }
     }
 }
\ No newline at end of file
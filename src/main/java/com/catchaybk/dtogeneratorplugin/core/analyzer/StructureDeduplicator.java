@@ -0,0 +1,249 @@
+package com.catchaybk.dtogeneratorplugin.core.analyzer;
+
+import com.catchaybk.dtogeneratorplugin.core.generator.ContentHash;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 結構去重器
+ * 將結構樹中欄位完全相同的子結構合併為一個類，所有父類的字段都引用同一個類
+ * <p>
+ * 每個結構的指紋由其字段依序的名稱、類型、長度、必填及正則計算而成，
+ * 子結構字段以子結構的指紋代替類名，因此只有整棵子樹都相同時指紋才相同。
+ * 註釋不參與計算，合併時保留後序遍歷中最先完成的結構，其類名和註釋即為共用類的類名和註釋。
+ * <p>
+ * 提供共用結構索引時，本次未出現過的子結構會先在索引中查找，
+ * 找到其他電文已生成的相同類時直接引用該類，整棵子樹都不再生成。
+ * 索引鍵由指紋與輸出形式（Java 版本、record 或 Lombok、基本類型、Jackson 註解、JSON 命名格式及伴生類）共同計算，
+ * 只引用以相同選項生成的類，父類的伴生類調用共用類的伴生類時，後者必定存在。
+ */
+public class StructureDeduplicator {
+    /** 字段屬性之間的分隔符 */
+    private static final char ATTRIBUTE_SEPARATOR = '\u001F';
+    /** 字段之間的分隔符 */
+    private static final char FIELD_SEPARATOR = '\u001E';
+    /** 影響共用類能否被引用的生成選項：類的形式、類級註解及伴生類 */
+    private static final Set<GenerationFeature> OUTPUT_FEATURES = EnumSet.of(
+            GenerationFeature.JACKSON_THROUGHPUT,
+            GenerationFeature.RECORDS,
+            GenerationFeature.PRIMITIVE_TYPES,
+            GenerationFeature.VALIDATORS,
+            GenerationFeature.JSON_CODECS,
+            GenerationFeature.FIXED_LENGTH_CODECS,
+            GenerationFeature.FLYWEIGHTS);
+
+    private final StructureIndex sharedIndex;
+    private final String packageName;
+    private final String outputVariant;
+
+    /** 指紋到首個出現的結構 */
+    private final Map<String, Structure> canonicalStructures = new LinkedHashMap<>();
+    /** 結構樹中每個類名出現的次數 */
+    private final Map<String, Integer> classNameCounts = new HashMap<>();
+    /** 已引用的共用類，簡單類名到完整類名 */
+    private final Map<String, String> sharedClasses = new HashMap<>();
+    /** 已引用的共用類，指紋到完整類名 */
+    private final Map<String, String> sharedFingerprints = new HashMap<>();
+    private int mergedCount;
+    private int sharedCount;
+
+    public StructureDeduplicator() {
+        this(StructureIndex.NONE, null, "");
+    }
+
+    /**
+     * @param sharedIndex   共用結構索引
+     * @param packageName   本次生成的目標包，用於排除本次會重新生成的類
+     * @param outputVariant 本次的輸出形式，見 {@link #outputVariant(UserConfig)}
+     */
+    public StructureDeduplicator(StructureIndex sharedIndex, String packageName, String outputVariant) {
+        this.sharedIndex = sharedIndex;
+        this.packageName = packageName;
+        this.outputVariant = outputVariant;
+    }
+
+    /**
+     * 計算配置的輸出形式，由 Java 版本、影響類形式和伴生類的生成選項，
+     * 以及決定 @JsonProperty 和 @JsonAlias 內容的 JSON 命名格式組成。
+     * 別名格式按選擇的順序排列，順序不同時生成的別名順序也不同
+     *
+     * @param config 用戶配置
+     * @return 輸出形式，如 java17,validators,json-codecs|原始格式|小駝峰,全大寫
+     */
+    public static String outputVariant(UserConfig config) {
+        StringBuilder sb = new StringBuilder(config.isJava17 ? "java17" : "java8");
+        for (GenerationFeature feature : OUTPUT_FEATURES) {
+            if (config.isEnabled(feature)) {
+                sb.append(',').append(feature.getOptionName());
+            }
+        }
+        return sb.append(ATTRIBUTE_SEPARATOR).append(config.jsonPropertyStyle)
+                .append(ATTRIBUTE_SEPARATOR).append(String.join(",", config.jsonAliasStyles))
+                .toString();
+    }
+
+    /**
+     * 合併結構樹中相同的子結構
+     *
+     * @param root 主結構，本身不會被合併
+     * @return 被合併掉的子結構數量
+     */
+    public int deduplicate(Structure root) {
+        countClassNames(root);
+        fingerprint(root);
+        return mergedCount;
+    }
+
+    /**
+     * 本次保留並會生成的子結構，按完成順序排列
+     *
+     * @return 指紋到結構的映射
+     */
+    public Map<String, Structure> getCanonicalStructures() {
+        return Collections.unmodifiableMap(canonicalStructures);
+    }
+
+    /**
+     * 本次保留並會生成的子結構，以共用索引的鍵排列，供生成後登記到索引
+     *
+     * @return 索引鍵到結構的映射
+     */
+    public Map<String, Structure> getIndexEntries() {
+        Map<String, Structure> entries = new LinkedHashMap<>();
+        for (Map.Entry<String, Structure> entry : canonicalStructures.entrySet()) {
+            entries.put(indexKey(entry.getKey()), entry.getValue());
+        }
+        return entries;
+    }
+
+    /**
+     * 改為引用共用索引中已有類的子結構數量
+     */
+    public int getSharedCount() {
+        return sharedCount;
+    }
+
+    private void countClassNames(Structure structure) {
+        classNameCounts.merge(structure.getClassName(), 1, Integer::sum);
+        for (Structure childStructure : structure.getChildStructures()) {
+            countClassNames(childStructure);
+        }
+    }
+
+    /**
+     * 後序計算結構的指紋，同時把重複的子結構替換為已有的結構
+     */
+    private String fingerprint(Structure structure) {
+        Map<Field, String> childFingerprints = new IdentityHashMap<>();
+        List<Structure> keptChildren = new ArrayList<>(structure.getChildStructures().size());
+
+        for (Structure childStructure : structure.getChildStructures()) {
+            String childFingerprint = fingerprint(childStructure);
+            Field parentField = childStructure.getParentField();
+            childFingerprints.put(parentField, childFingerprint);
+
+            Structure canonical = canonicalStructures.get(childFingerprint);
+            if (canonical != null) {
+                redirect(parentField, canonical.getClassName(), null);
+                mergedCount++;
+                continue;
+            }
+
+            String sharedClass = findSharedClass(childFingerprint, childStructure);
+            if (sharedClass != null) {
+                redirect(parentField, sharedClass.substring(sharedClass.lastIndexOf('.') + 1), sharedClass);
+                sharedCount++;
+                continue;
+            }
+
+            canonicalStructures.put(childFingerprint, childStructure);
+            keptChildren.add(childStructure);
+        }
+        structure.setChildStructures(keptChildren);
+
+        StringBuilder canonicalForm = new StringBuilder();
+        for (Field field : structure.getFields()) {
+            String childFingerprint = childFingerprints.get(field);
+            canonicalForm.append(field.getDataName()).append(ATTRIBUTE_SEPARATOR);
+            if (childFingerprint != null) {
+                canonicalForm.append(field.isList() ? "List<" : "<").append(childFingerprint).append('>');
+            } else {
+                canonicalForm.append(field.getFormattedDataType());
+            }
+            canonicalForm.append(ATTRIBUTE_SEPARATOR).append(field.getSize())
+                    .append(ATTRIBUTE_SEPARATOR).append(field.isRequired())
+                    .append(ATTRIBUTE_SEPARATOR).append(field.getPattern())
+                    .append(FIELD_SEPARATOR);
+        }
+        return ContentHash.of(canonicalForm);
+    }
+
+    /**
+     * 在共用索引中查找可以引用的已有類
+     * 只查找以相同輸出形式生成的類，以下情況也不引用，仍然生成新類：
+     * 1. 索引中的類正是本次要重新生成的類
+     * 2. 簡單類名與本次生成的其他類相同
+     * 3. 簡單類名與本次已引用的另一個共用類相同，無法同時導入
+     *
+     * @return 完整類名，不可引用時返回 null
+     */
+    private String findSharedClass(String fingerprint, Structure structure) {
+        String shared = sharedFingerprints.get(fingerprint);
+        if (shared != null) {
+            return shared;
+        }
+
+        String qualifiedName = sharedIndex.find(indexKey(fingerprint));
+        if (qualifiedName == null || qualifiedName.equals(qualify(structure.getClassName()))) {
+            return null;
+        }
+
+        String simpleName = qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+        int sameNameCount = classNameCounts.getOrDefault(simpleName, 0)
+                - (simpleName.equals(structure.getClassName()) ? 1 : 0);
+        if (sameNameCount > 0) {
+            return null;
+        }
+
+        String previous = sharedClasses.putIfAbsent(simpleName, qualifiedName);
+        if (previous != null && !previous.equals(qualifiedName)) {
+            return null;
+        }
+        sharedFingerprints.put(fingerprint, qualifiedName);
+        return qualifiedName;
+    }
+
+    /**
+     * 共用索引的鍵，指紋相同但輸出形式不同的類互不引用
+     */
+    private String indexKey(String fingerprint) {
+        return ContentHash.of(fingerprint + FIELD_SEPARATOR + outputVariant);
+    }
+
+    private String qualify(String className) {
+        return packageName == null || packageName.isEmpty() ? className : packageName + "." + className;
+    }
+
+    /**
+     * 將字段改為引用已有的類
+     *
+     * @param qualifiedName 其他包中的類需要導入的完整類名，本次生成的類為 null
+     */
+    private void redirect(Field field, String className, String qualifiedName) {
+        field.setChildClassName(className);
+        field.setChildClassImport(qualifiedName);
+        field.setDataType(field.isList() ? "List<" + className + ">" : className);
+    }
+}
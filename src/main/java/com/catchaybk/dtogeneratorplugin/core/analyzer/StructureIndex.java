@@ -0,0 +1,21 @@
+package com.catchaybk.dtogeneratorplugin.core.analyzer;
+
+/**
+ * 共用結構索引
+ * 記錄已生成的類的索引鍵，使其他電文中相同的子結構可以直接引用已有的類
+ * <p>
+ * 索引鍵由結構指紋及輸出形式計算，方式見 StructureDeduplicator。實現需保證查詢為常數時間，
+ * 並只返回目前仍然存在的類。
+ */
+public interface StructureIndex {
+    /** 空索引，不共用任何類 */
+    StructureIndex NONE = key -> null;
+
+    /**
+     * 查找索引鍵相同的已有類
+     *
+     * @param key 索引鍵
+     * @return 完整類名，不存在時返回 null
+     */
+    String find(String key);
+}
@@ -0,0 +1,133 @@
+package com.catchaybk.dtogeneratorplugin.core.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 預編譯的消息模板
+ * 在創建時將模板一次性拆分為文字片段與變量片段，渲染時只需依序拼接，
+ * 不再對每個字段重複掃描模板字符串
+ * <p>
+ * 只有創建時指定的變量會被替換，其他形如 ${xxx} 的內容保留為原文
+ */
+public final class MessageTemplate {
+
+    /**
+     * 模板支持的變量
+     */
+    public enum Placeholder {
+        NAME("name"),
+        COMMENT("comment"),
+        MAX("max"),
+        INTEGER("integer"),
+        FRACTION("fraction");
+
+        private final String key;
+
+        Placeholder(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final String source;
+    /** 文字片段，長度比 placeholders 多一，第 i 個變量位於 literals[i] 與 literals[i + 1] 之間 */
+    private final String[] literals;
+    private final Placeholder[] placeholders;
+    private final int literalLength;
+
+    private MessageTemplate(String source, String[] literals, Placeholder[] placeholders) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 編譯模板
+     *
+     * @param source    模板原文
+     * @param supported 此模板支持替換的變量
+     * @return 編譯後的模板
+     */
+    public static MessageTemplate compile(String source, Placeholder... supported) {
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < source.length()) {
+            Placeholder placeholder = null;
+            int end = -1;
+            if (source.startsWith("${", i)) {
+                end = source.indexOf('}', i + 2);
+                if (end > 0) {
+                    placeholder = findPlaceholder(source.substring(i + 2, end), supported);
+                }
+            }
+
+            if (placeholder != null) {
+                literals.add(literal.toString());
+                placeholders.add(placeholder);
+                literal.setLength(0);
+                i = end + 1;
+            } else {
+                literal.append(source.charAt(i));
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(source,
+                literals.toArray(new String[0]),
+                placeholders.toArray(new Placeholder[0]));
+    }
+
+    private static Placeholder findPlaceholder(String key, Placeholder[] supported) {
+        for (Placeholder placeholder : supported) {
+            if (placeholder.getKey().equals(key)) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 將模板渲染到指定的緩衝區
+     *
+     * @param sb     目標緩衝區
+     * @param values 變量值，以 Placeholder.ordinal() 為索引
+     */
+    public void appendTo(StringBuilder sb, String[] values) {
+        sb.append(literals[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            sb.append(values[placeholders[i].ordinal()]).append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * 渲染模板
+     *
+     * @param values 變量值，以 Placeholder.ordinal() 為索引
+     * @return 渲染結果
+     */
+    public String render(String[] values) {
+        StringBuilder sb = new StringBuilder(literalLength + placeholders.length * 16);
+        appendTo(sb, values);
+        return sb.toString();
+    }
+
+    /**
+     * 獲取模板原文
+     */
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,126 @@
+package com.catchaybk.dtogeneratorplugin.core.config;
+
+import com.catchaybk.dtogeneratorplugin.core.config.MessageTemplate.Placeholder;
+
+import java.util.Properties;
+
+/**
+ * 驗證消息模板
+ * 保存各種驗證註解的錯誤消息模板，並負責模板中的變量替換
+ * <p>
+ * 實例為不可變的快照：每次生成時讀取一次設定，模板在創建時即預編譯為
+ * 文字與變量片段（見 {@link MessageTemplate}），之後可安全地在多線程間共用
+ * <p>
+ * 支持的變量：
+ * - ${name} - 屬性名稱
+ * - ${comment} - 註解說明（為空時使用屬性名稱）
+ * - ${max} - 最大長度（僅用於Size）
+ * - ${integer} - 整數位數（僅用於Digits）
+ * - ${fraction} - 小數位數（僅用於Digits）
+ */
+public final class ValidationMessageTemplates {
+    public static final String NOTBLANK_KEY = "dto.generator.validation.notblank";
+    public static final String NOTNULL_KEY = "dto.generator.validation.notnull";
+    public static final String SIZE_KEY = "dto.generator.validation.size";
+    public static final String DIGITS_KEY = "dto.generator.validation.digits";
+    public static final String PATTERN_KEY = "dto.generator.validation.pattern";
+
+    public static final String DEFAULT_NOTBLANK = "${name} 不得為空";
+    public static final String DEFAULT_NOTNULL = "${name} 為必填";
+    public static final String DEFAULT_SIZE = "${name} 長度不得超過${max}";
+    public static final String DEFAULT_DIGITS = "${name}格式不正確，整數位最多${integer}位，小數位最多${fraction}位";
+    public static final String DEFAULT_PATTERN = "${name} 不符合格式";
+
+    private static final ValidationMessageTemplates DEFAULTS = new ValidationMessageTemplates(
+            DEFAULT_NOTBLANK, DEFAULT_NOTNULL, DEFAULT_SIZE, DEFAULT_DIGITS, DEFAULT_PATTERN);
+
+    private final MessageTemplate notBlank;
+    private final MessageTemplate notNull;
+    private final MessageTemplate size;
+    private final MessageTemplate digits;
+    private final MessageTemplate pattern;
+
+    public ValidationMessageTemplates(String notBlank, String notNull, String size,
+            String digits, String pattern) {
+        this.notBlank = MessageTemplate.compile(notBlank, Placeholder.NAME, Placeholder.COMMENT);
+        this.notNull = MessageTemplate.compile(notNull, Placeholder.NAME, Placeholder.COMMENT);
+        this.size = MessageTemplate.compile(size, Placeholder.NAME, Placeholder.COMMENT, Placeholder.MAX);
+        this.digits = MessageTemplate.compile(digits,
+                Placeholder.NAME, Placeholder.COMMENT, Placeholder.INTEGER, Placeholder.FRACTION);
+        this.pattern = MessageTemplate.compile(pattern, Placeholder.NAME, Placeholder.COMMENT);
+    }
+
+    /**
+     * 使用默認模板
+     */
+    public static ValidationMessageTemplates defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * 從屬性文件讀取模板，使用與IDE設置相同的鍵，缺少的鍵使用默認模板
+     */
+    public static ValidationMessageTemplates fromProperties(Properties props) {
+        return new ValidationMessageTemplates(
+                props.getProperty(NOTBLANK_KEY, DEFAULT_NOTBLANK),
+                props.getProperty(NOTNULL_KEY, DEFAULT_NOTNULL),
+                props.getProperty(SIZE_KEY, DEFAULT_SIZE),
+                props.getProperty(DIGITS_KEY, DEFAULT_DIGITS),
+                props.getProperty(PATTERN_KEY, DEFAULT_PATTERN));
+    }
+
+    public String getNotBlank() {
+        return notBlank.getSource();
+    }
+
+    public String getNotNull() {
+        return notNull.getSource();
+    }
+
+    public String getSize() {
+        return size.getSource();
+    }
+
+    public String getDigits() {
+        return digits.getSource();
+    }
+
+    public String getPattern() {
+        return pattern.getSource();
+    }
+
+    public void appendNotBlank(StringBuilder sb, String propertyName, String comment) {
+        notBlank.appendTo(sb, values(propertyName, comment, null, null, null));
+    }
+
+    public void appendNotNull(StringBuilder sb, String propertyName, String comment) {
+        notNull.appendTo(sb, values(propertyName, comment, null, null, null));
+    }
+
+    public void appendSize(StringBuilder sb, String propertyName, String comment, String max) {
+        size.appendTo(sb, values(propertyName, comment, max, null, null));
+    }
+
+    public void appendDigits(StringBuilder sb, String propertyName, String comment,
+            String integer, String fraction) {
+        digits.appendTo(sb, values(propertyName, comment, null, integer, fraction));
+    }
+
+    public void appendPattern(StringBuilder sb, String propertyName, String comment) {
+        pattern.appendTo(sb, values(propertyName, comment, null, null, null));
+    }
+
+    /**
+     * 組裝變量值，索引與 Placeholder.ordinal() 對應
+     */
+    private static String[] values(String propertyName, String comment, String max,
+            String integer, String fraction) {
+        return new String[] {
+                propertyName,
+                comment != null && !comment.isEmpty() ? comment : propertyName,
+                max,
+                integer,
+                fraction
+        };
+    }
+}
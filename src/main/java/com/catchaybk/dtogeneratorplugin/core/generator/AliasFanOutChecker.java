@@ -0,0 +1,53 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 別名擴張檢查器
+ * 每個 @JsonAlias 別名都會在 Jackson 反序列化器中多佔一個別名映射項，
+ * 屬性名未命中時還要再按別名查找一次。別名數量與屬性數乘以別名格式數成正比，
+ * 只選一兩種格式時無需在意，寬表配上多種格式時才值得留意。
+ * 此檢查只列出別名總數超過固定上限的類及其數量，供用戶判斷是否減少別名格式
+ */
+public class AliasFanOutChecker {
+    /** 單個類的別名總數超過此值時提示 */
+    public static final int MAX_ALIASES_PER_CLASS = 64;
+
+    private final ClassGenerator generator;
+
+    public AliasFanOutChecker(ClassGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * 檢查整棵結構樹
+     *
+     * @param root 主結構
+     * @return 每個別名總數超過上限的類一條提示，按結構樹的前序遍歷排列
+     */
+    public List<String> check(Structure root) {
+        List<String> warnings = new ArrayList<>();
+        Deque<Structure> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Structure structure = pending.pop();
+            int propertyCount = structure.getFields().size();
+            int aliasCount = generator.countAliases(structure.getFields());
+            if (aliasCount > MAX_ALIASES_PER_CLASS) {
+                warnings.add(String.format("%s：%d 個屬性共有 %d 個別名",
+                        structure.getClassName(), propertyCount, aliasCount));
+            }
+
+            List<Structure> childStructures = structure.getChildStructures();
+            for (int i = childStructures.size() - 1; i >= 0; i--) {
+                pending.push(childStructures.get(i));
+            }
+        }
+        return warnings;
+    }
+}
@@ -0,0 +1,477 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.TypeDescriptor;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 基準測試生成器
+ * 為主結構生成同包的 XxxBenchmark（JMH），以樣本對象測量 Jackson 序列化、反序列化及 Bean Validation 驗證的耗時，
+ * 切換生成選項（Lombok 或 record、註解或編解碼器等）後重新生成即可比較
+ * <p>
+ * 樣本對象按字段逐個生成：
+ * 1. String 按長度填滿字母，有正則時生成匹配正則的字符串
+ * 2. 數字按「整數位,小數位」填滿數字，不超出類型的範圍
+ * 3. 日期時間取固定的時間點，Boolean 為 true
+ * 4. 子結構遞歸生成，List 與數組按長度欄位的個數生成元素
+ * 5. 引用其他電文已生成的類時無法取得其結構，該字段為 null；沒有字段的子類 Jackson 無法序列化，也為 null
+ * <p>
+ * 啟用驗證器或定長電文編解碼器時，另外生成這些伴生類的基準測試方法。
+ */
+public class BenchmarkGenerator {
+    /** 基準測試類名的後綴 */
+    public static final String SUFFIX = "Benchmark";
+
+    private static final int BASE_SIZE = 4096;
+    private static final int FIELD_SIZE = 96;
+
+    /** 沒有長度時 String 的長度和數字的位數 */
+    private static final int DEFAULT_TEXT_LENGTH = 8;
+    private static final int DEFAULT_DIGITS = 3;
+    /** String 樣本的長度上限 */
+    private static final int MAX_TEXT_LENGTH = 64;
+    /** List 和數組的元素個數：沒有長度時的個數及上限 */
+    private static final int DEFAULT_LIST_SIZE = 3;
+    private static final int MAX_LIST_SIZE = 10;
+
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "1234567890";
+    /** 日期時間樣本的時間點：2024-01-31T12:30:45Z */
+    private static final String EPOCH_MILLIS = "1706704245000L";
+
+    private final String packageName;
+    private final UserConfig config;
+
+    public BenchmarkGenerator(String packageName, UserConfig config) {
+        this.packageName = packageName;
+        this.config = config;
+    }
+
+    /**
+     * 根據結構樹的字段總數估算源碼長度，用於預先分配緩衝區
+     */
+    public int estimateSize(Structure root) {
+        return BASE_SIZE + FIELD_SIZE * countFields(root);
+    }
+
+    /**
+     * 生成主結構的基準測試源碼
+     *
+     * @param root 主結構
+     * @return 源碼
+     */
+    public String generate(Structure root) {
+        StringBuilder sb = new StringBuilder(estimateSize(root));
+        try {
+            generate(root, sb);
+        } catch (IOException e) {
+            // StringBuilder 不會拋出 IOException
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 生成主結構的基準測試源碼並直接輸出
+     *
+     * @param root 主結構
+     * @param out  輸出目標，調用方負責緩衝與關閉
+     * @throws IOException 輸出失敗時
+     */
+    public void generate(Structure root, Appendable out) throws IOException {
+        Map<String, Structure> structures = new LinkedHashMap<>();
+        collectStructures(root, structures);
+
+        String className = root.getClassName();
+        String benchmarkName = className + SUFFIX;
+        boolean validators = config.isEnabled(GenerationFeature.VALIDATORS);
+        boolean fixedLength = config.isEnabled(GenerationFeature.FIXED_LENGTH_CODECS);
+
+        if (packageName != null && !packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        generateImports(out, structures, fixedLength);
+
+        out.append("/**\n");
+        out.append(" * {@link ").append(className).append("} 的序列化與驗證基準測試\n");
+        out.append(" * 以根據字段類型、長度及正則生成的樣本對象，測量 Jackson 序列化、反序列化及 Bean Validation 驗證的耗時\n");
+        out.append(" * <p>\n");
+        out.append(" * 需要 JMH、jackson-databind 及 Bean Validation 實現（如 Hibernate Validator），可移到 src/jmh/java 下執行\n");
+        if (config.author != null && !config.author.isEmpty()) {
+            out.append(" * @author ").append(config.author).append("\n");
+        }
+        out.append(" */\n");
+        out.append("@BenchmarkMode(Mode.AverageTime)\n");
+        out.append("@OutputTimeUnit(TimeUnit.MICROSECONDS)\n");
+        out.append("@State(Scope.Benchmark)\n");
+        out.append("public class ").append(benchmarkName).append(" {\n");
+        out.append("    private ObjectWriter writer;\n");
+        out.append("    private ObjectReader reader;\n");
+        out.append("    private ValidatorFactory validatorFactory;\n");
+        out.append("    private Validator validator;\n");
+        out.append("    private ").append(className).append(" dto;\n");
+        out.append("    private byte[] json;\n");
+        if (fixedLength) {
+            out.append("    private ByteBuffer buffer;\n");
+        }
+        out.append("\n");
+
+        out.append("    @Setup\n");
+        out.append("    public void setUp() throws IOException {\n");
+        out.append("        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();\n");
+        out.append("        writer = mapper.writerFor(").append(className).append(".class);\n");
+        out.append("        reader = mapper.readerFor(").append(className).append(".class);\n");
+        out.append("        validatorFactory = Validation.buildDefaultValidatorFactory();\n");
+        out.append("        validator = validatorFactory.getValidator();\n");
+        out.append("        dto = ").append(sampleMethod(className)).append("();\n");
+        out.append("        json = writer.writeValueAsBytes(dto);\n");
+        if (fixedLength) {
+            out.append("        buffer = ByteBuffer.allocate(").append(className).append(FixedLengthCodecGenerator.SUFFIX)
+                    .append(".LENGTH);\n");
+            out.append("        ").append(className).append(FixedLengthCodecGenerator.SUFFIX)
+                    .append(".encode(dto, buffer, 0);\n");
+        }
+        out.append("\n");
+        out.append("        Set<ConstraintViolation<").append(className).append(">> violations = validator.validate(dto);\n");
+        out.append("        if (!violations.isEmpty()) {\n");
+        out.append("            System.err.println(\"警告：樣本對象未通過驗證，驗證的耗時包含錯誤消息的生成: \" + violations);\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+
+        out.append("    @TearDown\n");
+        out.append("    public void tearDown() {\n");
+        out.append("        validatorFactory.close();\n");
+        out.append("    }\n\n");
+
+        appendBenchmark(out, "byte[]", "serialize", "writer.writeValueAsBytes(dto)", true);
+        appendBenchmark(out, className, "deserialize", "reader.readValue(json)", true);
+        appendBenchmark(out, className, "roundTrip", "reader.readValue(writer.writeValueAsBytes(dto))", true);
+        appendBenchmark(out, "Set<ConstraintViolation<" + className + ">>", "validate", "validator.validate(dto)",
+                false);
+        if (validators) {
+            appendBenchmark(out, "List<String>", "validateGenerated",
+                    className + ValidatorGenerator.SUFFIX + ".validate(dto)", false);
+        }
+        if (fixedLength) {
+            String codecName = className + FixedLengthCodecGenerator.SUFFIX;
+            out.append("    @Benchmark\n");
+            out.append("    public ByteBuffer encodeFixed() {\n");
+            out.append("        ").append(codecName).append(".encode(dto, buffer, 0);\n");
+            out.append("        return buffer;\n");
+            out.append("    }\n\n");
+            appendBenchmark(out, className, "decodeFixed", codecName + ".decode(buffer, 0)", false);
+        }
+
+        for (Structure structure : structures.values()) {
+            if (structure == root || !structure.getFields().isEmpty()) {
+                generateSampleMethod(out, structure, structures);
+            }
+        }
+
+        out.append("    private static <T> List<T> listOf(int count, Supplier<T> element) {\n");
+        out.append("        List<T> list = new ArrayList<>(count);\n");
+        out.append("        for (int i = 0; i < count; i++) {\n");
+        out.append("            list.add(element.get());\n");
+        out.append("        }\n");
+        out.append("        return list;\n");
+        out.append("    }\n");
+        out.append("}\n");
+    }
+
+    private void generateImports(Appendable out, Map<String, Structure> structures, boolean fixedLength)
+            throws IOException {
+        String validationPackage = config.isJava17 ? "jakarta.validation" : "javax.validation";
+        Set<String> imports = new TreeSet<>();
+        imports.add("com.fasterxml.jackson.databind.ObjectMapper");
+        imports.add("com.fasterxml.jackson.databind.ObjectReader");
+        imports.add("com.fasterxml.jackson.databind.ObjectWriter");
+        imports.add(validationPackage + ".ConstraintViolation");
+        imports.add(validationPackage + ".Validation");
+        imports.add(validationPackage + ".Validator");
+        imports.add(validationPackage + ".ValidatorFactory");
+        for (String annotation : new String[] { "Benchmark", "BenchmarkMode", "Mode", "OutputTimeUnit", "Scope",
+                "Setup", "State", "TearDown" }) {
+            imports.add("org.openjdk.jmh.annotations." + annotation);
+        }
+        imports.add("java.io.IOException");
+        imports.add("java.util.ArrayList");
+        imports.add("java.util.List");
+        imports.add("java.util.Set");
+        imports.add("java.util.concurrent.TimeUnit");
+        imports.add("java.util.function.Supplier");
+        if (fixedLength) {
+            imports.add("java.nio.ByteBuffer");
+        }
+        for (Structure structure : structures.values()) {
+            for (Field field : structure.getFields()) {
+                if (field.getChildClassName() == null) {
+                    imports.addAll(TypeDescriptor.collectImports(field.getFormattedDataType()));
+                }
+            }
+        }
+        for (String imp : imports) {
+            out.append("import ").append(imp).append(";\n");
+        }
+        out.append("\n");
+    }
+
+    private void appendBenchmark(Appendable out, String returnType, String name, String expression,
+                                 boolean throwsIOException) throws IOException {
+        out.append("    @Benchmark\n");
+        out.append("    public ").append(returnType).append(" ").append(name).append("()")
+                .append(throwsIOException ? " throws IOException" : "").append(" {\n");
+        out.append("        return ").append(expression).append(";\n");
+        out.append("    }\n\n");
+    }
+
+    private void generateSampleMethod(Appendable out, Structure structure, Map<String, Structure> structures)
+            throws IOException {
+        String className = structure.getClassName();
+        out.append("    private static ").append(className).append(" ").append(sampleMethod(className)).append("() {\n");
+        if (config.isRecordOutput()) {
+            out.append("        return new ").append(className).append("(");
+            for (int i = 0; i < structure.getFields().size(); i++) {
+                Field field = structure.getFields().get(i);
+                out.append(i == 0 ? "\n" : ",\n").append("                ")
+                        .append(sampleExpression(field, structures));
+            }
+            out.append(");\n");
+        } else {
+            out.append("        ").append(className).append(" dto = new ").append(className).append("();\n");
+            for (Field field : structure.getFields()) {
+                out.append("        dto.").append(field.getSetterName()).append("(")
+                        .append(sampleExpression(field, structures)).append(");\n");
+            }
+            out.append("        return dto;\n");
+        }
+        out.append("    }\n\n");
+    }
+
+    /**
+     * 字段樣本值的表達式
+     */
+    private String sampleExpression(Field field, Map<String, Structure> structures) {
+        String childClassName = field.getChildClassName();
+        if (childClassName != null) {
+            Structure childStructure = structures.get(childClassName);
+            if (childStructure == null || childStructure.getFields().isEmpty()) {
+                return "null";
+            }
+            String child = sampleMethod(childClassName) + "()";
+            return field.isList() ? "listOf(" + listSize(field.getSize()) + ", () -> " + child + ")" : child;
+        }
+
+        String type = field.getFormattedDataType();
+        if (type.endsWith("[]")) {
+            String element = valueOf(type.substring(0, type.length() - 2), "", null);
+            StringBuilder sb = new StringBuilder("new ").append(type).append(" {");
+            int count = listSize(field.getSize());
+            for (int i = 0; i < count; i++) {
+                sb.append(i == 0 ? " " : ", ").append(element);
+            }
+            return sb.append(" }").toString();
+        }
+        if (field.isList()) {
+            int open = type.indexOf('<');
+            String element = open >= 0 ? valueOf(type.substring(open + 1, type.lastIndexOf('>')).trim(), "", null) : null;
+            return element == null ? "null" : "listOf(" + listSize(field.getSize()) + ", () -> " + element + ")";
+        }
+        String value = valueOf(type, field.getSize(), field.getPattern());
+        return value == null ? "null" : value;
+    }
+
+    /**
+     * 單個值的表達式，未知類型時為 null
+     *
+     * @param type    標準化的類型名稱
+     * @param size    長度欄位，List 元素為空字符串
+     * @param pattern 正則，沒有時為 null 或空字符串
+     */
+    private String valueOf(String type, String size, String pattern) {
+        int integer = integerPart(size);
+        int fraction = fractionPart(size);
+        switch (type) {
+            case "String":
+                return quote(text(size, pattern));
+            case "Integer":
+            case "int":
+                return digits(integer, 9);
+            case "Long":
+            case "long":
+                return digits(integer, 18) + "L";
+            case "Short":
+            case "short":
+                return "(short) " + digits(integer, 4);
+            case "Byte":
+            case "byte":
+                return "(byte) " + digits(integer, 2);
+            case "Double":
+            case "double":
+                return decimal(integer, fraction, 9, 6);
+            case "Float":
+            case "float":
+                return decimal(integer, fraction, 4, 2) + "f";
+            case "BigDecimal":
+                return "new BigDecimal(\"" + decimal(integer, fraction, Integer.MAX_VALUE, Integer.MAX_VALUE) + "\")";
+            case "Boolean":
+            case "boolean":
+                return "true";
+            case "Character":
+            case "char":
+                return "'A'";
+            case "LocalDate":
+                return "LocalDate.of(2024, 1, 31)";
+            case "LocalDateTime":
+                return "LocalDateTime.of(2024, 1, 31, 12, 30, 45)";
+            case "Date":
+                return "new Date(" + EPOCH_MILLIS + ")";
+            case "Timestamp":
+                return "new Timestamp(" + EPOCH_MILLIS + ")";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * String 樣本：有正則時生成匹配的字符串，否則按長度填滿字母
+     */
+    private static String text(String size, String pattern) {
+        int length = integerPart(size);
+        if (pattern != null && !pattern.isEmpty()) {
+            String sample = RegexSample.of(unescape(pattern), Math.max(length, 0));
+            if (sample != null) {
+                return sample;
+            }
+        }
+        int textLength = length > 0 ? Math.min(length, MAX_TEXT_LENGTH) : DEFAULT_TEXT_LENGTH;
+        StringBuilder sb = new StringBuilder(textLength);
+        for (int i = 0; i < textLength; i++) {
+            sb.append(LETTERS.charAt(i % LETTERS.length()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 指定位數的整數，如 5 位為 12345，位數超過類型的範圍時取上限
+     */
+    private static String digits(int count, int max) {
+        int length = Math.min(count >= 0 ? count : DEFAULT_DIGITS, max);
+        if (length == 0) {
+            return "0";
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(DIGITS.charAt(i % DIGITS.length()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 指定整數位和小數位的小數，如「4,2」為 1234.12
+     */
+    private static String decimal(int integer, int fraction, int maxInteger, int maxFraction) {
+        String integerDigits = digits(integer, maxInteger);
+        int fractionLength = Math.min(Math.max(fraction, 0), maxFraction);
+        return fractionLength == 0 ? integerDigits + ".0" : integerDigits + "." + digits(fractionLength, fractionLength);
+    }
+
+    /**
+     * List 和數組的元素個數，取長度欄位但不超過上限
+     */
+    private static int listSize(String size) {
+        int count = integerPart(size);
+        return count > 0 ? Math.min(count, MAX_LIST_SIZE) : DEFAULT_LIST_SIZE;
+    }
+
+    /**
+     * 長度欄位逗號之前的數字，不是數字時為 -1
+     */
+    private static int integerPart(String size) {
+        if (size == null) {
+            return -1;
+        }
+        int comma = size.indexOf(',');
+        return parse(comma >= 0 ? size.substring(0, comma) : size);
+    }
+
+    /**
+     * 長度欄位逗號之後的數字，沒有逗號時為 0
+     */
+    private static int fractionPart(String size) {
+        if (size == null) {
+            return 0;
+        }
+        int comma = size.indexOf(',');
+        return comma >= 0 ? Math.max(parse(size.substring(comma + 1)), 0) : 0;
+    }
+
+    private static int parse(String digits) {
+        String trimmed = digits.trim();
+        if (trimmed.isEmpty() || trimmed.length() > 9 || !trimmed.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        return Integer.parseInt(trimmed);
+    }
+
+    /**
+     * 規格中的正則與生成的註解相同，按 Java 字符串字面量書寫，還原為正則本身
+     */
+    private static String unescape(String literal) {
+        StringBuilder sb = new StringBuilder(literal.length());
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '\\' && i + 1 < literal.length()
+                    && (literal.charAt(i + 1) == '\\' || literal.charAt(i + 1) == '"')) {
+                c = literal.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String sampleMethod(String className) {
+        return "sample" + className;
+    }
+
+    /**
+     * 按前序收集結構樹中的類，合併後重複出現的類只保留一個
+     */
+    private static void collectStructures(Structure structure, Map<String, Structure> structures) {
+        structures.putIfAbsent(structure.getClassName(), structure);
+        for (Structure childStructure : structure.getChildStructures()) {
+            collectStructures(childStructure, structures);
+        }
+    }
+
+    private static int countFields(Structure structure) {
+        int count = structure.getFields().size();
+        for (Structure childStructure : structure.getChildStructures()) {
+            count += countFields(childStructure);
+        }
+        return count;
+    }
+}
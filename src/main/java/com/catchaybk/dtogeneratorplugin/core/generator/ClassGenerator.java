@@ -1,8 +1,11 @@
 package com.catchaybk.dtogeneratorplugin.core.generator;
 
 import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
 import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -11,8 +14,28 @@ import java.util.Set;
 /**
  * 類生成器
  * 負責生成DTO類的代碼內容
+ * <p>
+ * 代碼可直接輸出到任意 Appendable（如 Writer），大批量生成時不必把每個類都保存為字符串
+ * <p>
+ * 啟用 Jackson 高吞吐選項時額外生成類級註解：
+ * 1. @JsonPropertyOrder 按規格順序列出屬性，序列化時不必再排序
+ * 2. @JsonIgnoreProperties(ignoreUnknown = true) 遇到未知屬性時直接跳過，不拋出異常
+ * 3. @JsonInclude(NON_NULL) 不輸出空值字段，縮小報文
+ * <p>
+ * Java 17 且啟用 record 選項時生成 record，字段的註釋、驗證註解及 Jackson 註解都標註在組件上
+ * <p>
+ * 啟用 JSON 編解碼器選項時以 @JsonSerialize / @JsonDeserialize 指向 {@link JsonCodecGenerator} 生成的類
  */
 public class ClassGenerator {
+    /** 估算源碼長度時類頭部（package、import、類定義）的字符數 */
+    private static final int BASE_SIZE = 512;
+    /** 估算源碼長度時每個字段（註釋、註解、聲明）的字符數 */
+    private static final int FIELD_SIZE = 192;
+    /** 類字段的縮排 */
+    private static final String FIELD_INDENT = "    ";
+    /** record 組件的縮排 */
+    private static final String COMPONENT_INDENT = "        ";
+
     private final String packageName;
     private final UserConfig config;
 
@@ -21,138 +44,251 @@ public class ClassGenerator {
         this.config = config;
     }
 
+    /**
+     * 生成類的源碼
+     *
+     * @param className 類名
+     * @param fields    字段列表
+     * @return 源碼
+     */
     public String generateClass(String className, List<Field> fields) {
-        StringBuilder sb = new StringBuilder();
-        generatePackageDeclaration(sb);
-        generateImports(sb, fields);
-        generateClassComment(sb);
-        generateClassDefinition(sb, className, fields);
+        StringBuilder sb = new StringBuilder(estimateSize(fields));
+        try {
+            generateClass(className, fields, sb);
+        } catch (IOException e) {
+            // StringBuilder 不會拋出 IOException
+            throw new UncheckedIOException(e);
+        }
         return sb.toString();
     }
 
-    private void generatePackageDeclaration(StringBuilder sb) {
+    /**
+     * 生成類的源碼並直接輸出
+     *
+     * @param className 類名
+     * @param fields    字段列表
+     * @param out       輸出目標，調用方負責緩衝與關閉
+     * @throws IOException 輸出失敗時
+     */
+    public void generateClass(String className, List<Field> fields, Appendable out) throws IOException {
+        generatePackageDeclaration(out);
+        generateImports(out, fields);
+        generateClassComment(out);
+        generateClassDefinition(out, className, fields);
+    }
+
+    /**
+     * 根據字段數量估算源碼長度，用於預先分配緩衝區
+     *
+     * @param fields 字段列表
+     * @return 估算的字符數
+     */
+    public int estimateSize(List<Field> fields) {
+        return BASE_SIZE + FIELD_SIZE * fields.size();
+    }
+
+    private void generatePackageDeclaration(Appendable out) throws IOException {
         if (packageName != null && !packageName.isEmpty()) {
-            sb.append("package ").append(packageName).append(";\n\n");
+            out.append("package ").append(packageName).append(";\n\n");
         }
     }
 
-    private void generateImports(StringBuilder sb, List<Field> fields) {
+    private void generateImports(Appendable out, List<Field> fields) throws IOException {
         Set<String> imports = collectImports(fields);
-        imports.stream()
-                .sorted()
-                .forEach(imp -> sb.append("import ").append(imp).append(";\n"));
-        sb.append("\n");
+        for (String imp : imports.stream().sorted().toArray(String[]::new)) {
+            out.append("import ").append(imp).append(";\n");
+        }
+        out.append("\n");
     }
 
+    /**
+     * 收集類中實際用到的導入，輸出前排序，因此無需再由IDE優化導入
+     */
     private Set<String> collectImports(List<Field> fields) {
         Set<String> imports = new HashSet<>();
-        imports.add("com.fasterxml.jackson.annotation.JsonProperty");
         imports.add("java.io.Serializable");
-
-        if (!config.jsonAliasStyles.isEmpty()) {
-            imports.add("com.fasterxml.jackson.annotation.JsonAlias");
+        if (!config.isRecordOutput()) {
+            imports.add("lombok.Data");
         }
 
-        imports.add("lombok.Data");
-
-        String validationPackage = config.isJava17 ? "jakarta.validation" : "javax.validation";
-
         for (Field field : fields) {
-            // 添加字段本身需要的導入
+            // 添加字段類型和驗證註解需要的導入
             imports.addAll(field.getRequiredImports());
 
-            if (field.isRequired()) {
-                if (field.getDataType().toLowerCase().contains("string")) {
-                    imports.add(validationPackage + ".constraints.NotBlank");
-                } else {
-                    imports.add(validationPackage + ".constraints.NotNull");
-                }
-            }
-
-            // 對於String類型且有大小限制的字段
-            if (field.getDataType().toLowerCase().contains("string") && !field.getSize().isEmpty()) {
-                imports.add(validationPackage + ".constraints.Size");
+            String jsonPropertyName = field.formatName(config.jsonPropertyStyle);
+            if (jsonPropertyName != null) {
+                imports.add("com.fasterxml.jackson.annotation.JsonProperty");
             }
-
-            // 對於decimal類型且有大小限制的字段
-            if ((field.getDataType().toLowerCase().contains("decimal")) && !field.getSize().isEmpty()) {
-                imports.add(validationPackage + ".constraints.Digits");
+            if (!collectAliases(field, jsonPropertyName).isEmpty()) {
+                imports.add("com.fasterxml.jackson.annotation.JsonAlias");
             }
+        }
 
-            // 對於對象類型或包含對象的List
-            if ((field.isObject() && !field.isList()) ||
-                    (field.isList() && !field.isPrimitiveOrWrapperType(field.getDataType()))) {
-                imports.add(validationPackage + ".Valid");
+        if (config.isEnabled(GenerationFeature.JACKSON_THROUGHPUT)) {
+            if (!fields.isEmpty()) {
+                imports.add("com.fasterxml.jackson.annotation.JsonPropertyOrder");
             }
+            imports.add("com.fasterxml.jackson.annotation.JsonIgnoreProperties");
+            imports.add("com.fasterxml.jackson.annotation.JsonInclude");
+        }
+        if (config.isEnabled(GenerationFeature.JSON_CODECS)) {
+            imports.add("com.fasterxml.jackson.databind.annotation.JsonDeserialize");
+            imports.add("com.fasterxml.jackson.databind.annotation.JsonSerialize");
         }
 
+        // 同一包中的類（如引用的共用類）不需要導入
+        imports.removeIf(this::isInCurrentPackage);
         return imports;
     }
 
-    private void generateClassComment(StringBuilder sb) {
+    private boolean isInCurrentPackage(String qualifiedName) {
+        int lastDot = qualifiedName.lastIndexOf('.');
+        return packageName != null && lastDot > 0 && qualifiedName.substring(0, lastDot).equals(packageName);
+    }
+
+    private void generateClassComment(Appendable out) throws IOException {
         if (config.messageDirectionComment != null && !config.messageDirectionComment.isEmpty()) {
-            sb.append("/**\n");
-            sb.append(" * ").append(config.msgId).append("\n");
-            sb.append(" * ").append(config.messageDirectionComment).append("\n");
+            out.append("/**\n");
+            out.append(" * ").append(config.msgId).append("\n");
+            out.append(" * ").append(config.messageDirectionComment).append("\n");
             if (config.author != null && !config.author.isEmpty()) {
-                sb.append(" * @author ").append(config.author).append("\n");
+                out.append(" * @author ").append(config.author).append("\n");
+            }
+            out.append(" */\n");
+        }
+    }
+
+    private void generateClassDefinition(Appendable out, String className, List<Field> fields) throws IOException {
+        if (config.isEnabled(GenerationFeature.JACKSON_THROUGHPUT)) {
+            generateThroughputAnnotations(out, fields);
+        }
+        if (config.isEnabled(GenerationFeature.JSON_CODECS)) {
+            String codecName = className + JsonCodecGenerator.SUFFIX;
+            out.append("@JsonSerialize(using = ").append(codecName).append(".Serializer.class)\n");
+            out.append("@JsonDeserialize(using = ").append(codecName).append(".Deserializer.class)\n");
+        }
+        if (config.isRecordOutput()) {
+            generateRecordDefinition(out, className, fields);
+            return;
+        }
+        out.append("@Data\n");
+        out.append("public class ").append(className).append(" implements Serializable {\n\n");
+        out.append("    /** serialVersionUID */\n");
+        out.append("    private static final long serialVersionUID = 1L;\n\n");
+        generateFields(out, fields);
+        out.append("}\n");
+    }
+
+    private void generateRecordDefinition(Appendable out, String className, List<Field> fields) throws IOException {
+        out.append("public record ").append(className).append("(");
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            out.append(i == 0 ? "\n" : ",\n\n");
+            generateFieldComment(out, field, COMPONENT_INDENT);
+            generateFieldAnnotations(out, field, COMPONENT_INDENT);
+            out.append(COMPONENT_INDENT)
+                    .append(field.getFormattedDataType())
+                    .append(" ")
+                    .append(field.getCamelCaseName());
+        }
+        out.append(fields.isEmpty() ? "" : "\n").append(") implements Serializable {\n\n");
+        out.append("    /** serialVersionUID */\n");
+        out.append("    private static final long serialVersionUID = 1L;\n");
+        out.append("}\n");
+    }
+
+    private void generateThroughputAnnotations(Appendable out, List<Field> fields) throws IOException {
+        if (!fields.isEmpty()) {
+            List<String> propertyNames = new ArrayList<>(fields.size());
+            for (Field field : fields) {
+                propertyNames.add(getPropertyName(field));
             }
-            sb.append(" */\n");
+            out.append("@JsonPropertyOrder({\"")
+                    .append(String.join("\", \"", propertyNames))
+                    .append("\"})\n");
         }
+        out.append("@JsonIgnoreProperties(ignoreUnknown = true)\n");
+        out.append("@JsonInclude(JsonInclude.Include.NON_NULL)\n");
+    }
+
+    /**
+     * 字段在JSON中的屬性名，未設置 JsonProperty 時為字段名
+     */
+    private String getPropertyName(Field field) {
+        String jsonPropertyName = field.formatName(config.jsonPropertyStyle);
+        return jsonPropertyName != null ? jsonPropertyName : field.getCamelCaseName();
     }
 
-    private void generateClassDefinition(StringBuilder sb, String className, List<Field> fields) {
-        sb.append("@Data\n");
-        sb.append("public class ").append(className).append(" implements Serializable {\n\n");
-        sb.append("    /** serialVersionUID */\n");
-        sb.append("    private static final long serialVersionUID = 1L;\n\n");
-        generateFields(sb, fields);
-        sb.append("}\n");
+    /**
+     * 統計類中所有字段的別名數量
+     * Jackson 反序列化時每個別名都會加入屬性查找表
+     *
+     * @param fields 字段列表
+     * @return 別名總數
+     */
+    public int countAliases(List<Field> fields) {
+        int count = 0;
+        for (Field field : fields) {
+            count += collectAliases(field, field.formatName(config.jsonPropertyStyle)).size();
+        }
+        return count;
     }
 
-    private void generateFields(StringBuilder sb, List<Field> fields) {
+    private void generateFields(Appendable out, List<Field> fields) throws IOException {
         for (Field field : fields) {
-            generateFieldComment(sb, field);
-            generateFieldAnnotations(sb, field);
-            generateFieldDeclaration(sb, field);
-            sb.append("\n");
+            generateFieldComment(out, field, FIELD_INDENT);
+            generateFieldAnnotations(out, field, FIELD_INDENT);
+            generateFieldDeclaration(out, field);
+            out.append("\n");
         }
     }
 
-    private void generateFieldComment(StringBuilder sb, Field field) {
+    private void generateFieldComment(Appendable out, Field field, String indent) throws IOException {
         if (field.getComments() != null && !field.getComments().isEmpty()) {
             String[] commentLines = field.getComments().split("\n");
 
             // 單行註解
             if (commentLines.length == 1) {
-                sb.append("    /** ").append(commentLines[0].trim()).append(" */\n");
+                out.append(indent).append("/** ").append(commentLines[0].trim()).append(" */\n");
             }
             // 多行註解
             else {
-                sb.append("    /**\n");
+                out.append(indent).append("/**\n");
                 for (String line : commentLines) {
-                    sb.append("     * ").append(line.trim()).append("\n");
+                    out.append(indent).append(" * ").append(line.trim()).append("\n");
                 }
-                sb.append("     */\n");
+                out.append(indent).append(" */\n");
             }
         }
     }
 
-    private void generateFieldAnnotations(StringBuilder sb, Field field) {
+    private void generateFieldAnnotations(Appendable out, Field field, String indent) throws IOException {
 
-        // 添加驗證註解
-        String validationAnnotations = field.getValidationAnnotations();
+        // 添加驗證註解，多個註解之間的縮排按字段縮排調整
+        String validationAnnotations = field.getValidationAnnotations(config.validationMessages);
         if (!validationAnnotations.isEmpty()) {
-            sb.append("    ").append(validationAnnotations).append("\n");
+            if (!FIELD_INDENT.equals(indent)) {
+                validationAnnotations = validationAnnotations.replace("\n" + FIELD_INDENT, "\n" + indent);
+            }
+            out.append(indent).append(validationAnnotations).append("\n");
         }
 
         // 添加 JsonProperty 註解
         String jsonPropertyName = field.formatName(config.jsonPropertyStyle);
         if (jsonPropertyName != null) {
-            sb.append("    @JsonProperty(\"").append(jsonPropertyName).append("\")\n");
+            out.append(indent).append("@JsonProperty(\"").append(jsonPropertyName).append("\")\n");
         }
 
         // 添加 JsonAlias 註解
+        Set<String> aliases = collectAliases(field, jsonPropertyName);
+        if (!aliases.isEmpty()) {
+            out.append(indent).append("@JsonAlias({\"")
+                    .append(String.join("\", \"", aliases))
+                    .append("\"})\n");
+        }
+    }
+
+    private Set<String> collectAliases(Field field, String jsonPropertyName) {
         Set<String> aliases = new HashSet<>();
         for (String style : config.jsonAliasStyles) {
             String alias = field.formatName(style);
@@ -160,16 +296,11 @@ public class ClassGenerator {
                 aliases.add(alias);
             }
         }
-
-        if (!aliases.isEmpty()) {
-            sb.append("    @JsonAlias({\"")
-                    .append(String.join("\", \"", aliases))
-                    .append("\"})\n");
-        }
+        return aliases;
     }
 
-    private void generateFieldDeclaration(StringBuilder sb, Field field) {
-        sb.append("    private ")
+    private void generateFieldDeclaration(Appendable out, Field field) throws IOException {
+        out.append("    private ")
                 .append(field.getFormattedDataType())
                 .append(" ")
                 .append(field.getCamelCaseName())
@@ -1,5 +1,11 @@
 package com.catchaybk.dtogeneratorplugin.core.generator;
 
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 名稱生成器
  * 負責根據不同條件生成DTO類的名稱
@@ -34,6 +40,27 @@ public class ClassNameGenerator {
         return isMainClass ? prefix + suffix : prefix + suffix + capitalizeFirstLetter(baseName);
     }
 
+    /**
+     * 為所有對象字段生成子類名，與IDE配置對話框自動填入的類名一致
+     *
+     * @param fields    所有字段
+     * @param msgId     消息ID
+     * @param direction 電文方向（上行/下行/無）
+     * @return 層級到「字段名 -> 類名」的映射
+     */
+    public static Map<Integer, Map<String, String>> generateLevelClassNames(List<Field> fields, String msgId,
+                                                                          String direction) {
+        Map<Integer, Map<String, String>> levelClassNamesMap = new HashMap<>();
+        for (Field field : fields) {
+            if (field.isObject()) {
+                String className = generateClassName(msgId, direction, field.getCapitalizedName(), false);
+                levelClassNamesMap.computeIfAbsent(field.getLevel(), k -> new HashMap<>())
+                        .put(field.getDataName(), className);
+            }
+        }
+        return levelClassNamesMap;
+    }
+
     /**
      * 將字符串的首字母轉為大寫
      *
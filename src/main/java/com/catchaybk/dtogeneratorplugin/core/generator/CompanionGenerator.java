@@ -0,0 +1,81 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 伴生類生成器
+ * 為每個DTO在同一包中額外生成一個類，類名為DTO類名加後綴（如驗證器、JSON編解碼器）
+ * <p>
+ * 實現不保存可變狀態，可安全地被多個線程共用
+ */
+public interface CompanionGenerator {
+
+    /**
+     * 根據生成選項創建所有啟用的伴生類生成器
+     *
+     * @param packageName 目標包
+     * @param config      用戶配置
+     * @return 伴生類生成器，未啟用任何伴生類時為空列表
+     */
+    static List<CompanionGenerator> forConfig(String packageName, UserConfig config) {
+        List<CompanionGenerator> generators = new ArrayList<>();
+        if (config.isEnabled(GenerationFeature.VALIDATORS)) {
+            generators.add(new ValidatorGenerator(packageName, config));
+        }
+        if (config.isEnabled(GenerationFeature.JSON_CODECS)) {
+            generators.add(new JsonCodecGenerator(packageName, config));
+        }
+        if (config.isEnabled(GenerationFeature.FIXED_LENGTH_CODECS)) {
+            generators.add(new FixedLengthCodecGenerator(packageName, config));
+        }
+        if (config.isEnabled(GenerationFeature.FLYWEIGHTS)) {
+            generators.add(new FlyweightGenerator(packageName, config));
+        }
+        return generators;
+    }
+
+    /**
+     * 伴生類名的後綴
+     */
+    String getSuffix();
+
+    /**
+     * 根據字段數量估算源碼長度，用於預先分配緩衝區
+     */
+    int estimateSize(List<Field> fields);
+
+    /**
+     * 生成伴生類的源碼並直接輸出
+     *
+     * @param className DTO類名
+     * @param fields    DTO的字段列表
+     * @param out       輸出目標，調用方負責緩衝與關閉
+     * @throws IOException 輸出失敗時
+     */
+    void generate(String className, List<Field> fields, Appendable out) throws IOException;
+
+    /**
+     * 生成伴生類的源碼
+     *
+     * @param className DTO類名
+     * @param fields    DTO的字段列表
+     * @return 源碼
+     */
+    default String generate(String className, List<Field> fields) {
+        StringBuilder sb = new StringBuilder(estimateSize(fields));
+        try {
+            generate(className, fields, sb);
+        } catch (IOException e) {
+            // StringBuilder 不會拋出 IOException
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 源碼內容哈希
+ * 用於只保存了摘要、無法取得原文時判斷內容是否相同（如結構指紋、規格文件的變更檢測）；
+ * 兩份內容都在內存中時以 {@link #sameContent} 直接比較，不必計算哈希
+ * <p>
+ * 計算及比較時都忽略回車符，使 CRLF 與 LF 換行的相同內容視為相同
+ */
+public final class ContentHash {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ContentHash() {
+    }
+
+    /**
+     * 計算內容的 SHA-256 哈希值
+     *
+     * @param content 源碼內容
+     * @return 十六進制表示的哈希值
+     */
+    public static String of(CharSequence content) {
+        StringBuilder normalized = new StringBuilder(content.length());
+        for (int i = 0; i < content.length(); i++) {
+            char ch = content.charAt(i);
+            if (ch != '\r') {
+                normalized.append(ch);
+            }
+        }
+
+        byte[] digest = newDigest().digest(normalized.toString().getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * 直接比較兩份內容，忽略回車符
+     *
+     * @param a 內容
+     * @param b 內容
+     * @return 忽略回車符後是否相同
+     */
+    public static boolean sameContent(CharSequence a, CharSequence b) {
+        int i = 0;
+        int j = 0;
+        while (true) {
+            while (i < a.length() && a.charAt(i) == '\r') {
+                i++;
+            }
+            while (j < b.length() && b.charAt(j) == '\r') {
+                j++;
+            }
+            if (i == a.length() || j == b.length()) {
+                return i == a.length() && j == b.length();
+            }
+            if (a.charAt(i++) != b.charAt(j++)) {
+                return false;
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 所有Java平台都必須支持 SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.generator.FixedLengthLayout.Kind;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.TypeDescriptor;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 定長電文編解碼器生成器
+ * 為每個DTO生成同包的 XxxFixedCodec，按規格的長度欄位把對象編碼為定長記錄，直接讀寫 ByteBuffer 的絕對位置
+ * <p>
+ * 欄位寬度：
+ * 1. String、整數類型、Boolean 取長度欄位
+ * 2. BigDecimal、Double、Float 取「整數位,小數位」之和，小數點不佔位（隱含小數點）
+ * 3. LocalDate、Date 固定 8 位（yyyyMMdd），LocalDateTime、Timestamp 固定 14 位（yyyyMMddHHmmss），
+ *    全為空白或全為零時解碼為 null
+ * 4. 子結構內嵌子類的整條記錄；子結構 List 以長度欄位為固定的重複次數
+ * 5. 無法確定寬度的欄位（如簡單類型的 List、未填長度）不編入記錄，生成的代碼中以註釋標明
+ * <p>
+ * 每個欄位的偏移量都是編譯期常量，子類的記錄長度以子類編解碼器的 LENGTH 常量引用，
+ * 因此只需當前類的字段即可生成。
+ */
+public class FixedLengthCodecGenerator implements CompanionGenerator {
+    /** 編解碼器類名的後綴 */
+    public static final String SUFFIX = "FixedCodec";
+
+    private static final int BASE_SIZE = 3072;
+    private static final int FIELD_SIZE = 384;
+
+    private final String packageName;
+    private final UserConfig config;
+
+    public FixedLengthCodecGenerator(String packageName, UserConfig config) {
+        this.packageName = packageName;
+        this.config = config;
+    }
+
+    @Override
+    public String getSuffix() {
+        return SUFFIX;
+    }
+
+    @Override
+    public int estimateSize(List<Field> fields) {
+        return BASE_SIZE + FIELD_SIZE * fields.size();
+    }
+
+    @Override
+    public void generate(String className, List<Field> fields, Appendable out) throws IOException {
+        String codecName = className + SUFFIX;
+        Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+        for (Field field : fields) {
+            kinds.add(FixedLengthLayout.kindOf(field));
+        }
+
+        if (packageName != null && !packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        generateImports(out, fields, kinds);
+
+        out.append("/**\n");
+        out.append(" * {@link ").append(className).append("} 的定長電文編解碼器\n");
+        out.append(" * 直接讀寫 ByteBuffer 的絕對位置，每個字元佔一個位元組（ISO-8859-1），非 Latin-1 字元寫為 '?'\n");
+        out.append(" * 文字靠左補空白，超長截斷；數字靠右補 0，負數以最左位的 '-' 表示，超長時拋出異常；\n");
+        out.append(" * 小數以隱含小數點表示；全為空白的欄位解碼為 null（基本類型為 0 或 false）\n");
+        if (config.author != null && !config.author.isEmpty()) {
+            out.append(" * @author ").append(config.author).append("\n");
+        }
+        out.append(" */\n");
+        out.append("public final class ").append(codecName).append(" {\n");
+
+        FixedLengthLayout.appendConstants(out, fields, SUFFIX);
+        out.append("    private ").append(codecName).append("() {\n    }\n\n");
+        generateEncode(out, className, fields);
+        generateDecode(out, className, fields);
+        for (Field field : fields) {
+            if (FixedLengthLayout.kindOf(field) == Kind.CHILD_LIST) {
+                generateListCodec(out, field);
+            }
+        }
+        FixedLengthLayout.appendHelpers(out, kinds, true);
+        out.append("}\n");
+    }
+
+    private void generateImports(Appendable out, List<Field> fields, Set<Kind> kinds) throws IOException {
+        Set<String> imports = new HashSet<>();
+        imports.add("java.nio.ByteBuffer");
+        for (Field field : fields) {
+            Kind kind = FixedLengthLayout.kindOf(field);
+            if (kind == Kind.UNSUPPORTED) {
+                continue;
+            }
+            imports.addAll(TypeDescriptor.collectImports(field.getFormattedDataType()));
+            if (kind == Kind.CHILD_LIST) {
+                imports.add("java.util.ArrayList");
+            }
+            // 共用類只在以相同伴生類選項生成且伴生類仍存在時才會被引用（見 StructureDeduplicator），其伴生類必定存在
+            if (field.getChildClassImport() != null) {
+                imports.add(field.getChildClassImport());
+                imports.add(field.getChildClassImport() + SUFFIX);
+            }
+        }
+        FixedLengthLayout.addHelperImports(imports, kinds, true);
+        imports.removeIf(this::isInCurrentPackage);
+        for (String imp : imports.stream().sorted().toArray(String[]::new)) {
+            out.append("import ").append(imp).append(";\n");
+        }
+        out.append("\n");
+    }
+
+    private boolean isInCurrentPackage(String qualifiedName) {
+        int lastDot = qualifiedName.lastIndexOf('.');
+        return packageName != null && lastDot > 0 && qualifiedName.substring(0, lastDot).equals(packageName);
+    }
+
+    private void generateEncode(Appendable out, String className, List<Field> fields) throws IOException {
+        out.append("    /**\n");
+        out.append("     * 將對象編碼到緩衝區的當前位置，完成後位置前進 LENGTH\n");
+        out.append("     */\n");
+        out.append("    public static void encode(").append(className).append(" dto, ByteBuffer buffer) {\n");
+        out.append("        encode(dto, buffer, buffer.position());\n");
+        out.append("        buffer.position(buffer.position() + LENGTH);\n");
+        out.append("    }\n\n");
+
+        out.append("    /**\n");
+        out.append("     * 從指定的絕對位置開始編碼，不改變緩衝區的位置\n");
+        out.append("     *\n");
+        out.append("     * @throws IllegalArgumentException 數字超出欄位寬度或重複次數超過上限時\n");
+        out.append("     */\n");
+        out.append("    public static void encode(").append(className).append(" dto, ByteBuffer buffer, int base) {\n");
+        for (Field field : fields) {
+            Kind kind = FixedLengthLayout.kindOf(field);
+            if (kind == Kind.UNSUPPORTED) {
+                continue;
+            }
+            String prefix = FixedLengthLayout.constantPrefix(field);
+            String value = "dto." + accessor(field) + "()";
+            String offset = "base + " + prefix + "_OFFSET";
+            String width = prefix + "_WIDTH";
+            switch (kind) {
+                case TEXT:
+                    out.append("        writeText(buffer, ").append(offset).append(", ").append(width).append(", ")
+                            .append(value).append(");\n");
+                    break;
+                case BOOLEAN:
+                    out.append("        writeText(buffer, ").append(offset).append(", ").append(width).append(", ")
+                            .append(field.isNullable() ? value + " == null ? null : " : "").append(value)
+                            .append(" ? \"Y\" : \"N\");\n");
+                    break;
+                case CHILD_LIST:
+                    out.append("        write").append(field.getCapitalizedName()).append("(").append(value)
+                            .append(", buffer, ").append(offset).append(");\n");
+                    break;
+                default:
+                    if (!field.isNullable()) {
+                        out.append("        ").append(encodeStatement(field, kind, value, offset, width)).append("\n");
+                        break;
+                    }
+                    out.append("        if (").append(value).append(" == null) {\n");
+                    out.append("            fill(buffer, ").append(offset).append(", ").append(width).append(");\n");
+                    out.append("        } else {\n");
+                    out.append("            ").append(encodeStatement(field, kind, value, offset, width)).append("\n");
+                    out.append("        }\n");
+                    break;
+            }
+        }
+        out.append("    }\n\n");
+    }
+
+    private String encodeStatement(Field field, Kind kind, String value, String offset, String width) {
+        String fraction = FixedLengthLayout.constantPrefix(field) + "_FRACTION";
+        switch (kind) {
+            case DECIMAL:
+                return "writeDecimal(buffer, " + offset + ", " + width + ", " + fraction + ", " + value + ");";
+            case DOUBLE:
+            case FLOAT:
+                return "writeDecimal(buffer, " + offset + ", " + width + ", " + fraction + ", BigDecimal.valueOf("
+                        + value + (field.isNullable() ? ".doubleValue()" : "") + "));";
+            case LOCAL_DATE:
+                return "writeNumber(buffer, " + offset + ", " + width + ", toNumber(" + value + "));";
+            case DATE:
+                return "writeNumber(buffer, " + offset + ", " + width + ", toNumber(" + value
+                        + ".toInstant().atZone(ZoneId.systemDefault()).toLocalDate()));";
+            case LOCAL_DATE_TIME:
+                return "writeNumber(buffer, " + offset + ", " + width + ", toNumber(" + value + "));";
+            case TIMESTAMP:
+                return "writeNumber(buffer, " + offset + ", " + width + ", toNumber(" + value + ".toLocalDateTime()));";
+            case CHILD:
+                return childCodec(field) + ".encode(" + value + ", buffer, " + offset + ");";
+            default:
+                return "writeNumber(buffer, " + offset + ", " + width + ", " + value + ");";
+        }
+    }
+
+    private void generateDecode(Appendable out, String className, List<Field> fields) throws IOException {
+        boolean record = config.isRecordOutput();
+
+        out.append("    /**\n");
+        out.append("     * 從緩衝區的當前位置解碼一條記錄，完成後位置前進 LENGTH\n");
+        out.append("     */\n");
+        out.append("    public static ").append(className).append(" decode(ByteBuffer buffer) {\n");
+        out.append("        ").append(className).append(" dto = decode(buffer, buffer.position());\n");
+        out.append("        buffer.position(buffer.position() + LENGTH);\n");
+        out.append("        return dto;\n");
+        out.append("    }\n\n");
+
+        out.append("    /**\n");
+        out.append("     * 從指定的絕對位置解碼一條記錄，不改變緩衝區的位置\n");
+        out.append("     */\n");
+        out.append("    public static ").append(className).append(" decode(ByteBuffer buffer, int base) {\n");
+        if (record) {
+            out.append("        return new ").append(className).append("(");
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                out.append(i == 0 ? "\n" : ",\n").append("                ")
+                        .append(decodeExpression(field, FixedLengthLayout.kindOf(field)));
+            }
+            out.append(");\n");
+        } else {
+            out.append("        ").append(className).append(" dto = new ").append(className).append("();\n");
+            for (Field field : fields) {
+                Kind kind = FixedLengthLayout.kindOf(field);
+                if (kind != Kind.UNSUPPORTED) {
+                    out.append("        dto.").append(field.getSetterName()).append("(")
+                            .append(decodeExpression(field, kind)).append(");\n");
+                }
+            }
+            out.append("        return dto;\n");
+        }
+        out.append("    }\n");
+    }
+
+    /**
+     * 解碼欄位的表達式，欄位全為空白時結果為 null，基本類型為 0 或 false
+     */
+    private String decodeExpression(Field field, Kind kind) {
+        String prefix = FixedLengthLayout.constantPrefix(field);
+        String offset = "base + " + prefix + "_OFFSET";
+        String width = prefix + "_WIDTH";
+        if (kind == Kind.UNSUPPORTED) {
+            // 只有 record 需要為未編入記錄的字段提供值
+            if (field.isNullable()) {
+                return "null";
+            }
+            return "boolean".equals(field.getFormattedDataType()) ? "false" : "0";
+        }
+        if (!field.isNullable()) {
+            return decodePrimitive(kind, offset, width, prefix + "_FRACTION");
+        }
+        String blank = "isBlank(buffer, " + offset + ", " + width + ") ? null : ";
+        String number = "readNumber(buffer, " + offset + ", " + width + ")";
+        String decimal = "readDecimal(buffer, " + offset + ", " + width + ", " + prefix + "_FRACTION)";
+        switch (kind) {
+            case TEXT:
+                return "readText(buffer, " + offset + ", " + width + ")";
+            case INTEGER:
+                return blank + "Integer.valueOf((int) " + number + ")";
+            case LONG:
+                return blank + "Long.valueOf(" + number + ")";
+            case SHORT:
+                return blank + "Short.valueOf((short) " + number + ")";
+            case DECIMAL:
+                return blank + decimal;
+            case DOUBLE:
+                return blank + "Double.valueOf(" + decimal + ".doubleValue())";
+            case FLOAT:
+                return blank + "Float.valueOf(" + decimal + ".floatValue())";
+            case BOOLEAN:
+                return blank + "Boolean.valueOf(buffer.get(" + offset + ") == 'Y')";
+            case LOCAL_DATE:
+                // 全為空白時讀出 0，與全為零一樣轉換為 null
+                return "toLocalDate(" + number + ")";
+            case DATE:
+                return "toDate(" + number + ")";
+            case LOCAL_DATE_TIME:
+                return "toLocalDateTime(" + number + ")";
+            case TIMESTAMP:
+                return "toTimestamp(" + number + ")";
+            case CHILD:
+                return blank + childCodec(field) + ".decode(buffer, " + offset + ")";
+            default:
+                return "read" + field.getCapitalizedName() + "(buffer, " + offset + ")";
+        }
+    }
+
+    private String decodePrimitive(Kind kind, String offset, String width, String fraction) {
+        String number = "readNumber(buffer, " + offset + ", " + width + ")";
+        String decimal = "readDecimal(buffer, " + offset + ", " + width + ", " + fraction + ")";
+        switch (kind) {
+            case INTEGER:
+                return "(int) " + number;
+            case SHORT:
+                return "(short) " + number;
+            case DOUBLE:
+                return decimal + ".doubleValue()";
+            case FLOAT:
+                return decimal + ".floatValue()";
+            case BOOLEAN:
+                return "buffer.get(" + offset + ") == 'Y'";
+            default:
+                return number;
+        }
+    }
+
+    /**
+     * 子結構 List 的固定次數重複組，不足的次數以空白填充，解碼時略過全為空白的組
+     */
+    private void generateListCodec(Appendable out, Field field) throws IOException {
+        String prefix = FixedLengthLayout.constantPrefix(field);
+        String childCodec = childCodec(field);
+        String elementType = field.getChildClassName();
+        String listType = field.getFormattedDataType();
+
+        out.append("\n");
+        out.append("    private static void write").append(field.getCapitalizedName()).append("(").append(listType)
+                .append(" elements, ByteBuffer buffer, int offset) {\n");
+        out.append("        if (elements != null && elements.size() > ").append(prefix).append("_COUNT) {\n");
+        out.append("            throw new IllegalArgumentException(\"").append(field.getDataName())
+                .append(" 最多 \" + ").append(prefix).append("_COUNT + \" 筆，實際 \" + elements.size() + \" 筆\");\n");
+        out.append("        }\n");
+        out.append("        for (int i = 0; i < ").append(prefix).append("_COUNT; i++) {\n");
+        out.append("            ").append(elementType)
+                .append(" element = elements != null && i < elements.size() ? elements.get(i) : null;\n");
+        out.append("            int elementOffset = offset + i * ").append(childCodec).append(".LENGTH;\n");
+        out.append("            if (element == null) {\n");
+        out.append("                fill(buffer, elementOffset, ").append(childCodec).append(".LENGTH);\n");
+        out.append("            } else {\n");
+        out.append("                ").append(childCodec).append(".encode(element, buffer, elementOffset);\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+
+        out.append("    private static ").append(listType).append(" read").append(field.getCapitalizedName())
+                .append("(ByteBuffer buffer, int offset) {\n");
+        out.append("        ").append(listType).append(" elements = new ArrayList<>(").append(prefix)
+                .append("_COUNT);\n");
+        out.append("        for (int i = 0; i < ").append(prefix).append("_COUNT; i++) {\n");
+        out.append("            int elementOffset = offset + i * ").append(childCodec).append(".LENGTH;\n");
+        out.append("            if (!isBlank(buffer, elementOffset, ").append(childCodec).append(".LENGTH)) {\n");
+        out.append("                elements.add(").append(childCodec).append(".decode(buffer, elementOffset));\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("        return elements;\n");
+        out.append("    }\n");
+    }
+
+    private String childCodec(Field field) {
+        return field.getChildClassName() + SUFFIX;
+    }
+
+    private String accessor(Field field) {
+        return config.isRecordOutput() ? field.getCamelCaseName() : field.getGetterName();
+    }
+}
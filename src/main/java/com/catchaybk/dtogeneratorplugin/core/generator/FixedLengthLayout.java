@@ -0,0 +1,398 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 定長記錄的佈局
+ * 定長電文編解碼器與輕量訪問器共用的欄位寬度規則、偏移量常量及讀寫輔助方法，保證兩者對同一電文的佈局完全一致
+ *
+ * @see FixedLengthCodecGenerator
+ */
+final class FixedLengthLayout {
+
+    /**
+     * 欄位的編碼方式
+     */
+    enum Kind {
+        TEXT("String", null),
+        INTEGER("Integer", "int"),
+        LONG("Long", "long"),
+        SHORT("Short", "short"),
+        DECIMAL("BigDecimal", null),
+        DOUBLE("Double", "double"),
+        FLOAT("Float", "float"),
+        BOOLEAN("Boolean", "boolean"),
+        LOCAL_DATE("LocalDate", null),
+        LOCAL_DATE_TIME("LocalDateTime", null),
+        DATE("Date", null),
+        TIMESTAMP("Timestamp", null),
+        CHILD(null, null),
+        CHILD_LIST(null, null),
+        UNSUPPORTED(null, null);
+
+        final String typeName;
+        final String primitiveName;
+
+        Kind(String typeName, String primitiveName) {
+            this.typeName = typeName;
+            this.primitiveName = primitiveName;
+        }
+    }
+
+    private FixedLengthLayout() {
+    }
+
+    /**
+     * 每個欄位的偏移量、寬度等常量，偏移量依序由前一個欄位推算
+     *
+     * @param childSuffix 子結構所用類的後綴，以其 LENGTH 常量作為子結構的寬度
+     */
+    static void appendConstants(Appendable out, List<Field> fields, String childSuffix) throws IOException {
+        String previousEnd = "0";
+        for (Field field : fields) {
+            Kind kind = kindOf(field);
+            String prefix = constantPrefix(field);
+            if (kind == Kind.UNSUPPORTED) {
+                out.append("    // ").append(field.getDataName()).append("（").append(field.getFormattedDataType())
+                        .append("）無法確定寬度，不編入定長記錄\n\n");
+                continue;
+            }
+
+            out.append("    /** ").append(field.getDataName()).append("：").append(describe(field, kind)).append(" */\n");
+            out.append("    private static final int ").append(prefix).append("_OFFSET = ").append(previousEnd)
+                    .append(";\n");
+            switch (kind) {
+                case CHILD:
+                    out.append("    private static final int ").append(prefix).append("_WIDTH = ")
+                            .append(field.getChildClassName()).append(childSuffix).append(".LENGTH;\n");
+                    break;
+                case CHILD_LIST:
+                    out.append("    private static final int ").append(prefix).append("_COUNT = ")
+                            .append(String.valueOf(parseSize(field.getSize()))).append(";\n");
+                    out.append("    private static final int ").append(prefix).append("_WIDTH = ").append(prefix)
+                            .append("_COUNT * ").append(field.getChildClassName()).append(childSuffix).append(".LENGTH;\n");
+                    break;
+                case DECIMAL:
+                case DOUBLE:
+                case FLOAT:
+                    out.append("    private static final int ").append(prefix).append("_WIDTH = ")
+                            .append(String.valueOf(width(field, kind))).append(";\n");
+                    out.append("    private static final int ").append(prefix).append("_FRACTION = ")
+                            .append(String.valueOf(fraction(field))).append(";\n");
+                    break;
+                default:
+                    out.append("    private static final int ").append(prefix).append("_WIDTH = ")
+                            .append(String.valueOf(width(field, kind))).append(";\n");
+                    break;
+            }
+            out.append("\n");
+            previousEnd = prefix + "_OFFSET + " + prefix + "_WIDTH";
+        }
+        out.append("    /** 記錄總長度（位元組） */\n");
+        out.append("    public static final int LENGTH = ").append(previousEnd).append(";\n\n");
+    }
+
+    /**
+     * 加入輔助方法所需的導入
+     *
+     * @param write 是否生成寫入方法
+     */
+    static void addHelperImports(Set<String> imports, Set<Kind> kinds, boolean write) {
+        if (kinds.contains(Kind.DECIMAL) || kinds.contains(Kind.DOUBLE) || kinds.contains(Kind.FLOAT)) {
+            imports.add("java.math.BigDecimal");
+            imports.add("java.math.BigInteger");
+            if (write) {
+                imports.add("java.math.RoundingMode");
+            }
+        }
+        if (kinds.contains(Kind.LOCAL_DATE) || kinds.contains(Kind.DATE)) {
+            imports.add("java.time.LocalDate");
+        }
+        if (kinds.contains(Kind.LOCAL_DATE_TIME) || kinds.contains(Kind.TIMESTAMP)) {
+            imports.add("java.time.LocalDateTime");
+        }
+        if (kinds.contains(Kind.DATE)) {
+            imports.add("java.time.ZoneId");
+        }
+    }
+
+    /**
+     * 按用到的欄位類型生成輔助方法
+     *
+     * @param write 是否生成寫入方法，只讀取時只生成讀取方法
+     */
+    static void appendHelpers(Appendable out, Set<Kind> kinds, boolean write) throws IOException {
+        boolean decimal = kinds.contains(Kind.DECIMAL) || kinds.contains(Kind.DOUBLE) || kinds.contains(Kind.FLOAT);
+        boolean date = kinds.contains(Kind.LOCAL_DATE) || kinds.contains(Kind.DATE);
+        boolean dateTime = kinds.contains(Kind.LOCAL_DATE_TIME) || kinds.contains(Kind.TIMESTAMP);
+        boolean number = decimal || date || dateTime || kinds.contains(Kind.INTEGER)
+                || kinds.contains(Kind.LONG) || kinds.contains(Kind.SHORT);
+        boolean text = kinds.contains(Kind.TEXT) || kinds.contains(Kind.BOOLEAN);
+
+        out.append("\n");
+        if (write) {
+            out.append("    private static void fill(ByteBuffer buffer, int offset, int width) {\n");
+            out.append("        for (int i = offset; i < offset + width; i++) {\n");
+            out.append("            buffer.put(i, (byte) ' ');\n");
+            out.append("        }\n");
+            out.append("    }\n\n");
+        }
+
+        out.append("    private static boolean isBlank(ByteBuffer buffer, int offset, int width) {\n");
+        out.append("        for (int i = offset; i < offset + width; i++) {\n");
+        out.append("            if (buffer.get(i) != ' ') {\n");
+        out.append("                return false;\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("        return true;\n");
+        out.append("    }\n");
+
+        if (write && text) {
+            out.append("\n");
+            out.append("    private static void writeText(ByteBuffer buffer, int offset, int width, String value) {\n");
+            out.append("        int length = value == null ? 0 : Math.min(value.length(), width);\n");
+            out.append("        for (int i = 0; i < length; i++) {\n");
+            out.append("            char c = value.charAt(i);\n");
+            out.append("            buffer.put(offset + i, c < 0x100 ? (byte) c : (byte) '?');\n");
+            out.append("        }\n");
+            out.append("        fill(buffer, offset + length, width - length);\n");
+            out.append("    }\n");
+        }
+        if (kinds.contains(Kind.TEXT)) {
+            out.append("\n");
+            out.append("    private static String readText(ByteBuffer buffer, int offset, int width) {\n");
+            out.append("        int length = width;\n");
+            out.append("        while (length > 0 && buffer.get(offset + length - 1) == ' ') {\n");
+            out.append("            length--;\n");
+            out.append("        }\n");
+            out.append("        if (length == 0) {\n");
+            out.append("            return null;\n");
+            out.append("        }\n");
+            out.append("        char[] chars = new char[length];\n");
+            out.append("        for (int i = 0; i < length; i++) {\n");
+            out.append("            chars[i] = (char) (buffer.get(offset + i) & 0xFF);\n");
+            out.append("        }\n");
+            out.append("        return new String(chars);\n");
+            out.append("    }\n");
+        }
+        if (write && number) {
+            out.append("\n");
+            out.append("    private static void writeNumber(ByteBuffer buffer, int offset, int width, long value) {\n");
+            out.append("        if (value == Long.MIN_VALUE) {\n");
+            out.append("            // 取反會溢出\n");
+            out.append("            throw new IllegalArgumentException(value + \" 超出可編碼範圍\");\n");
+            out.append("        }\n");
+            out.append("        long remaining = value < 0 ? -value : value;\n");
+            out.append("        for (int i = offset + width - 1; i >= offset; i--) {\n");
+            out.append("            buffer.put(i, (byte) ('0' + remaining % 10));\n");
+            out.append("            remaining /= 10;\n");
+            out.append("        }\n");
+            out.append("        if (remaining != 0 || value < 0 && (width == 0 || buffer.get(offset) != '0')) {\n");
+            out.append("            throw new IllegalArgumentException(value + \" 超出 \" + width + \" 位\");\n");
+            out.append("        }\n");
+            out.append("        if (value < 0) {\n");
+            out.append("            buffer.put(offset, (byte) '-');\n");
+            out.append("        }\n");
+            out.append("    }\n");
+        }
+        if (number) {
+            out.append("\n");
+            out.append("    private static long readNumber(ByteBuffer buffer, int offset, int width) {\n");
+            out.append("        long value = 0;\n");
+            out.append("        boolean negative = false;\n");
+            out.append("        for (int i = offset; i < offset + width; i++) {\n");
+            out.append("            byte b = buffer.get(i);\n");
+            out.append("            if (b >= '0' && b <= '9') {\n");
+            out.append("                value = value * 10 + (b - '0');\n");
+            out.append("            } else if (b == '-') {\n");
+            out.append("                negative = true;\n");
+            out.append("            }\n");
+            out.append("        }\n");
+            out.append("        return negative ? -value : value;\n");
+            out.append("    }\n");
+        }
+        if (write && decimal) {
+            out.append("\n");
+            out.append("    private static void writeDecimal(ByteBuffer buffer, int offset, int width, int fraction,\n");
+            out.append("                                     BigDecimal value) {\n");
+            out.append("        BigInteger unscaled = value.setScale(fraction, RoundingMode.HALF_UP).unscaledValue();\n");
+            out.append("        if (unscaled.bitLength() < 63) {\n");
+            out.append("            writeNumber(buffer, offset, width, unscaled.longValue());\n");
+            out.append("            return;\n");
+            out.append("        }\n");
+            out.append("        String digits = unscaled.abs().toString();\n");
+            out.append("        int start = width - digits.length();\n");
+            out.append("        if (start < (unscaled.signum() < 0 ? 1 : 0)) {\n");
+            out.append("            throw new IllegalArgumentException(value + \" 超出 \" + width + \" 位\");\n");
+            out.append("        }\n");
+            out.append("        for (int i = 0; i < width; i++) {\n");
+            out.append("            buffer.put(offset + i, (byte) (i < start ? '0' : digits.charAt(i - start)));\n");
+            out.append("        }\n");
+            out.append("        if (unscaled.signum() < 0) {\n");
+            out.append("            buffer.put(offset, (byte) '-');\n");
+            out.append("        }\n");
+            out.append("    }\n");
+        }
+        if (decimal) {
+            out.append("\n");
+            out.append("    private static BigDecimal readDecimal(ByteBuffer buffer, int offset, int width, int fraction) {\n");
+            out.append("        if (width < 19) {\n");
+            out.append("            return BigDecimal.valueOf(readNumber(buffer, offset, width), fraction);\n");
+            out.append("        }\n");
+            out.append("        char[] digits = new char[width];\n");
+            out.append("        int length = 0;\n");
+            out.append("        boolean negative = false;\n");
+            out.append("        for (int i = offset; i < offset + width; i++) {\n");
+            out.append("            byte b = buffer.get(i);\n");
+            out.append("            if (b >= '0' && b <= '9') {\n");
+            out.append("                digits[length++] = (char) b;\n");
+            out.append("            } else if (b == '-') {\n");
+            out.append("                negative = true;\n");
+            out.append("            }\n");
+            out.append("        }\n");
+            out.append("        BigInteger unscaled = length == 0 ? BigInteger.ZERO : new BigInteger(new String(digits, 0, length));\n");
+            out.append("        return new BigDecimal(negative ? unscaled.negate() : unscaled, fraction);\n");
+            out.append("    }\n");
+        }
+        if (write && date) {
+            out.append("\n");
+            out.append("    private static long toNumber(LocalDate value) {\n");
+            out.append("        return value.getYear() * 10000L + value.getMonthValue() * 100 + value.getDayOfMonth();\n");
+            out.append("    }\n");
+        }
+        if (date) {
+            out.append("\n");
+            out.append("    private static LocalDate toLocalDate(long value) {\n");
+            out.append("        if (value == 0) {\n");
+            out.append("            // 全為空白或全為零（00000000）表示沒有日期\n");
+            out.append("            return null;\n");
+            out.append("        }\n");
+            out.append("        return LocalDate.of((int) (value / 10000), (int) (value / 100 % 100), (int) (value % 100));\n");
+            out.append("    }\n");
+        }
+        if (kinds.contains(Kind.DATE)) {
+            out.append("\n");
+            out.append("    private static Date toDate(long value) {\n");
+            out.append("        LocalDate date = toLocalDate(value);\n");
+            out.append("        return date == null ? null : Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());\n");
+            out.append("    }\n");
+        }
+        if (write && dateTime) {
+            out.append("\n");
+            out.append("    private static long toNumber(LocalDateTime value) {\n");
+            out.append("        return (value.getYear() * 10000L + value.getMonthValue() * 100 + value.getDayOfMonth()) * 1000000L\n");
+            out.append("                + value.getHour() * 10000 + value.getMinute() * 100 + value.getSecond();\n");
+            out.append("    }\n");
+        }
+        if (dateTime) {
+            out.append("\n");
+            out.append("    private static LocalDateTime toLocalDateTime(long value) {\n");
+            out.append("        if (value == 0) {\n");
+            out.append("            // 全為空白或全為零（00000000000000）表示沒有時間\n");
+            out.append("            return null;\n");
+            out.append("        }\n");
+            out.append("        long date = value / 1000000;\n");
+            out.append("        long time = value % 1000000;\n");
+            out.append("        return LocalDateTime.of((int) (date / 10000), (int) (date / 100 % 100), (int) (date % 100),\n");
+            out.append("                (int) (time / 10000), (int) (time / 100 % 100), (int) (time % 100));\n");
+            out.append("    }\n");
+        }
+        if (kinds.contains(Kind.TIMESTAMP)) {
+            out.append("\n");
+            out.append("    private static Timestamp toTimestamp(long value) {\n");
+            out.append("        LocalDateTime dateTime = toLocalDateTime(value);\n");
+            out.append("        return dateTime == null ? null : Timestamp.valueOf(dateTime);\n");
+            out.append("    }\n");
+        }
+    }
+
+    /**
+     * 欄位的編碼方式，無法確定寬度時為 UNSUPPORTED
+     */
+    static Kind kindOf(Field field) {
+        if (field.getChildClassName() != null) {
+            if (!field.isList()) {
+                return Kind.CHILD;
+            }
+            return parseSize(field.getSize()) > 0 ? Kind.CHILD_LIST : Kind.UNSUPPORTED;
+        }
+        if (field.isList()) {
+            // 簡單類型的 List 無法確定元素寬度
+            return Kind.UNSUPPORTED;
+        }
+
+        String type = field.getFormattedDataType();
+        for (Kind kind : Kind.values()) {
+            if (type.equals(kind.typeName) || type.equals(kind.primitiveName)) {
+                return width(field, kind) > 0 ? kind : Kind.UNSUPPORTED;
+            }
+        }
+        return Kind.UNSUPPORTED;
+    }
+
+    static int width(Field field, Kind kind) {
+        switch (kind) {
+            case LOCAL_DATE:
+            case DATE:
+                return 8;
+            case LOCAL_DATE_TIME:
+            case TIMESTAMP:
+                return 14;
+            case DECIMAL:
+            case DOUBLE:
+            case FLOAT:
+                int integer = parseSize(field.getDigitsInteger());
+                return integer > 0 ? integer + fraction(field) : 0;
+            default:
+                return parseSize(field.getSize());
+        }
+    }
+
+    static int fraction(Field field) {
+        return Math.max(parseSize(field.getDigitsFraction()), 0);
+    }
+
+    private static int parseSize(String size) {
+        try {
+            return size == null ? 0 : Integer.parseInt(size.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String describe(Field field, Kind kind) {
+        switch (kind) {
+            case TEXT:
+                return "文字";
+            case BOOLEAN:
+                return "Y/N";
+            case DECIMAL:
+            case DOUBLE:
+            case FLOAT:
+                return "數字，" + fraction(field) + " 位小數";
+            case LOCAL_DATE:
+            case DATE:
+                return "yyyyMMdd";
+            case LOCAL_DATE_TIME:
+            case TIMESTAMP:
+                return "yyyyMMddHHmmss";
+            case CHILD:
+                return field.getChildClassName();
+            case CHILD_LIST:
+                return field.getChildClassName() + " 重複組";
+            default:
+                return "數字";
+        }
+    }
+
+    /**
+     * 欄位常量名稱的前綴，如 custId -> CUST_ID
+     */
+    static String constantPrefix(Field field) {
+        return field.formatName(NameStyleConverter.UPPER_SNAKE_CASE);
+    }
+}
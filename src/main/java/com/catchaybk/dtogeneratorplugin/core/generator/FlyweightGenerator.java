@@ -0,0 +1,370 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.generator.FixedLengthLayout.Kind;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.TypeDescriptor;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 輕量訪問器生成器
+ * 為每個DTO生成同包的 XxxFlyweight，包裝定長記錄所在的 ByteBuffer 或 byte[]，getter 按偏移量即時解碼，
+ * 不建立DTO及其子結構。佈局與 {@link FixedLengthCodecGenerator} 完全相同
+ * <p>
+ * 生成規則：
+ * 1. wrap 只記錄緩衝區和起始位置，同一實例可反覆包裝下一條記錄，next() 移到緊接著的記錄
+ * 2. 數字和布爾返回基本類型，空白時為 0 或 false，以 hasXxx() 判斷是否有值
+ * 3. 文字另有 appendXxx(StringBuilder)，讀取時不建立 String
+ * 4. BigDecimal 另有 getXxxUnscaled() 返回不含小數點的 long
+ * 5. 子結構返回預先建立的子類訪問器，子結構 List 按索引訪問固定次數的重複組
+ * <p>
+ * 因此掃描大量記錄時，除了文字、BigDecimal 和日期外的讀取都不分配對象。
+ */
+public class FlyweightGenerator implements CompanionGenerator {
+    /** 訪問器類名的後綴 */
+    public static final String SUFFIX = "Flyweight";
+
+    private static final int BASE_SIZE = 2560;
+    private static final int FIELD_SIZE = 384;
+    /** long 能完整表示的位數 */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private final String packageName;
+    private final UserConfig config;
+
+    public FlyweightGenerator(String packageName, UserConfig config) {
+        this.packageName = packageName;
+        this.config = config;
+    }
+
+    @Override
+    public String getSuffix() {
+        return SUFFIX;
+    }
+
+    @Override
+    public int estimateSize(List<Field> fields) {
+        return BASE_SIZE + FIELD_SIZE * fields.size();
+    }
+
+    @Override
+    public void generate(String className, List<Field> fields, Appendable out) throws IOException {
+        String flyweightName = className + SUFFIX;
+        Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+        for (Field field : fields) {
+            kinds.add(FixedLengthLayout.kindOf(field));
+        }
+
+        if (packageName != null && !packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        generateImports(out, fields, kinds);
+
+        out.append("/**\n");
+        out.append(" * {@link ").append(className).append("} 定長記錄的輕量訪問器\n");
+        out.append(" * getter 直接從緩衝區按偏移量解碼，不建立對象；同一實例可反覆 wrap 到下一條記錄\n");
+        out.append(" * 數字和布爾在欄位空白時為 0 或 false，以 hasXxx() 判斷是否有值\n");
+        out.append(" * 實例不是線程安全的，子結構訪問器隨本實例重用\n");
+        if (config.author != null && !config.author.isEmpty()) {
+            out.append(" * @author ").append(config.author).append("\n");
+        }
+        out.append(" */\n");
+        out.append("public final class ").append(flyweightName).append(" {\n");
+
+        FixedLengthLayout.appendConstants(out, fields, SUFFIX);
+        out.append("    private ByteBuffer buffer;\n");
+        out.append("    private int base;\n");
+        for (Field field : fields) {
+            Kind kind = FixedLengthLayout.kindOf(field);
+            if (kind == Kind.CHILD || kind == Kind.CHILD_LIST) {
+                String childFlyweight = field.getChildClassName() + SUFFIX;
+                out.append("    private final ").append(childFlyweight).append(" ").append(field.getCamelCaseName())
+                        .append(" = new ").append(childFlyweight).append("();\n");
+            }
+        }
+        out.append("\n");
+
+        generateWrap(out, flyweightName);
+        for (Field field : fields) {
+            generateAccessors(out, field, FixedLengthLayout.kindOf(field));
+        }
+        if (config.isEnabled(GenerationFeature.FIXED_LENGTH_CODECS)) {
+            out.append("\n");
+            out.append("    /**\n");
+            out.append("     * 解碼為完整的對象\n");
+            out.append("     */\n");
+            out.append("    public ").append(className).append(" toDto() {\n");
+            out.append("        return ").append(className).append(FixedLengthCodecGenerator.SUFFIX)
+                    .append(".decode(buffer, base);\n");
+            out.append("    }\n");
+        }
+
+        FixedLengthLayout.appendHelpers(out, kinds, false);
+        if (kinds.contains(Kind.TEXT)) {
+            out.append("\n");
+            out.append("    private static StringBuilder appendText(StringBuilder target, ByteBuffer buffer, int offset, int width) {\n");
+            out.append("        int length = width;\n");
+            out.append("        while (length > 0 && buffer.get(offset + length - 1) == ' ') {\n");
+            out.append("            length--;\n");
+            out.append("        }\n");
+            out.append("        for (int i = 0; i < length; i++) {\n");
+            out.append("            target.append((char) (buffer.get(offset + i) & 0xFF));\n");
+            out.append("        }\n");
+            out.append("        return target;\n");
+            out.append("    }\n");
+        }
+        if (kinds.contains(Kind.CHILD_LIST)) {
+            out.append("\n");
+            out.append("    private static void checkIndex(int index, int count) {\n");
+            out.append("        if (index < 0 || index >= count) {\n");
+            out.append("            throw new IndexOutOfBoundsException(\"索引 \" + index + \" 超出重複次數 \" + count);\n");
+            out.append("        }\n");
+            out.append("    }\n");
+        }
+        out.append("}\n");
+    }
+
+    private void generateImports(Appendable out, List<Field> fields, Set<Kind> kinds) throws IOException {
+        Set<String> imports = new HashSet<>();
+        imports.add("java.nio.ByteBuffer");
+        for (Field field : fields) {
+            Kind kind = FixedLengthLayout.kindOf(field);
+            if (kind == Kind.DATE || kind == Kind.TIMESTAMP) {
+                imports.addAll(TypeDescriptor.collectImports(field.getFormattedDataType()));
+            }
+            // 共用類只在以相同伴生類選項生成且伴生類仍存在時才會被引用（見 StructureDeduplicator），其伴生類必定存在
+            if ((kind == Kind.CHILD || kind == Kind.CHILD_LIST) && field.getChildClassImport() != null) {
+                imports.add(field.getChildClassImport() + SUFFIX);
+            }
+        }
+        FixedLengthLayout.addHelperImports(imports, kinds, false);
+        imports.removeIf(this::isInCurrentPackage);
+        for (String imp : imports.stream().sorted().toArray(String[]::new)) {
+            out.append("import ").append(imp).append(";\n");
+        }
+        out.append("\n");
+    }
+
+    private boolean isInCurrentPackage(String qualifiedName) {
+        int lastDot = qualifiedName.lastIndexOf('.');
+        return packageName != null && lastDot > 0 && qualifiedName.substring(0, lastDot).equals(packageName);
+    }
+
+    private void generateWrap(Appendable out, String flyweightName) throws IOException {
+        out.append("    /**\n");
+        out.append("     * 包裝緩衝區中從指定絕對位置開始的記錄，不改變緩衝區的位置\n");
+        out.append("     */\n");
+        out.append("    public ").append(flyweightName).append(" wrap(ByteBuffer buffer, int base) {\n");
+        out.append("        this.buffer = buffer;\n");
+        out.append("        this.base = base;\n");
+        out.append("        return this;\n");
+        out.append("    }\n\n");
+
+        out.append("    /**\n");
+        out.append("     * 包裝數組中從指定位置開始的記錄，反覆包裝同一數組時重用同一個 ByteBuffer\n");
+        out.append("     */\n");
+        out.append("    public ").append(flyweightName).append(" wrap(byte[] bytes, int offset) {\n");
+        out.append("        if (buffer == null || !buffer.hasArray() || buffer.array() != bytes || buffer.arrayOffset() != 0) {\n");
+        out.append("            buffer = ByteBuffer.wrap(bytes);\n");
+        out.append("        }\n");
+        out.append("        base = offset;\n");
+        out.append("        return this;\n");
+        out.append("    }\n\n");
+
+        out.append("    /**\n");
+        out.append("     * 移到緊接著的下一條記錄\n");
+        out.append("     */\n");
+        out.append("    public ").append(flyweightName).append(" next() {\n");
+        out.append("        base += LENGTH;\n");
+        out.append("        return this;\n");
+        out.append("    }\n\n");
+
+        out.append("    /**\n");
+        out.append("     * 當前記錄在緩衝區中的起始位置\n");
+        out.append("     */\n");
+        out.append("    public int base() {\n");
+        out.append("        return base;\n");
+        out.append("    }\n");
+    }
+
+    private void generateAccessors(Appendable out, Field field, Kind kind) throws IOException {
+        if (kind == Kind.UNSUPPORTED) {
+            return;
+        }
+        String prefix = FixedLengthLayout.constantPrefix(field);
+        String name = field.getCapitalizedName();
+        String offset = "base + " + prefix + "_OFFSET";
+        String width = prefix + "_WIDTH";
+        String number = "readNumber(buffer, " + offset + ", " + width + ")";
+        String blank = "isBlank(buffer, " + offset + ", " + width + ")";
+
+        if (kind == Kind.CHILD_LIST) {
+            generateGroupAccessors(out, field, prefix);
+            return;
+        }
+
+        boolean temporal = kind == Kind.LOCAL_DATE || kind == Kind.DATE
+                || kind == Kind.LOCAL_DATE_TIME || kind == Kind.TIMESTAMP;
+        out.append("\n");
+        if (temporal) {
+            // 日期全為零時同樣沒有值，與讀取方法返回 null 一致
+            out.append("    /** ").append(field.getDataName()).append(" 是否有值（不全為空白或零） */\n");
+            out.append("    public boolean has").append(name).append("() {\n");
+            out.append("        return ").append(number).append(" != 0;\n");
+        } else {
+            out.append("    /** ").append(field.getDataName()).append(" 是否有值（不全為空白） */\n");
+            out.append("    public boolean has").append(name).append("() {\n");
+            out.append("        return !").append(blank).append(";\n");
+        }
+        out.append("    }\n\n");
+
+        String getter = kind == Kind.BOOLEAN ? field.getGetterName() : "get" + name;
+        String type;
+        String expression;
+        switch (kind) {
+            case TEXT:
+                type = "String";
+                expression = "readText(buffer, " + offset + ", " + width + ")";
+                break;
+            case INTEGER:
+                type = "int";
+                expression = "(int) " + number;
+                break;
+            case LONG:
+                type = "long";
+                expression = number;
+                break;
+            case SHORT:
+                type = "short";
+                expression = "(short) " + number;
+                break;
+            case DECIMAL:
+                type = "BigDecimal";
+                expression = blank + " ? null : readDecimal(buffer, " + offset + ", " + width + ", " + prefix
+                        + "_FRACTION)";
+                break;
+            case DOUBLE:
+            case FLOAT:
+                type = kind == Kind.DOUBLE ? "double" : "float";
+                expression = (kind == Kind.FLOAT ? "(float) " : "") + scaledDouble(field, kind, number, offset, width,
+                        prefix);
+                break;
+            case BOOLEAN:
+                type = "boolean";
+                expression = "buffer.get(" + offset + ") == 'Y'";
+                break;
+            case LOCAL_DATE:
+                type = "LocalDate";
+                expression = "toLocalDate(" + number + ")";
+                break;
+            case DATE:
+                type = "Date";
+                expression = "toDate(" + number + ")";
+                break;
+            case LOCAL_DATE_TIME:
+                type = "LocalDateTime";
+                expression = "toLocalDateTime(" + number + ")";
+                break;
+            case TIMESTAMP:
+                type = "Timestamp";
+                expression = "toTimestamp(" + number + ")";
+                break;
+            default:
+                type = field.getChildClassName() + SUFFIX;
+                expression = field.getCamelCaseName() + ".wrap(buffer, " + offset + ")";
+                break;
+        }
+        out.append("    /** ").append(field.getDataName()).append(describeGetter(kind)).append(" */\n");
+        out.append("    public ").append(type).append(" ").append(getter).append("() {\n");
+        out.append("        return ").append(expression).append(";\n");
+        out.append("    }\n");
+
+        if (kind == Kind.TEXT) {
+            out.append("\n");
+            out.append("    /** 將 ").append(field.getDataName()).append(" 去除尾部空白後追加到 target，不建立 String */\n");
+            out.append("    public StringBuilder append").append(name).append("(StringBuilder target) {\n");
+            out.append("        return appendText(target, buffer, ").append(offset).append(", ").append(width)
+                    .append(");\n");
+            out.append("    }\n");
+        }
+        if (kind == Kind.DECIMAL && FixedLengthLayout.width(field, kind) <= MAX_LONG_DIGITS) {
+            out.append("\n");
+            out.append("    /** ").append(field.getDataName()).append(" 不含小數點的值，實際值為此值除以 10 的 ")
+                    .append(String.valueOf(FixedLengthLayout.fraction(field))).append(" 次方，空白時為 0 */\n");
+            out.append("    public long get").append(name).append("Unscaled() {\n");
+            out.append("        return ").append(number).append(";\n");
+            out.append("    }\n");
+        }
+    }
+
+    /**
+     * 子結構 List 的固定次數重複組，按索引返回重用的子類訪問器
+     */
+    private void generateGroupAccessors(Appendable out, Field field, String prefix) throws IOException {
+        String name = field.getCapitalizedName();
+        String childFlyweight = field.getChildClassName() + SUFFIX;
+        String elementOffset = "base + " + prefix + "_OFFSET + index * " + childFlyweight + ".LENGTH";
+
+        out.append("\n");
+        out.append("    /** ").append(field.getDataName()).append(" 的重複次數（含空白的組） */\n");
+        out.append("    public int get").append(name).append("Count() {\n");
+        out.append("        return ").append(prefix).append("_COUNT;\n");
+        out.append("    }\n\n");
+
+        out.append("    /** ").append(field.getDataName()).append(" 第 index 組是否有值（不全為空白） */\n");
+        out.append("    public boolean has").append(name).append("(int index) {\n");
+        out.append("        checkIndex(index, ").append(prefix).append("_COUNT);\n");
+        out.append("        return !isBlank(buffer, ").append(elementOffset).append(", ").append(childFlyweight)
+                .append(".LENGTH);\n");
+        out.append("    }\n\n");
+
+        out.append("    /** ").append(field.getDataName())
+                .append(" 第 index 組，返回的訪問器在下次調用時會被重用 */\n");
+        out.append("    public ").append(childFlyweight).append(" get").append(name).append("(int index) {\n");
+        out.append("        checkIndex(index, ").append(prefix).append("_COUNT);\n");
+        out.append("        return ").append(field.getCamelCaseName()).append(".wrap(buffer, ").append(elementOffset)
+                .append(");\n");
+        out.append("    }\n");
+    }
+
+    /**
+     * Double、Float 以 long 讀出後除以 10 的小數位次方，不經過 BigDecimal；位數超過 long 時才使用 BigDecimal
+     */
+    private String scaledDouble(Field field, Kind kind, String number, String offset, String width, String prefix) {
+        if (FixedLengthLayout.width(field, kind) > MAX_LONG_DIGITS) {
+            return "readDecimal(buffer, " + offset + ", " + width + ", " + prefix + "_FRACTION).doubleValue()";
+        }
+        int fraction = FixedLengthLayout.fraction(field);
+        return fraction == 0 ? "(double) " + number : number + " / 1e" + fraction;
+    }
+
+    private String describeGetter(Kind kind) {
+        switch (kind) {
+            case TEXT:
+                return "，去除尾部空白，空白時為 null";
+            case INTEGER:
+            case LONG:
+            case SHORT:
+            case DOUBLE:
+            case FLOAT:
+                return "，空白時為 0";
+            case BOOLEAN:
+                return "，為 Y 時為 true";
+            case CHILD:
+                return "，返回的訪問器在下次調用時會被重用";
+            case LOCAL_DATE:
+            case DATE:
+            case LOCAL_DATE_TIME:
+            case TIMESTAMP:
+                return "，空白或全為零時為 null";
+            default:
+                return "，空白時為 null";
+        }
+    }
+}
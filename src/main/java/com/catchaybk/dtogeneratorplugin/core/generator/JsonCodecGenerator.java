@@ -0,0 +1,521 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.TypeDescriptor;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JSON編解碼器生成器
+ * 為每個DTO生成同包的 XxxJsonCodec，內含直接讀寫 JsonGenerator / JsonParser 的序列化器和反序列化器，
+ * DTO 以 @JsonSerialize / @JsonDeserialize 指向它們，Jackson 不再對DTO做任何 Bean 內省
+ * <p>
+ * 生成規則：
+ * 1. 屬性名預先建立為 SerializedString 常量，寫出時不再編碼
+ * 2. 反序列化以屬性名的 switch 分派，屬性名和所有別名都是 case 標籤
+ * 3. String、數字和 Boolean 直接讀寫，子結構直接調用子類的編解碼器
+ *    基本類型不做 null 判斷，非數字記號交給 StdDeserializer 的 _parseXxxPrimitive 按 Jackson 的規則轉換；
+ *    基本類型數組以倍增的數組讀取，不經過 List
+ * 4. 其他類型（如日期）交給 Jackson 已配置的序列化器處理，保持日期格式等設定不變
+ * 5. 未知屬性交給 DeserializationContext 處理，啟用 Jackson 高吞吐時直接跳過
+ */
+public class JsonCodecGenerator implements CompanionGenerator {
+    /** 編解碼器類名的後綴 */
+    public static final String SUFFIX = "JsonCodec";
+
+    private static final int BASE_SIZE = 2048;
+    private static final int FIELD_SIZE = 512;
+
+    /**
+     * 可以直接讀寫的值類型
+     */
+    private enum Kind {
+        STRING("String", null, "JsonToken.VALUE_STRING", "p.getText()", null),
+        INTEGER("Integer", "int", "JsonToken.VALUE_NUMBER_INT", "p.getIntValue()", "_parseIntPrimitive"),
+        LONG("Long", "long", "JsonToken.VALUE_NUMBER_INT", "p.getLongValue()", "_parseLongPrimitive"),
+        SHORT("Short", "short", "JsonToken.VALUE_NUMBER_INT", "p.getShortValue()", "_parseShortPrimitive"),
+        BYTE("Byte", "byte", "JsonToken.VALUE_NUMBER_INT", "p.getByteValue()", "_parseBytePrimitive"),
+        DOUBLE("Double", "double", null, "p.getDoubleValue()", "_parseDoublePrimitive"),
+        FLOAT("Float", "float", null, "p.getFloatValue()", "_parseFloatPrimitive"),
+        DECIMAL("BigDecimal", null, null, "p.getDecimalValue()", null),
+        BOOLEAN("Boolean", "boolean", null, "p.getBooleanValue()", "_parseBooleanPrimitive"),
+        CHILD(null, null, null, null, null),
+        OTHER(null, null, null, null, null);
+
+        final String typeName;
+        final String primitiveName;
+        /** 可直接讀取的記號，為 null 時數字類型判斷 isNumeric()，Boolean 判斷 isBoolean() */
+        final String token;
+        /** 讀取當前記號的值，基本類型直接使用，包裝類型以 valueOf 裝箱 */
+        final String value;
+        /** StdDeserializer 中轉換其他記號的基本類型解析方法 */
+        final String parsePrimitive;
+
+        Kind(String typeName, String primitiveName, String token, String value, String parsePrimitive) {
+            this.typeName = typeName;
+            this.primitiveName = primitiveName;
+            this.token = token;
+            this.value = value;
+            this.parsePrimitive = parsePrimitive;
+        }
+
+        String boxedRead() {
+            return primitiveName != null ? typeName + ".valueOf(" + value + ")" : value;
+        }
+    }
+
+    private final String packageName;
+    private final UserConfig config;
+
+    public JsonCodecGenerator(String packageName, UserConfig config) {
+        this.packageName = packageName;
+        this.config = config;
+    }
+
+    @Override
+    public String getSuffix() {
+        return SUFFIX;
+    }
+
+    @Override
+    public int estimateSize(List<Field> fields) {
+        return BASE_SIZE + FIELD_SIZE * fields.size();
+    }
+
+    @Override
+    public void generate(String className, List<Field> fields, Appendable out) throws IOException {
+        String codecName = className + SUFFIX;
+        if (packageName != null && !packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        generateImports(out, fields);
+
+        out.append("/**\n");
+        out.append(" * {@link ").append(className).append("} 的JSON編解碼器\n");
+        out.append(" * 直接讀寫 JsonGenerator / JsonParser，不使用反射\n");
+        if (config.author != null && !config.author.isEmpty()) {
+            out.append(" * @author ").append(config.author).append("\n");
+        }
+        out.append(" */\n");
+        out.append("public final class ").append(codecName).append(" {\n");
+        out.append("    public static final Serializer SERIALIZER = new Serializer();\n");
+        out.append("    public static final Deserializer DESERIALIZER = new Deserializer();\n\n");
+        for (Field field : fields) {
+            out.append("    private static final SerializedString ").append(nameConstant(field))
+                    .append(" = new SerializedString(\"").append(getPropertyName(field)).append("\");\n");
+        }
+        if (!fields.isEmpty()) {
+            out.append("\n");
+        }
+        out.append("    private ").append(codecName).append("() {\n    }\n\n");
+
+        generateSerializer(out, className, fields);
+        out.append("\n");
+        generateDeserializer(out, className, fields);
+        out.append("}\n");
+    }
+
+    private void generateImports(Appendable out, List<Field> fields) throws IOException {
+        Set<String> imports = new HashSet<>();
+        imports.add("com.fasterxml.jackson.core.JsonGenerator");
+        imports.add("com.fasterxml.jackson.core.JsonParser");
+        imports.add("com.fasterxml.jackson.core.JsonToken");
+        imports.add("com.fasterxml.jackson.core.io.SerializedString");
+        imports.add("com.fasterxml.jackson.databind.DeserializationContext");
+        imports.add("com.fasterxml.jackson.databind.SerializerProvider");
+        imports.add("com.fasterxml.jackson.databind.deser.std.StdDeserializer");
+        imports.add("com.fasterxml.jackson.databind.ser.std.StdSerializer");
+        imports.add("java.io.IOException");
+        for (Field field : fields) {
+            imports.addAll(TypeDescriptor.collectImports(field.getFormattedDataType()));
+            if (field.isList()) {
+                imports.add(field.usesPrimitiveType() ? "java.util.Arrays" : "java.util.ArrayList");
+            }
+            if (isGenericOther(field)) {
+                imports.add("com.fasterxml.jackson.core.type.TypeReference");
+            }
+            // 共用類只在以相同伴生類選項生成且伴生類仍存在時才會被引用（見 StructureDeduplicator），其伴生類必定存在
+            if (field.getChildClassImport() != null) {
+                imports.add(field.getChildClassImport());
+                imports.add(field.getChildClassImport() + SUFFIX);
+            }
+        }
+        imports.removeIf(this::isInCurrentPackage);
+        for (String imp : imports.stream().sorted().toArray(String[]::new)) {
+            out.append("import ").append(imp).append(";\n");
+        }
+        out.append("\n");
+    }
+
+    private boolean isInCurrentPackage(String qualifiedName) {
+        int lastDot = qualifiedName.lastIndexOf('.');
+        return packageName != null && lastDot > 0 && qualifiedName.substring(0, lastDot).equals(packageName);
+    }
+
+    private void generateSerializer(Appendable out, String className, List<Field> fields) throws IOException {
+        boolean skipNulls = config.isEnabled(GenerationFeature.JACKSON_THROUGHPUT);
+
+        out.append("    /**\n");
+        out.append("     * 按規格順序寫出所有屬性").append(skipNulls ? "，空值不輸出" : "").append("\n");
+        out.append("     */\n");
+        out.append("    public static final class Serializer extends StdSerializer<").append(className).append("> {\n");
+        out.append("        private static final long serialVersionUID = 1L;\n\n");
+        out.append("        public Serializer() {\n");
+        out.append("            super(").append(className).append(".class);\n");
+        out.append("        }\n\n");
+        out.append("        @Override\n");
+        out.append("        public void serialize(").append(className)
+                .append(" value, JsonGenerator gen, SerializerProvider provider) throws IOException {\n");
+        out.append("            gen.writeStartObject(value);\n");
+        for (Field field : fields) {
+            String getter = "value." + accessor(field) + "()";
+            if (!field.isNullable()) {
+                out.append("            gen.writeFieldName(").append(nameConstant(field)).append(");\n");
+                out.append("            ").append(writeStatement(field, valueKind(field), getter)).append("\n");
+                continue;
+            }
+            String indent = "                ";
+            if (skipNulls) {
+                out.append("            if (").append(getter).append(" != null) {\n");
+            } else {
+                out.append("            gen.writeFieldName(").append(nameConstant(field)).append(");\n");
+                out.append("            if (").append(getter).append(" == null) {\n");
+                out.append("                gen.writeNull();\n");
+                out.append("            } else {\n");
+            }
+            if (skipNulls) {
+                out.append(indent).append("gen.writeFieldName(").append(nameConstant(field)).append(");\n");
+            }
+            if (field.isList()) {
+                String elementType = elementType(field);
+                String write = writeStatement(field, elementKind(field), "element");
+                out.append(indent).append("gen.writeStartArray();\n");
+                out.append(indent).append("for (").append(elementType).append(" element : ").append(getter)
+                        .append(") {\n");
+                if (field.usesPrimitiveType()) {
+                    out.append(indent).append("    ").append(write).append("\n");
+                } else {
+                    out.append(indent).append("    if (element == null) {\n");
+                    out.append(indent).append("        gen.writeNull();\n");
+                    out.append(indent).append("    } else {\n");
+                    out.append(indent).append("        ").append(write).append("\n");
+                    out.append(indent).append("    }\n");
+                }
+                out.append(indent).append("}\n");
+                out.append(indent).append("gen.writeEndArray();\n");
+            } else {
+                out.append(indent).append(writeStatement(field, valueKind(field), getter)).append("\n");
+            }
+            out.append("            }\n");
+        }
+        out.append("            gen.writeEndObject();\n");
+        out.append("        }\n");
+        out.append("    }\n");
+    }
+
+    private void generateDeserializer(Appendable out, String className, List<Field> fields) throws IOException {
+        boolean record = config.isRecordOutput();
+        boolean ignoreUnknown = config.isEnabled(GenerationFeature.JACKSON_THROUGHPUT);
+
+        out.append("    /**\n");
+        out.append("     * 以屬性名的 switch 分派讀取，屬性名和別名都可識別\n");
+        out.append("     */\n");
+        out.append("    public static final class Deserializer extends StdDeserializer<").append(className).append("> {\n");
+        out.append("        private static final long serialVersionUID = 1L;\n\n");
+        out.append("        public Deserializer() {\n");
+        out.append("            super(").append(className).append(".class);\n");
+        out.append("        }\n\n");
+        out.append("        @Override\n");
+        out.append("        public ").append(className)
+                .append(" deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {\n");
+        out.append("            JsonToken token = p.currentToken();\n");
+        out.append("            if (token == JsonToken.START_OBJECT) {\n");
+        out.append("                token = p.nextToken();\n");
+        out.append("            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {\n");
+        out.append("                return (").append(className).append(") ctxt.handleUnexpectedToken(")
+                .append(className).append(".class, p);\n");
+        out.append("            }\n\n");
+
+        if (record) {
+            for (Field field : fields) {
+                out.append("            ").append(field.getFormattedDataType()).append(" ")
+                        .append(localName(field)).append(" = ").append(defaultValue(field)).append(";\n");
+            }
+        } else {
+            out.append("            ").append(className).append(" dto = new ").append(className).append("();\n");
+        }
+
+        out.append("            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {\n");
+        out.append("                String name = p.currentName();\n");
+        out.append("                p.nextToken();\n");
+        out.append("                switch (name) {\n");
+        Set<String> usedLabels = new HashSet<>();
+        for (Field field : fields) {
+            List<String> labels = new ArrayList<>();
+            for (String label : getAcceptedNames(field)) {
+                if (usedLabels.add(label)) {
+                    labels.add(label);
+                }
+            }
+            if (labels.isEmpty()) {
+                continue;
+            }
+            for (String label : labels) {
+                out.append("                    case \"").append(label).append("\":\n");
+            }
+            String target = record ? localName(field) + " = " : "dto." + field.getSetterName() + "(";
+            String close = record ? ";" : ");";
+            if (field.isList()) {
+                out.append("                        ").append(target).append("read")
+                        .append(field.getCapitalizedName()).append("(p, ctxt)").append(close).append("\n");
+            } else {
+                out.append("                        ").append(target).append(readExpression(field, valueKind(field),
+                        field.getFormattedDataType())).append(close).append("\n");
+            }
+            out.append("                        break;\n");
+        }
+        out.append("                    default:\n");
+        if (ignoreUnknown) {
+            out.append("                        p.skipChildren();\n");
+        } else {
+            out.append("                        ctxt.handleUnknownProperty(p, this, ").append(className)
+                    .append(".class, name);\n");
+        }
+        out.append("                        break;\n");
+        out.append("                }\n");
+        out.append("            }\n");
+
+        if (record) {
+            out.append("            return new ").append(className).append("(");
+            for (int i = 0; i < fields.size(); i++) {
+                out.append(i == 0 ? "" : ", ").append(localName(fields.get(i)));
+            }
+            out.append(");\n");
+        } else {
+            out.append("            return dto;\n");
+        }
+        out.append("        }\n");
+
+        for (Field field : fields) {
+            if (field.isList()) {
+                if (field.usesPrimitiveType()) {
+                    generateArrayReader(out, field);
+                } else {
+                    generateListReader(out, field);
+                }
+            }
+        }
+        if (fields.stream().anyMatch(this::usesReadValue)) {
+            out.append("\n");
+            out.append("        private static <T> T readValue(JsonParser p, DeserializationContext ctxt, Class<T> type)\n");
+            out.append("                throws IOException {\n");
+            out.append("            return p.currentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, type);\n");
+            out.append("        }\n");
+        }
+        out.append("    }\n");
+    }
+
+    private void generateListReader(Appendable out, Field field) throws IOException {
+        String elementType = elementType(field);
+        out.append("\n");
+        out.append("        private ").append(field.getFormattedDataType()).append(" read")
+                .append(field.getCapitalizedName())
+                .append("(JsonParser p, DeserializationContext ctxt) throws IOException {\n");
+        out.append("            if (p.currentToken() == JsonToken.VALUE_NULL) {\n");
+        out.append("                return null;\n");
+        out.append("            }\n");
+        out.append("            if (p.currentToken() != JsonToken.START_ARRAY) {\n");
+        out.append("                return ctxt.reportInputMismatch(this, \"%s 應為數組\", \"")
+                .append(getPropertyName(field)).append("\");\n");
+        out.append("            }\n");
+        out.append("            ").append(field.getFormattedDataType()).append(" list = new ArrayList<>();\n");
+        out.append("            while (p.nextToken() != JsonToken.END_ARRAY) {\n");
+        out.append("                list.add(").append(readExpression(field, elementKind(field), elementType))
+                .append(");\n");
+        out.append("            }\n");
+        out.append("            return list;\n");
+        out.append("        }\n");
+    }
+
+    /**
+     * 基本類型數組先讀入容量倍增的數組，結束時截取實際長度
+     */
+    private void generateArrayReader(Appendable out, Field field) throws IOException {
+        String arrayType = field.getFormattedDataType();
+        String elementType = elementType(field);
+        out.append("\n");
+        out.append("        private ").append(arrayType).append(" read").append(field.getCapitalizedName())
+                .append("(JsonParser p, DeserializationContext ctxt) throws IOException {\n");
+        out.append("            if (p.currentToken() == JsonToken.VALUE_NULL) {\n");
+        out.append("                return null;\n");
+        out.append("            }\n");
+        out.append("            if (p.currentToken() != JsonToken.START_ARRAY) {\n");
+        out.append("                return ctxt.reportInputMismatch(this, \"%s 應為數組\", \"")
+                .append(getPropertyName(field)).append("\");\n");
+        out.append("            }\n");
+        out.append("            ").append(arrayType).append(" array = new ").append(elementType).append("[16];\n");
+        out.append("            int size = 0;\n");
+        out.append("            while (p.nextToken() != JsonToken.END_ARRAY) {\n");
+        out.append("                if (size == array.length) {\n");
+        out.append("                    array = Arrays.copyOf(array, size * 2);\n");
+        out.append("                }\n");
+        out.append("                array[size++] = ").append(readExpression(field, elementKind(field), elementType))
+                .append(";\n");
+        out.append("            }\n");
+        out.append("            return size == array.length ? array : Arrays.copyOf(array, size);\n");
+        out.append("        }\n");
+    }
+
+    /**
+     * 寫出非空值的語句
+     */
+    private String writeStatement(Field field, Kind kind, String value) {
+        switch (kind) {
+            case STRING:
+                return "gen.writeString(" + value + ");";
+            case BOOLEAN:
+                return "gen.writeBoolean(" + value + ");";
+            case CHILD:
+                return field.getChildClassName() + SUFFIX + ".SERIALIZER.serialize(" + value + ", gen, provider);";
+            case OTHER:
+                return "provider.defaultSerializeValue(" + value + ", gen);";
+            default:
+                return "gen.writeNumber(" + value + ");";
+        }
+    }
+
+    /**
+     * 讀取當前值的表達式，當前記號為 VALUE_NULL 時結果為 null，基本類型按 Jackson 的設定轉換為默認值或報錯
+     */
+    private String readExpression(Field field, Kind kind, String type) {
+        switch (kind) {
+            case CHILD:
+                return "p.currentToken() == JsonToken.VALUE_NULL ? null : "
+                        + field.getChildClassName() + SUFFIX + ".DESERIALIZER.deserialize(p, ctxt)";
+            case OTHER:
+                if (type.indexOf('<') >= 0) {
+                    return "p.currentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, "
+                            + "ctxt.getTypeFactory().constructType(new TypeReference<" + type + ">() { }))";
+                }
+                return "readValue(p, ctxt, " + type + ".class)";
+            default:
+                String condition;
+                if (kind.token != null) {
+                    condition = "p.currentToken() == " + kind.token;
+                } else if (kind == Kind.BOOLEAN) {
+                    condition = "p.currentToken().isBoolean()";
+                } else {
+                    condition = "p.currentToken().isNumeric()";
+                }
+                if (type.equals(kind.primitiveName)) {
+                    return condition + " ? " + kind.value + " : " + kind.parsePrimitive + "(p, ctxt)";
+                }
+                return condition + " ? " + kind.boxedRead() + " : readValue(p, ctxt, " + kind.typeName + ".class)";
+        }
+    }
+
+    private boolean usesReadValue(Field field) {
+        Kind kind = field.isList() ? elementKind(field) : valueKind(field);
+        if (kind == Kind.CHILD) {
+            return false;
+        }
+        if (kind != Kind.OTHER && field.usesPrimitiveType()) {
+            return false;
+        }
+        return kind != Kind.OTHER || (field.isList() ? elementType(field) : field.getFormattedDataType()).indexOf('<') < 0;
+    }
+
+    private boolean isGenericOther(Field field) {
+        if (field.isList()) {
+            return elementKind(field) == Kind.OTHER && elementType(field).indexOf('<') >= 0;
+        }
+        return valueKind(field) == Kind.OTHER && field.getFormattedDataType().indexOf('<') >= 0;
+    }
+
+    private Kind valueKind(Field field) {
+        if (field.getChildClassName() != null) {
+            return Kind.CHILD;
+        }
+        return kindOf(field.getFormattedDataType());
+    }
+
+    private Kind elementKind(Field field) {
+        if (field.getChildClassName() != null) {
+            return Kind.CHILD;
+        }
+        return kindOf(elementType(field));
+    }
+
+    private static Kind kindOf(String type) {
+        for (Kind kind : Kind.values()) {
+            if (type.equals(kind.typeName) || type.equals(kind.primitiveName)) {
+                return kind;
+            }
+        }
+        return Kind.OTHER;
+    }
+
+    private String elementType(Field field) {
+        if (field.getChildClassName() != null) {
+            return field.getChildClassName();
+        }
+        String type = field.getFormattedDataType();
+        if (type.endsWith("[]")) {
+            return type.substring(0, type.length() - 2);
+        }
+        String genericArgument = TypeDescriptor.of(type).getGenericArgument();
+        return genericArgument.isEmpty() ? "Object" : genericArgument;
+    }
+
+    /**
+     * record 組件在JSON中缺少時的值
+     */
+    private String defaultValue(Field field) {
+        if (field.isNullable()) {
+            return "null";
+        }
+        return "boolean".equals(field.getFormattedDataType()) ? "false" : "0";
+    }
+
+    private String accessor(Field field) {
+        return config.isRecordOutput() ? field.getCamelCaseName() : field.getGetterName();
+    }
+
+    /**
+     * 字段在JSON中的屬性名，與 ClassGenerator 生成的 JsonProperty 一致
+     */
+    private String getPropertyName(Field field) {
+        String jsonPropertyName = field.formatName(config.jsonPropertyStyle);
+        return jsonPropertyName != null ? jsonPropertyName : field.getCamelCaseName();
+    }
+
+    /**
+     * 反序列化時接受的屬性名：屬性名加上所有別名
+     */
+    private Set<String> getAcceptedNames(Field field) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(getPropertyName(field));
+        for (String style : config.jsonAliasStyles) {
+            String alias = field.formatName(style);
+            if (alias != null) {
+                names.add(alias);
+            }
+        }
+        return names;
+    }
+
+    private String nameConstant(Field field) {
+        return field.formatName(NameStyleConverter.UPPER_SNAKE_CASE) + "_NAME";
+    }
+
+    private String localName(Field field) {
+        return field.getCamelCaseName() + "Value";
+    }
+}
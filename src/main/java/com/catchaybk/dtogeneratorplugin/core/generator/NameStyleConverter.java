@@ -0,0 +1,184 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 名稱格式轉換器
+ * 將字段名轉換為 JsonProperty / JsonAlias 使用的各種命名格式
+ * <p>
+ * 每個字段名只掃描一次：同時記錄大寫字母處的單詞邊界和底線/空白分隔的單詞，
+ * 一次產生全部六種格式並緩存。緩存為全局共用，批次生成時各電文重複出現的
+ * 公共欄位（如電文頭）只需轉換一次。
+ * <p>
+ * 支持的格式：
+ * - 原始格式：studentName -> studentName
+ * - 全大寫：studentName -> STUDENTNAME
+ * - 全小寫：studentName -> studentname
+ * - 大寫底線：studentName -> STUDENT_NAME
+ * - 小駝峰：student_name -> studentName
+ * - 大駝峰：student_name -> StudentName
+ * - 無：不產生名稱
+ */
+public final class NameStyleConverter {
+    public static final String ORIGINAL = "原始格式";
+    public static final String UPPER_CASE = "全大寫";
+    public static final String LOWER_CASE = "全小寫";
+    public static final String UPPER_SNAKE_CASE = "大寫底線";
+    public static final String LOWER_CAMEL_CASE = "小駝峰";
+    public static final String UPPER_CAMEL_CASE = "大駝峰";
+    public static final String NONE = "無";
+
+    /** 緩存容量上限，超過後不再緩存新的名稱 */
+    private static final int MAX_CACHED = 50_000;
+
+    private static final Map<String, NameForms> CACHE = new ConcurrentHashMap<>();
+
+    private NameStyleConverter() {
+    }
+
+    /**
+     * 按指定格式轉換名稱
+     *
+     * @param name  字段名
+     * @param style 格式名稱，null 或未知格式時返回原名
+     * @return 轉換後的名稱，格式為「無」時返回 null
+     */
+    public static String format(String name, String style) {
+        if (style == null || name == null) {
+            return name;
+        }
+        switch (style) {
+            case NONE:
+                return null; // 不添加 JsonProperty / JsonAlias
+            case UPPER_CASE:
+                return forms(name).upperCase;
+            case LOWER_CASE:
+                return forms(name).lowerCase;
+            case UPPER_SNAKE_CASE:
+                return forms(name).upperSnakeCase;
+            case LOWER_CAMEL_CASE:
+                return forms(name).lowerCamelCase;
+            case UPPER_CAMEL_CASE:
+                return forms(name).upperCamelCase;
+            default:
+                return name;
+        }
+    }
+
+    private static NameForms forms(String name) {
+        NameForms forms = CACHE.get(name);
+        if (forms == null) {
+            forms = new NameForms(name);
+            if (CACHE.size() < MAX_CACHED) {
+                NameForms existing = CACHE.putIfAbsent(name, forms);
+                if (existing != null) {
+                    forms = existing;
+                }
+            }
+        }
+        return forms;
+    }
+
+    /**
+     * 單個名稱的所有格式
+     */
+    private static final class NameForms {
+        final String upperCase;
+        final String lowerCase;
+        final String upperSnakeCase;
+        final String lowerCamelCase;
+        final String upperCamelCase;
+
+        NameForms(String name) {
+            int length = name.length();
+            StringBuilder snake = new StringBuilder(length + 8);
+            // 以大寫字母為邊界的單詞，首個單詞另存小寫形式
+            StringBuilder caseWords = new StringBuilder(length);
+            String caseFirstWord = null;
+            int caseFirstEnd = 0;
+            // 以底線/空白為分隔的單詞，首個單詞另存小寫形式
+            StringBuilder delimitedWords = new StringBuilder(length);
+            String delimitedFirstWord = null;
+            int delimitedFirstEnd = 0;
+            boolean delimited = false;
+
+            int wordStart = 0;
+            int partStart = -1;
+            for (int i = 0; i <= length; i++) {
+                char ch = i < length ? name.charAt(i) : '_';
+
+                // 大寫字母處開始新單詞（第一個字符除外）
+                if (i == length || (i > 0 && Character.isUpperCase(ch))) {
+                    if (i > 0) {
+                        String word = name.substring(wordStart, i);
+                        appendCapitalized(caseWords, word);
+                        if (caseFirstWord == null) {
+                            caseFirstWord = Character.toLowerCase(word.charAt(0)) + word.substring(1).toLowerCase();
+                            caseFirstEnd = caseWords.length();
+                        }
+                    }
+                    if (i < length) {
+                        snake.append('_');
+                    }
+                    wordStart = i;
+                }
+                if (i < length) {
+                    snake.append(Character.toUpperCase(ch));
+                }
+
+                // 底線與空白分隔的單詞
+                if (ch == '_' || ch == ' ') {
+                    delimited |= i < length;
+                }
+                if (ch == '_' || isWhitespace(ch)) {
+                    if (partStart >= 0) {
+                        String part = name.substring(partStart, i).toLowerCase();
+                        appendCapitalized(delimitedWords, part);
+                        if (delimitedFirstWord == null) {
+                            // 以分隔符開頭時首個單詞為空，其後的單詞都首字母大寫
+                            boolean leading = partStart == 0;
+                            delimitedFirstWord = leading ? part : "";
+                            delimitedFirstEnd = leading ? delimitedWords.length() : 0;
+                        }
+                        partStart = -1;
+                    }
+                } else if (partStart < 0) {
+                    partStart = i;
+                }
+            }
+
+            StringBuilder words = delimited ? delimitedWords : caseWords;
+            String firstWord = delimited ? delimitedFirstWord : caseFirstWord;
+            int firstEnd = delimited ? delimitedFirstEnd : caseFirstEnd;
+
+            this.upperCase = name.toUpperCase();
+            this.lowerCase = name.toLowerCase();
+            this.upperSnakeCase = snake.toString();
+            if (firstWord == null) {
+                this.upperCamelCase = "";
+                this.lowerCamelCase = "";
+            } else {
+                String upperCamel = words.toString();
+                this.upperCamelCase = Character.toUpperCase(upperCamel.charAt(0)) + upperCamel.substring(1);
+                String lowerCamel = firstWord + upperCamel.substring(firstEnd);
+                this.lowerCamelCase = Character.toLowerCase(lowerCamel.charAt(0)) + lowerCamel.substring(1);
+            }
+        }
+
+        /**
+         * 追加首字母大寫、其餘小寫的單詞
+         */
+        private static void appendCapitalized(StringBuilder sb, String word) {
+            sb.append(Character.toUpperCase(word.charAt(0)))
+                    .append(word.substring(1).toLowerCase());
+        }
+
+        /**
+         * 與正則表達式 \s 相同的空白字符
+         */
+        private static boolean isWhitespace(char ch) {
+            return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 根據正則生成一個匹配的樣本字符串
+ * <p>
+ * 只處理報文規格中常見的寫法：字面量、轉義類（如 \d、\w）、字符類、分組與選擇（取第一個分支）
+ * 及數量詞（取最少次數）。字符類和轉義類從一組候選字符及字符類本身寫出的字符中挑選第一個匹配的字符。
+ * 結果會再以完整的正則驗證，無法解析或不匹配時改試純數字、純字母的字符串。
+ */
+final class RegexSample {
+    /** 字符類及轉義類的候選字符，按順序嘗試 */
+    private static final String CANDIDATES = "1Aa0Zz9 -_.,:/@#+";
+
+    /** 沒有長度限制時候選字符串的長度 */
+    private static final int DEFAULT_LENGTH = 8;
+
+    private final String regex;
+    private int pos;
+
+    private RegexSample(String regex) {
+        this.regex = regex;
+    }
+
+    /**
+     * 生成匹配正則的樣本
+     *
+     * @param regex     正則表達式
+     * @param maxLength 最大長度，0 表示不限制
+     * @return 匹配的樣本，無法生成時為 null
+     */
+    static String of(String regex, int maxLength) {
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+
+        List<String> candidates = new ArrayList<>();
+        try {
+            candidates.add(new RegexSample(regex).alternation());
+        } catch (RuntimeException e) {
+            // 不支持的寫法，只嘗試下面的候選
+        }
+        for (int length : new int[] { maxLength > 0 ? maxLength : DEFAULT_LENGTH, 1 }) {
+            candidates.add("1".repeat(length));
+            candidates.add("A".repeat(length));
+            candidates.add("a".repeat(length));
+        }
+
+        for (String candidate : candidates) {
+            if ((maxLength <= 0 || candidate.length() <= maxLength) && pattern.matcher(candidate).matches()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private String alternation() {
+        String first = sequence();
+        while (pos < regex.length() && regex.charAt(pos) == '|') {
+            pos++;
+            sequence();
+        }
+        return first;
+    }
+
+    private String sequence() {
+        StringBuilder sb = new StringBuilder();
+        while (pos < regex.length()) {
+            char c = regex.charAt(pos);
+            if (c == '|' || c == ')') {
+                break;
+            }
+            String atom = atom();
+            int count = quantifier();
+            for (int i = 0; i < count; i++) {
+                sb.append(atom);
+            }
+        }
+        return sb.toString();
+    }
+
+    private String atom() {
+        char c = regex.charAt(pos++);
+        switch (c) {
+            case '^':
+            case '$':
+                return "";
+            case '.':
+                return "a";
+            case '(':
+                return group();
+            case '[':
+                int end = classEnd(pos - 1);
+                String characterClass = regex.substring(pos - 1, end);
+                pos = end;
+                return pick(characterClass);
+            case '\\':
+                return escape();
+            default:
+                return String.valueOf(c);
+        }
+    }
+
+    private String group() {
+        boolean lookaround = false;
+        if (regex.startsWith("?", pos)) {
+            if (regex.startsWith("?:", pos)) {
+                pos += 2;
+            } else if (regex.startsWith("?=", pos) || regex.startsWith("?!", pos)) {
+                pos += 2;
+                lookaround = true;
+            } else if (regex.startsWith("?<=", pos) || regex.startsWith("?<!", pos)) {
+                pos += 3;
+                lookaround = true;
+            } else if (regex.startsWith("?<", pos)) {
+                pos = regex.indexOf('>', pos) + 1;
+            } else {
+                throw new IllegalArgumentException("不支持的分組: " + regex);
+            }
+        }
+        String inner = alternation();
+        if (pos >= regex.length() || regex.charAt(pos) != ')') {
+            throw new IllegalArgumentException("分組未閉合: " + regex);
+        }
+        pos++;
+        return lookaround ? "" : inner;
+    }
+
+    private String escape() {
+        char c = regex.charAt(pos++);
+        switch (c) {
+            case 'b':
+            case 'B':
+            case 'A':
+            case 'z':
+            case 'Z':
+            case 'G':
+                return "";
+            case 'p':
+            case 'P':
+                int close = regex.indexOf('}', pos);
+                String property = regex.substring(pos - 2, close + 1);
+                pos = close + 1;
+                return pick(property);
+            default:
+                return Character.isLetterOrDigit(c) ? pick("\\" + c) : String.valueOf(c);
+        }
+    }
+
+    /**
+     * 字符類的結束位置（右方括號之後），支持嵌套的字符類
+     */
+    private int classEnd(int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        int depth = 1;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        throw new IllegalArgumentException("字符類未閉合: " + regex);
+    }
+
+    /**
+     * 數量詞取最少次數，沒有數量詞時為 1
+     */
+    private int quantifier() {
+        if (pos >= regex.length()) {
+            return 1;
+        }
+        int count;
+        switch (regex.charAt(pos)) {
+            case '*':
+            case '?':
+                count = 0;
+                pos++;
+                break;
+            case '+':
+                count = 1;
+                pos++;
+                break;
+            case '{':
+                int close = regex.indexOf('}', pos);
+                String bounds = regex.substring(pos + 1, close);
+                int comma = bounds.indexOf(',');
+                count = Integer.parseInt((comma >= 0 ? bounds.substring(0, comma) : bounds).trim());
+                pos = close + 1;
+                break;
+            default:
+                return 1;
+        }
+        // 惰性和佔有量詞的後綴
+        if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+')) {
+            pos++;
+        }
+        return count;
+    }
+
+    /**
+     * 先嘗試固定的候選字符，再嘗試字符類中寫出的字符（如 [YN] 的 Y）
+     */
+    private static String pick(String characterClass) {
+        Pattern pattern = Pattern.compile(characterClass);
+        String candidates = CANDIDATES + characterClass;
+        for (int i = 0; i < candidates.length(); i++) {
+            String candidate = String.valueOf(candidates.charAt(i));
+            if (pattern.matcher(candidate).matches()) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("沒有匹配的候選字符: " + characterClass);
+    }
+}
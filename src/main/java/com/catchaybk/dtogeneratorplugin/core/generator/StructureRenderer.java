@@ -0,0 +1,194 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 結構樹渲染器
+ * 使用 fork-join 並行遍歷結構樹，將每個結構渲染為Java源碼
+ * <p>
+ * 渲染只涉及字符串處理，不需要任何IDE鎖，因此可以在寫入操作開始前完成，
+ * 寫入階段只需建立文件。ClassGenerator 不保存可變狀態，可安全地被多個線程共用。
+ * 提供伴生類生成器時，每個類的伴生類（驗證器、JSON編解碼器等）緊跟在該類之後一併渲染。
+ */
+public class StructureRenderer {
+
+    /**
+     * 渲染進度監聽器
+     * 回調在 fork-join 工作線程中執行，實現需保證線程安全
+     */
+    public interface ProgressListener {
+        ProgressListener NONE = (className, renderedCount, totalCount) -> {
+        };
+
+        /**
+         * 每完成一個類的渲染時調用
+         *
+         * @param className     剛完成的類名
+         * @param renderedCount 已完成的類數量
+         * @param totalCount    類的總數量
+         */
+        void onClassRendered(String className, int renderedCount, int totalCount);
+
+        /**
+         * 是否已取消，取消後尚未開始的類不再渲染
+         */
+        default boolean isCanceled() {
+            return false;
+        }
+    }
+
+    private final ClassGenerator generator;
+    private final List<CompanionGenerator> companionGenerators;
+    private final ForkJoinPool pool;
+
+    public StructureRenderer(ClassGenerator generator) {
+        this(generator, List.of(), ForkJoinPool.commonPool());
+    }
+
+    public StructureRenderer(ClassGenerator generator, ForkJoinPool pool) {
+        this(generator, List.of(), pool);
+    }
+
+    /**
+     * @param companionGenerators 伴生類生成器，為空時只生成DTO
+     */
+    public StructureRenderer(ClassGenerator generator, List<CompanionGenerator> companionGenerators) {
+        this(generator, companionGenerators, ForkJoinPool.commonPool());
+    }
+
+    public StructureRenderer(ClassGenerator generator, List<CompanionGenerator> companionGenerators,
+                             ForkJoinPool pool) {
+        this.generator = generator;
+        this.companionGenerators = List.copyOf(companionGenerators);
+        this.pool = pool;
+    }
+
+    /**
+     * 渲染整棵結構樹
+     *
+     * @param root 主結構
+     * @return 類名到源碼的映射，按結構樹的前序遍歷排列；類名重複時以後出現的為準
+     */
+    public Map<String, String> render(Structure root) {
+        return render(root, ProgressListener.NONE);
+    }
+
+    /**
+     * 渲染整棵結構樹並回報進度
+     *
+     * @param root     主結構
+     * @param listener 進度監聽器
+     * @return 類名到源碼的映射，按結構樹的前序遍歷排列；被取消時只包含已完成渲染的類
+     */
+    public Map<String, String> render(Structure root, ProgressListener listener) {
+        RenderContext context = new RenderContext(generator, companionGenerators, listener, countStructures(root));
+        pool.invoke(new RenderTask(root, context));
+
+        Map<String, String> result = new LinkedHashMap<>();
+        collectInOrder(root, context.rendered, context.companions, result);
+        return result;
+    }
+
+    private int countStructures(Structure structure) {
+        int count = 1;
+        for (Structure childStructure : structure.getChildStructures()) {
+            count += countStructures(childStructure);
+        }
+        return count;
+    }
+
+    private void collectInOrder(Structure structure, Map<Structure, String> rendered,
+                                Map<Structure, String[]> companions, Map<String, String> result) {
+        String source = rendered.get(structure);
+        if (source != null) {
+            result.put(structure.getClassName(), source);
+        }
+        String[] companionSources = companions.get(structure);
+        if (companionSources != null) {
+            for (int i = 0; i < companionSources.length; i++) {
+                result.put(structure.getClassName() + companionGenerators.get(i).getSuffix(), companionSources[i]);
+            }
+        }
+        for (Structure childStructure : structure.getChildStructures()) {
+            collectInOrder(childStructure, rendered, companions, result);
+        }
+    }
+
+    /**
+     * 同一次渲染中所有任務共用的狀態
+     */
+    private static class RenderContext {
+        final ClassGenerator generator;
+        final List<CompanionGenerator> companionGenerators;
+        final ProgressListener listener;
+        final int totalCount;
+        final AtomicInteger renderedCount = new AtomicInteger();
+        final Map<Structure, String> rendered = new ConcurrentHashMap<>();
+        final Map<Structure, String[]> companions = new ConcurrentHashMap<>();
+
+        RenderContext(ClassGenerator generator, List<CompanionGenerator> companionGenerators,
+                      ProgressListener listener, int totalCount) {
+            this.generator = generator;
+            this.companionGenerators = companionGenerators;
+            this.listener = listener;
+            this.totalCount = totalCount;
+        }
+    }
+
+    /**
+     * 渲染單個結構，並為每個子結構派生子任務
+     */
+    private static class RenderTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Structure structure;
+        private final RenderContext context;
+
+        RenderTask(Structure structure, RenderContext context) {
+            this.structure = structure;
+            this.context = context;
+        }
+
+        @Override
+        protected void compute() {
+            if (context.listener.isCanceled()) {
+                return;
+            }
+
+            List<RenderTask> childTasks = new ArrayList<>(structure.getChildStructures().size());
+            for (Structure childStructure : structure.getChildStructures()) {
+                childTasks.add(new RenderTask(childStructure, context));
+            }
+            for (RenderTask childTask : childTasks) {
+                childTask.fork();
+            }
+
+            context.rendered.put(structure,
+                    context.generator.generateClass(structure.getClassName(), structure.getFields()));
+            List<CompanionGenerator> companionGenerators = context.companionGenerators;
+            if (!companionGenerators.isEmpty()) {
+                String[] companionSources = new String[companionGenerators.size()];
+                for (int i = 0; i < companionSources.length; i++) {
+                    companionSources[i] = companionGenerators.get(i)
+                            .generate(structure.getClassName(), structure.getFields());
+                }
+                context.companions.put(structure, companionSources);
+            }
+            context.listener.onClassRendered(structure.getClassName(),
+                    context.renderedCount.incrementAndGet(), context.totalCount);
+
+            for (RenderTask childTask : childTasks) {
+                childTask.join();
+            }
+        }
+    }
+}
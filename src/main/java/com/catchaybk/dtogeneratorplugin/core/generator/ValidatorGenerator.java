@@ -0,0 +1,247 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 驗證器生成器
+ * 為每個DTO生成同包的 XxxValidator，以直接的判斷代替 Bean Validation 的反射驗證
+ * <p>
+ * 生成的檢查與字段上的驗證註解一致：
+ * 1. NotBlank：為 null 或去除首尾空白後為空
+ * 2. NotNull：為 null（基本類型不會為 null，不檢查）
+ * 3. Size：字符串長度（List 時為元素數量）超過上限
+ * 4. Digits：去除末尾的 0 後整數位或小數位超過上限，基本整數類型直接與最大值比較
+ * 5. Pattern：不完整匹配正則，正則在類加載時編譯一次並保存在 static final 字段中
+ * 6. 生成 @Valid 的 List 字段逐個元素調用子類的驗證器
+ * <p>
+ * 錯誤消息與註解中的消息相同，按字段順序收集到列表中
+ */
+public class ValidatorGenerator implements CompanionGenerator {
+    /** 驗證器類名的後綴 */
+    public static final String SUFFIX = "Validator";
+
+    private static final int BASE_SIZE = 768;
+    private static final int FIELD_SIZE = 256;
+
+    private final String packageName;
+    private final UserConfig config;
+    private final ValidationMessageTemplates messages;
+
+    public ValidatorGenerator(String packageName, UserConfig config) {
+        this.packageName = packageName;
+        this.config = config;
+        this.messages = config.validationMessages;
+    }
+
+    @Override
+    public String getSuffix() {
+        return SUFFIX;
+    }
+
+    @Override
+    public int estimateSize(List<Field> fields) {
+        return BASE_SIZE + FIELD_SIZE * fields.size();
+    }
+
+    @Override
+    public void generate(String className, List<Field> fields, Appendable out) throws IOException {
+        if (packageName != null && !packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        generateImports(out, fields);
+
+        out.append("/**\n");
+        out.append(" * {@link ").append(className).append("} 的驗證器\n");
+        out.append(" * 檢查內容與字段上的驗證註解一致，不使用反射\n");
+        if (config.author != null && !config.author.isEmpty()) {
+            out.append(" * @author ").append(config.author).append("\n");
+        }
+        out.append(" */\n");
+        out.append("public final class ").append(className).append(SUFFIX).append(" {\n");
+
+        boolean hasPattern = false;
+        for (Field field : fields) {
+            if (field.hasPatternConstraint()) {
+                if (!hasPattern) {
+                    out.append("\n");
+                    hasPattern = true;
+                }
+                out.append("    private static final Pattern ").append(patternConstant(field))
+                        .append(" = Pattern.compile(\"").append(field.getPattern()).append("\");\n");
+            }
+        }
+
+        out.append("\n    private ").append(className).append(SUFFIX).append("() {\n    }\n\n");
+
+        out.append("    /**\n");
+        out.append("     * 驗證對象\n");
+        out.append("     *\n");
+        out.append("     * @param dto 要驗證的對象\n");
+        out.append("     * @return 錯誤消息，驗證通過時為空列表\n");
+        out.append("     */\n");
+        out.append("    public static List<String> validate(").append(className).append(" dto) {\n");
+        out.append("        List<String> errors = new ArrayList<>();\n");
+        out.append("        validate(dto, errors);\n");
+        out.append("        return errors;\n");
+        out.append("    }\n\n");
+
+        out.append("    /**\n");
+        out.append("     * 驗證對象並將錯誤消息加入列表\n");
+        out.append("     *\n");
+        out.append("     * @param dto    要驗證的對象\n");
+        out.append("     * @param errors 錯誤消息列表\n");
+        out.append("     */\n");
+        out.append("    public static void validate(").append(className).append(" dto, List<String> errors) {\n");
+        for (Field field : fields) {
+            generateChecks(out, field);
+        }
+        out.append("    }\n");
+
+        if (fields.stream().anyMatch(this::hasDecimalDigits)) {
+            out.append("\n");
+            out.append("    /**\n");
+            out.append("     * 與 Digits 註解相同，去除末尾的 0 後比較整數位和小數位\n");
+            out.append("     */\n");
+            out.append("    private static boolean exceedsDigits(BigDecimal value, int integer, int fraction) {\n");
+            out.append("        BigDecimal stripped = value.stripTrailingZeros();\n");
+            out.append("        int fractionLength = Math.max(stripped.scale(), 0);\n");
+            out.append("        return stripped.precision() - stripped.scale() > integer || fractionLength > fraction;\n");
+            out.append("    }\n");
+        }
+        out.append("}\n");
+    }
+
+    private void generateImports(Appendable out, List<Field> fields) throws IOException {
+        Set<String> imports = new HashSet<>();
+        imports.add("java.util.ArrayList");
+        imports.add("java.util.List");
+        for (Field field : fields) {
+            if (field.hasPatternConstraint()) {
+                imports.add("java.util.regex.Pattern");
+            }
+            if (hasDecimalDigits(field)) {
+                imports.add("java.math.BigDecimal");
+            }
+            // 共用類只在以相同伴生類選項生成且伴生類仍存在時才會被引用（見 StructureDeduplicator），其伴生類必定存在
+            if (isCascaded(field) && field.getChildClassImport() != null) {
+                imports.add(field.getChildClassImport());
+                imports.add(field.getChildClassImport() + SUFFIX);
+            }
+        }
+        for (String imp : imports.stream().sorted().toArray(String[]::new)) {
+            out.append("import ").append(imp).append(";\n");
+        }
+        out.append("\n");
+    }
+
+    private void generateChecks(Appendable out, Field field) throws IOException {
+        String value = "dto." + (config.isRecordOutput() ? field.getCamelCaseName() : field.getGetterName()) + "()";
+        String name = field.getCamelCaseName();
+        String comments = field.getComments();
+
+        if (field.hasPatternConstraint()) {
+            StringBuilder message = new StringBuilder();
+            messages.appendPattern(message, name, comments);
+            appendCheck(out, value + " != null && !" + patternConstant(field) + ".matcher(" + value + ").matches()",
+                    message);
+        }
+
+        if (field.isRequired() && field.isNullable()) {
+            StringBuilder message = new StringBuilder();
+            if (field.isStringType()) {
+                messages.appendNotBlank(message, name, comments);
+                appendCheck(out, isPlainString(field)
+                        ? value + " == null || " + value + ".trim().isEmpty()"
+                        : value + " == null", message);
+            } else {
+                messages.appendNotNull(message, name, comments);
+                appendCheck(out, value + " == null", message);
+            }
+        }
+
+        if (field.hasSizeConstraint()) {
+            StringBuilder message = new StringBuilder();
+            messages.appendSize(message, name, comments, field.getSize());
+            appendCheck(out, value + " != null && " + value + (field.isList() ? ".size()" : ".length()")
+                    + " > " + field.getSize(), message);
+        }
+
+        if (field.hasDigitsConstraint()) {
+            StringBuilder message = new StringBuilder();
+            String integer = field.getDigitsInteger();
+            String fraction = field.getDigitsFraction();
+            messages.appendDigits(message, name, comments, integer, fraction);
+            if (field.isPrimitiveInteger()) {
+                String max = maxValue(Integer.parseInt(integer));
+                appendCheck(out, value + " > " + max + " || " + value + " < -" + max, message);
+            } else {
+                appendCheck(out, value + " != null && exceedsDigits(" + value + ", " + integer + ", " + fraction
+                        + ")", message);
+            }
+        }
+
+        if (isCascaded(field)) {
+            String childClassName = field.getChildClassName();
+            out.append("        if (").append(value).append(" != null) {\n");
+            out.append("            for (").append(childClassName).append(" element : ").append(value).append(") {\n");
+            out.append("                if (element != null) {\n");
+            out.append("                    ").append(childClassName).append(SUFFIX)
+                    .append(".validate(element, errors);\n");
+            out.append("                }\n");
+            out.append("            }\n");
+            out.append("        }\n");
+        }
+    }
+
+    private void appendCheck(Appendable out, String condition, CharSequence message) throws IOException {
+        out.append("        if (").append(condition).append(") {\n");
+        out.append("            errors.add(\"").append(message).append("\");\n");
+        out.append("        }\n");
+    }
+
+    /**
+     * BigDecimal 的 Digits 檢查需要 exceedsDigits 輔助方法
+     */
+    private boolean hasDecimalDigits(Field field) {
+        return field.hasDigitsConstraint() && !field.isPrimitiveInteger();
+    }
+
+    /**
+     * 指定位數的最大整數，如 3 位為 999，位數超過 long 的範圍時取 Long.MAX_VALUE 不再限制
+     */
+    private static String maxValue(int digits) {
+        if (digits >= 19) {
+            return "Long.MAX_VALUE";
+        }
+        if (digits == 0) {
+            return "0";
+        }
+        StringBuilder sb = new StringBuilder(digits + 1);
+        for (int i = 0; i < digits; i++) {
+            sb.append('9');
+        }
+        return sb.append(digits > 9 ? "L" : "").toString();
+    }
+
+    /**
+     * 只有生成 @Valid 且元素為子結構的 List 才級聯驗證
+     */
+    private boolean isCascaded(Field field) {
+        return field.needsCascadeValidation() && field.isList() && field.getChildClassName() != null;
+    }
+
+    private boolean isPlainString(Field field) {
+        return "String".equals(field.getFormattedDataType());
+    }
+
+    private String patternConstant(Field field) {
+        return field.formatName(NameStyleConverter.UPPER_SNAKE_CASE) + "_PATTERN";
+    }
+}
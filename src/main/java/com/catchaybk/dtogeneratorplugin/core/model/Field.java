@@ -1,13 +1,12 @@
 package com.catchaybk.dtogeneratorplugin.core.model;
 
-import com.catchaybk.dtogeneratorplugin.core.config.FieldConfig;
-import com.catchaybk.dtogeneratorplugin.intellij.ui.dialog.ValidationMessageSettingDialog;
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
+import com.catchaybk.dtogeneratorplugin.core.generator.NameStyleConverter;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -23,6 +22,9 @@ import java.util.Set;
 @Getter
 @Setter
 public class Field {
+    /** 可使用 Digits 的基本整數類型 */
+    private static final Set<String> PRIMITIVE_INTEGER_TYPES = Set.of("int", "long", "short", "byte");
+
     // 字段基本屬性
     private final boolean isJava17; // 是否使用 Java 17
     private int level; // 字段層級
@@ -33,8 +35,12 @@ public class Field {
     private String comments; // 註解說明
     private String pattern; // 正則表達式模式
     private String childClassName; // 子類名稱（用於複雜類型）
+    private String childClassImport; // 子類的完整類名（引用其他包中已有的類時）
     private boolean isObject; // 是否為對象類型
     private String requiredString; // 必填標記字符串
+    private boolean primitiveTypes; // 必填的數字和布爾字段是否使用基本類型
+    @Setter(AccessLevel.NONE)
+    private TypeDescriptor type; // 數據類型描述，隨 dataType 更新
 
     /**
      * 創建字段實例
@@ -52,33 +58,23 @@ public class Field {
             boolean required, String comments, String pattern, boolean isJava17) {
         this.level = level;
         this.dataName = dataName;
-        this.dataType = dataType;
+        setDataType(dataType);
         this.size = size;
         this.required = required;
         this.comments = comments;
         this.pattern = pattern;
         this.isJava17 = isJava17;
-        this.isObject = !isPrimitiveType(dataType);
+        this.isObject = !type.isPrimitive();
     }
 
     /**
-     * 判斷給定類型是否為原始類型
-     * 支持處理泛型類型，如 List<String>
+     * 設置數據類型，同時更新類型描述
      *
-     * @param type 要判斷的類型
-     * @return 如果是原始類型返回true
+     * @param dataType 數據類型
      */
-    private boolean isPrimitiveType(String type) {
-        if (type == null)
-            return false;
-
-        // 處理泛型類型，例如 List<String>
-        if (type.toLowerCase().trim().startsWith("list<")) {
-            String genericType = type.substring(type.indexOf('<') + 1, type.lastIndexOf('>')).trim();
-            return isPrimitiveOrWrapperType(genericType);
-        }
-
-        return isPrimitiveOrWrapperType(type);
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+        this.type = TypeDescriptor.of(dataType);
     }
 
     /**
@@ -92,7 +88,7 @@ public class Field {
      * @return 如果是原始類型或包裝類型返回true
      */
     public boolean isPrimitiveOrWrapperType(String type) {
-        return FieldConfig.PRIMITIVE_AND_WRAPPER_TYPES.contains(type.toLowerCase());
+        return TypeDescriptor.isPrimitiveOrWrapperType(type);
     }
 
     /**
@@ -104,11 +100,7 @@ public class Field {
      * @return 如果是List類型返回true
      */
     public boolean isList() {
-        if (dataType == null)
-            return false;
-        String type = dataType.trim();
-        return type.equalsIgnoreCase("list") ||
-                type.toLowerCase().startsWith("list<");
+        return type.isList();
     }
 
     /**
@@ -121,21 +113,7 @@ public class Field {
      * @return 如果是對象類型返回true
      */
     public boolean isObject() {
-        if (dataType == null)
-            return false;
-
-        String type = dataType.trim();
-
-        if (type.equalsIgnoreCase("list")) {
-            return true; // 純List類型視為對象
-        }
-
-        if (type.startsWith("List<") || type.startsWith("list<")) {
-            String genericType = type.substring(type.indexOf('<') + 1, type.lastIndexOf('>')).trim();
-            return !isPrimitiveOrWrapperType(genericType);
-        }
-
-        return type.equals("Object") || (!isPrimitiveType(type) && !isList());
+        return type.isObject();
     }
 
     /**
@@ -174,15 +152,56 @@ public class Field {
         if (childClassName != null) {
             return isList() ? "List<" + childClassName + ">" : childClassName;
         }
-        return formatTypeName(dataType);
+        if (usesPrimitiveType()) {
+            return type.getPrimitiveName();
+        }
+        return type.getFormattedName();
+    }
+
+    /**
+     * 是否以基本類型聲明
+     * 啟用基本類型選項時，必填的數字和布爾字段使用基本類型，其 List 使用基本類型數組（如 List<Integer> -> int[]）
+     */
+    public boolean usesPrimitiveType() {
+        return primitiveTypes && required && childClassName == null && type.getPrimitiveName() != null;
+    }
+
+    /**
+     * 字段值能否為 null，基本類型（不含基本類型數組）不能
+     */
+    public boolean isNullable() {
+        return !usesPrimitiveType() || isList();
+    }
+
+    /**
+     * Lombok 生成的 getter 方法名
+     * boolean 字段為 isXxx，字段名本身已是 isXxx 形式時不再加前綴
+     */
+    public String getGetterName() {
+        if (isPrimitiveBoolean()) {
+            return hasBooleanPrefix() ? getCamelCaseName() : "is" + getCapitalizedName();
+        }
+        return "get" + getCapitalizedName();
     }
 
-    private String formatTypeName(String typeName) {
-        if (typeName == null || typeName.isEmpty()) {
-            return typeName;
+    /**
+     * Lombok 生成的 setter 方法名
+     * isXxx 形式的 boolean 字段為 setXxx
+     */
+    public String getSetterName() {
+        if (isPrimitiveBoolean() && hasBooleanPrefix()) {
+            return "set" + getCamelCaseName().substring(2);
         }
-        String lowercaseType = typeName.toLowerCase().trim();
-        return FieldConfig.TYPE_FORMAT_MAP.getOrDefault(lowercaseType, typeName);
+        return "set" + getCapitalizedName();
+    }
+
+    private boolean isPrimitiveBoolean() {
+        return "boolean".equals(getFormattedDataType());
+    }
+
+    private boolean hasBooleanPrefix() {
+        String name = getCamelCaseName();
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
     }
 
     public String getCapitalizedName() {
@@ -192,171 +211,106 @@ public class Field {
         return dataName.substring(0, 1).toUpperCase() + dataName.substring(1);
     }
 
+    /**
+     * 獲取字段聲明和驗證註解實際用到的導入
+     * 與 getFormattedDataType 和 getValidationAnnotations 的輸出一一對應，不包含未使用的導入
+     *
+     * @return 完整類名集合
+     */
     public Set<String> getRequiredImports() {
-        Set<String> imports = new HashSet<>();
-        String validationPackage = isJava17 ? "jakarta.validation.constraints" : "javax.validation.constraints";
-
-        if (dataType != null) {
-            String lowerType = dataType.toLowerCase();
-            String importPath = FieldConfig.TYPE_IMPORT_MAP.get(
-                    lowerType.startsWith("list") ? "List"
-                            : Character.toUpperCase(lowerType.charAt(0)) + lowerType.substring(1));
-
-            if (importPath != null) {
-                imports.add(importPath);
-            }
-            if (lowerType.contains("date")) {
-                imports.add("java.util.Date");
-            } else if (lowerType.contains("timestamp")) {
-                imports.add("java.sql.Timestamp");
-            } else if (lowerType.equals("bigdecimal") || lowerType.equals("decimal")) {
-                imports.add("java.math.BigDecimal");
-            }
-
-            // 添加 Pattern 相關的導入
-            if (pattern != null && !pattern.isEmpty()) {
-                imports.add(validationPackage + ".Pattern");
-            }
-
-            // 添加其他驗證註解的導入
-            if (required) {
-                imports.add(validationPackage + ".NotNull");
-            }
+        Set<String> imports = new HashSet<>(childClassName != null || usesPrimitiveType()
+                ? TypeDescriptor.collectImports(getFormattedDataType())
+                : type.getImports());
+        if (childClassImport != null) {
+            imports.add(childClassImport);
+        }
 
-            // 添加 Digits 註解的導入
-            if ((lowerType.equals("decimal") || lowerType.equals("bigdecimal")) && !size.isEmpty()) {
-                imports.add(validationPackage + ".Digits");
-            }
+        String validationPackage = isJava17 ? "jakarta.validation" : "javax.validation";
+        if (hasPatternConstraint()) {
+            imports.add(validationPackage + ".constraints.Pattern");
+        }
+        if (required && isNullable()) {
+            imports.add(validationPackage + (isStringType() ? ".constraints.NotBlank" : ".constraints.NotNull"));
+        }
+        if (hasSizeConstraint()) {
+            imports.add(validationPackage + ".constraints.Size");
+        }
+        if (hasDigitsConstraint()) {
+            imports.add(validationPackage + ".constraints.Digits");
+        }
+        if (needsCascadeValidation()) {
+            imports.add(validationPackage + ".Valid");
         }
         return imports;
     }
 
-    public void setRequiredString(String requiredString) {
-        this.requiredString = requiredString;
-        this.required = "Y".equalsIgnoreCase(requiredString); // 只有當值為 "Y" 時才設為 true
+    /**
+     * 是否為字符串類型，必填時使用 NotBlank 而非 NotNull
+     */
+    public boolean isStringType() {
+        return type.isStringType();
     }
 
-    public String formatName(String style) {
-        if (style == null || style.equals("原始格式")) {
-            return dataName;
-        }
-
-        switch (style) {
-            case "全大寫":
-                return dataName.toUpperCase();
-            case "全小寫":
-                return dataName.toLowerCase();
-            case "大寫底線":
-                return toUpperSnakeCase(dataName);
-            case "小駝峰":
-                String smallCamel = toCamelCase(dataName, false);
-                // 確保第一個字母小寫
-                return Character.toLowerCase(smallCamel.charAt(0)) + smallCamel.substring(1);
-            case "大駝峰":
-                String bigCamel = toCamelCase(dataName, true);
-                // 確保第一個字母大寫
-                return Character.toUpperCase(bigCamel.charAt(0)) + bigCamel.substring(1);
-            case "無":
-                return null; // 不添加 JsonAlias
-            default:
-                return dataName;
-        }
+    public boolean hasPatternConstraint() {
+        return pattern != null && !pattern.isEmpty();
     }
 
-    private String toUpperSnakeCase(String input) {
-        if (input == null || input.isEmpty()) {
-            return input;
-        }
-
-        // 先處理駝峰命名的情況
-        StringBuilder result = new StringBuilder();
-        result.append(Character.toUpperCase(input.charAt(0)));
-
-        for (int i = 1; i < input.length(); i++) {
-            char currentChar = input.charAt(i);
-            if (Character.isUpperCase(currentChar)) {
-                result.append('_').append(currentChar);
-            } else {
-                result.append(Character.toUpperCase(currentChar));
-            }
-        }
-
-        return result.toString();
+    public boolean hasSizeConstraint() {
+        return isStringType() && !size.isEmpty();
     }
 
     /**
-     * 將字符串轉換為駝峰命名格式
-     * 處理以下情況：
-     * 1. 已經是駝峰：ProposalEntityList -> proposalEntityList/ProposalEntityList
-     * 2. 底線分隔：proposal_entity_list -> proposalEntityList/ProposalEntityList
-     * 3. 空格分隔：proposal entity list -> proposalEntityList/ProposalEntityList
-     *
-     * @param input           輸入字符串
-     * @param capitalizeFirst 是否首字母大寫
-     * @return 駝峰命名格式的字符串
+     * BigDecimal 有長度時使用 Digits；基本整數類型的長度為純數字時也使用，代替不再適用的 NotNull
      */
-    private String toCamelCase(String input, boolean capitalizeFirst) {
-        if (input == null || input.isEmpty()) {
-            return input;
-        }
-
-        // 1. 先處理底線和空格分隔的情況
-        if (input.contains("_") || input.contains(" ")) {
-            String[] parts = input.split("[_\\s]+");
-            StringBuilder camelCase = new StringBuilder();
-
-            for (int i = 0; i < parts.length; i++) {
-                String part = parts[i].toLowerCase();
-                if (i == 0 && !capitalizeFirst) {
-                    camelCase.append(part);
-                } else {
-                    camelCase.append(Character.toUpperCase(part.charAt(0)))
-                            .append(part.substring(1).toLowerCase());
-                }
-            }
-            return camelCase.toString();
+    public boolean hasDigitsConstraint() {
+        if (type.isDecimal()) {
+            return !size.isEmpty();
         }
+        return isPrimitiveInteger() && !size.isEmpty() && size.chars().allMatch(Character::isDigit);
+    }
 
-        // 2. 處理已經是駝峰命名的情況
-        StringBuilder result = new StringBuilder();
-        StringBuilder currentWord = new StringBuilder();
+    /**
+     * 是否為 int、long、short 或 byte
+     */
+    public boolean isPrimitiveInteger() {
+        return PRIMITIVE_INTEGER_TYPES.contains(getFormattedDataType());
+    }
 
-        for (int i = 0; i < input.length(); i++) {
-            char ch = input.charAt(i);
+    /**
+     * Digits 的整數位數，長度為「整數位,小數位」格式時取逗號之前的部分
+     */
+    public String getDigitsInteger() {
+        int comma = size.indexOf(',');
+        return comma >= 0 ? size.substring(0, comma) : size;
+    }
 
-            // 檢測單詞邊界
-            if (i > 0 && Character.isUpperCase(ch)) {
-                // 完成前一個單詞
-                if (currentWord.length() > 0) {
-                    appendWord(result, currentWord.toString(), result.length() == 0 && !capitalizeFirst);
-                    currentWord = new StringBuilder();
-                }
-            }
-            currentWord.append(ch);
-        }
+    /**
+     * Digits 的小數位數，長度沒有逗號時為 0
+     */
+    public String getDigitsFraction() {
+        int comma = size.indexOf(',');
+        return comma >= 0 ? size.substring(comma + 1) : "0";
+    }
 
-        // 處理最後一個單詞
-        if (currentWord.length() > 0) {
-            appendWord(result, currentWord.toString(), result.length() == 0 && !capitalizeFirst);
-        }
+    /**
+     * 是否需要 @Valid 級聯驗證（元素不是基本類型的List）
+     */
+    public boolean needsCascadeValidation() {
+        return type.isCascadeValidation();
+    }
 
-        return result.toString();
+    public void setRequiredString(String requiredString) {
+        this.requiredString = requiredString;
+        this.required = "Y".equalsIgnoreCase(requiredString); // 只有當值為 "Y" 時才設為 true
     }
 
     /**
-     * 添加單詞到結果中
+     * 按指定格式轉換字段名，用於 JsonProperty / JsonAlias
+     *
+     * @see NameStyleConverter#format(String, String)
      */
-    private void appendWord(StringBuilder result, String word, boolean toLowerCase) {
-        if (word.length() == 0)
-            return;
-
-        if (toLowerCase) {
-            result.append(Character.toLowerCase(word.charAt(0)))
-                    .append(word.substring(1).toLowerCase());
-        } else {
-            result.append(Character.toUpperCase(word.charAt(0)))
-                    .append(word.substring(1).toLowerCase());
-        }
+    public String formatName(String style) {
+        return NameStyleConverter.format(dataName, style);
     }
 
     /**
@@ -367,59 +321,65 @@ public class Field {
      * 3. Size 註解（如果是字符串且有長度限制）
      * 4. Digits 註解（如果是數字類型且有大小限制）
      *
+     * @param messages 驗證消息模板
      * @return 驗證註解字符串
      */
-    public String getValidationAnnotations() {
-        List<String> annotations = new ArrayList<>();
+    public String getValidationAnnotations(ValidationMessageTemplates messages) {
+        StringBuilder sb = new StringBuilder(160);
+        String name = getCamelCaseName();
 
         // 添加 Pattern 註解
-        if (pattern != null && !pattern.isEmpty()) {
-            annotations.add(String.format("@Pattern(regexp = \"%s\", message = \"%s\")",
-                    pattern,
-                    ValidationMessageSettingDialog.getPatternMessage(getCamelCaseName(), comments)));
+        if (hasPatternConstraint()) {
+            startAnnotation(sb).append("@Pattern(regexp = \"").append(pattern).append("\", message = \"");
+            messages.appendPattern(sb, name, comments);
+            sb.append("\")");
         }
 
-        // 添加 NotNull/NotBlank 註解
-        if (required) {
-            if (dataType != null && dataType.toLowerCase().contains("string")) {
-                annotations.add(String.format("@NotBlank(message = \"%s\")",
-                        ValidationMessageSettingDialog.getNotBlankMessage(getCamelCaseName(), comments)));
+        // 添加 NotNull/NotBlank 註解（基本類型不會為 null）
+        if (required && isNullable()) {
+            if (isStringType()) {
+                startAnnotation(sb).append("@NotBlank(message = \"");
+                messages.appendNotBlank(sb, name, comments);
             } else {
-                annotations.add(String.format("@NotNull(message = \"%s\")",
-                        ValidationMessageSettingDialog.getNotNullMessage(getCamelCaseName(), comments)));
+                startAnnotation(sb).append("@NotNull(message = \"");
+                messages.appendNotNull(sb, name, comments);
             }
+            sb.append("\")");
         }
 
         // 添加 Size 註解（用於字符串類型）
-        if (dataType != null && dataType.toLowerCase().contains("string") && !size.isEmpty()) {
-            annotations.add(String.format("@Size(max = %s, message = \"%s\")",
-                    size,
-                    ValidationMessageSettingDialog.getSizeMessage(getCamelCaseName(), comments, size)));
+        if (hasSizeConstraint()) {
+            startAnnotation(sb).append("@Size(max = ").append(size).append(", message = \"");
+            messages.appendSize(sb, name, comments, size);
+            sb.append("\")");
         }
 
-        // 添加 Digits 註解（用於數字類型）
-        if (dataType != null && (dataType.equalsIgnoreCase("decimal") ||
-                dataType.equalsIgnoreCase("bigdecimal")) && !size.isEmpty()) {
-            String[] parts = size.split(",");
-            String integer = parts[0];
-            String fraction = parts.length > 1 ? parts[1] : "0";
-            annotations.add(String.format("@Digits(integer = %s, fraction = %s, message = \"%s\")",
-                    integer, fraction,
-                    ValidationMessageSettingDialog.getDigitsMessage(getCamelCaseName(), comments, size)));
+        // 添加 Digits 註解（用於 BigDecimal 及基本整數類型）
+        if (hasDigitsConstraint()) {
+            String integer = getDigitsInteger();
+            String fraction = getDigitsFraction();
+            startAnnotation(sb).append("@Digits(integer = ").append(integer)
+                    .append(", fraction = ").append(fraction).append(", message = \"");
+            messages.appendDigits(sb, name, comments, integer, fraction);
+            sb.append("\")");
         }
 
         // 添加 Valid 註解（用於包含需要驗證對象的List）
-        if (isList() && dataType != null) {
-            String genericType = "";
-            if (dataType.contains("<") && dataType.contains(">")) {
-                genericType = dataType.substring(dataType.indexOf("<") + 1, dataType.lastIndexOf(">")).trim();
-            }
-            if (!isPrimitiveOrWrapperType(genericType)) {
-                annotations.add("@Valid");
-            }
+        if (needsCascadeValidation()) {
+            startAnnotation(sb).append("@Valid");
         }
 
-        return String.join("\n    ", annotations);
+        return sb.toString();
+    }
+
+    /**
+     * 多個註解之間以換行和縮排分隔
+     */
+    private static StringBuilder startAnnotation(StringBuilder sb) {
+        if (sb.length() > 0) {
+            sb.append("\n    ");
+        }
+        return sb;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.catchaybk.dtogeneratorplugin.core.model;
+
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 可選的生成功能
+ * IDE配置對話框以勾選框呈現，命令列以 --features 指定
+ */
+@Getter
+public enum GenerationFeature {
+    /** 欄位完全相同的子結構只生成一個類，所有父類共用 */
+    MERGE_IDENTICAL_STRUCTURES("merge-structures", "合併相同結構", "欄位名稱、類型、長度、必填及正則都相同的子結構只生成一個類", false),
+    /** 與專案中其他電文已生成的類相同的子結構直接引用該類（僅IDE，需同時啟用合併相同結構） */
+    SHARED_STRUCTURES("shared-structures", "跨電文共用結構", "子結構與專案中已生成的類相同時直接引用該類（僅IDE，需同時啟用合併相同結構）", false),
+    /** 生成有助於 Jackson 序列化效能的類級註解，並列出別名數量超過上限的類 */
+    JACKSON_THROUGHPUT("jackson-throughput", "Jackson 高吞吐",
+            "生成 @JsonPropertyOrder、@JsonIgnoreProperties(ignoreUnknown = true) 及 @JsonInclude(NON_NULL)，並列出別名超過 64 個的類", false),
+    /** Java 17 時生成不可變的 record，不依賴 Lombok */
+    RECORDS("records", "生成 record", "Java 17 時以 record 代替 Lombok @Data 類，驗證及 Jackson 註解標註在組件上（僅 Java 17）", false),
+    /** 必填的數字和布爾字段使用基本類型，減少裝箱的分配和內存佔用 */
+    PRIMITIVE_TYPES("primitive-types", "必填字段使用基本類型",
+            "必填的數字和布爾字段生成 int、long、double、boolean 等基本類型，其 List 生成基本類型數組（如 int[]）", false),
+    /** 為每個DTO生成不使用反射的驗證器 */
+    VALIDATORS("validators", "生成驗證器", "為每個DTO生成 XxxValidator，以直接的判斷代替 Bean Validation 的反射驗證", false),
+    /** 為每個DTO生成直接讀寫 JsonGenerator / JsonParser 的序列化器和反序列化器 */
+    JSON_CODECS("json-codecs", "生成 JSON 編解碼器",
+            "為每個DTO生成 XxxJsonCodec，以 @JsonSerialize / @JsonDeserialize 代替 Jackson 的 Bean 內省", false),
+    /** 為每個DTO生成按長度欄位讀寫定長記錄的 ByteBuffer 編解碼器 */
+    FIXED_LENGTH_CODECS("fixed-length-codecs", "生成定長電文編解碼器",
+            "為每個DTO生成 XxxFixedCodec，按長度欄位的寬度直接讀寫 ByteBuffer，子結構 List 為固定次數的重複組", false),
+    /** 為每個DTO生成按定長佈局直接讀取緩衝區的輕量訪問器 */
+    FLYWEIGHTS("flyweights", "生成定長輕量訪問器",
+            "為每個DTO生成 XxxFlyweight，包裝定長記錄的 ByteBuffer 或 byte[] 後按偏移量即時讀取，可重用同一實例逐條掃描", false),
+    /** 為主結構生成以樣本對象測量序列化與驗證耗時的 JMH 基準測試 */
+    BENCHMARKS("benchmarks", "生成基準測試",
+            "為主結構生成 XxxBenchmark（JMH），以按字段類型、長度及正則生成的樣本對象測量 Jackson 序列化、反序列化及 Bean Validation 驗證的耗時", false),
+    /** 專案中的規格文件變更時，以本次的配置在後台重新生成（僅IDE） */
+    WATCH_SPEC_FILES("watch-specs", "規格文件變更時自動重新生成",
+            "保存本次的配置，專案中與電文ID同名的規格文件（.txt、.tsv、.spec）變更後在後台重新生成（僅IDE）", false);
+
+    /** 命令列中使用的名稱 */
+    private final String optionName;
+    /** 界面顯示名稱 */
+    private final String displayName;
+    /** 功能說明 */
+    private final String description;
+    /** 是否默認啟用 */
+    private final boolean enabledByDefault;
+
+    GenerationFeature(String optionName, String displayName, String description, boolean enabledByDefault) {
+        this.optionName = optionName;
+        this.displayName = displayName;
+        this.description = description;
+        this.enabledByDefault = enabledByDefault;
+    }
+
+    /**
+     * 默認啟用的功能
+     */
+    public static Set<GenerationFeature> defaults() {
+        Set<GenerationFeature> features = EnumSet.noneOf(GenerationFeature.class);
+        for (GenerationFeature feature : values()) {
+            if (feature.enabledByDefault) {
+                features.add(feature);
+            }
+        }
+        return features;
+    }
+
+    /**
+     * 根據命令列名稱查找功能
+     *
+     * @param optionName 命令列名稱
+     * @return 對應的功能
+     * @throws IllegalArgumentException 名稱未知時
+     */
+    public static GenerationFeature fromOptionName(String optionName) {
+        for (GenerationFeature feature : values()) {
+            if (feature.optionName.equals(optionName)) {
+                return feature;
+            }
+        }
+        throw new IllegalArgumentException("未知的生成功能: " + optionName);
+    }
+}
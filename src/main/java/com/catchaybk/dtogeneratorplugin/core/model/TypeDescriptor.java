@@ -0,0 +1,310 @@
+package com.catchaybk.dtogeneratorplugin.core.model;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 數據類型描述
+ * 每個不同的類型字符串只解析一次，結果緩存在全局的駐留表中，
+ * 字段的類型判斷（是否List、是否對象、格式化名稱、所需導入等）因此只是讀取屬性
+ * <p>
+ * 同時集中管理所有類型表：
+ * 1. 已知類型（用於表格中提示未知類型）
+ * 2. 基本類型和包裝類型（不需要生成子類）
+ * 3. 類型名稱的標準化格式
+ * 4. 需要導入的類型
+ * 5. 包裝類型對應的基本類型
+ * <p>
+ * 實例不可變，可安全地在多線程間共用
+ */
+@Getter
+public final class TypeDescriptor {
+    /** 類型名稱（小寫）到標準化名稱的映射 */
+    private static final Map<String, String> FORMATTED_NAMES = new HashMap<>();
+
+    /** 基本類型和包裝類型（小寫） */
+    private static final Set<String> PRIMITIVE_AND_WRAPPER_TYPES = Set.of(
+            "string",
+            "int", "integer",
+            "long",
+            "double",
+            "float",
+            "boolean",
+            "date",
+            "datetime",
+            "timestamp",
+            "bigdecimal",
+            "decimal",
+            "char",
+            "byte",
+            "short",
+            "void");
+
+    /** 已知類型（小寫） */
+    private static final Set<String> KNOWN_TYPES = Set.of(
+            // 基本類型
+            "string", "int", "integer", "long", "double", "float", "boolean", "char", "byte", "short", "void",
+            // 數字類型
+            "decimal", "bigdecimal",
+            // 日期時間類型
+            "date", "datetime", "timestamp", "localdate", "localdatetime",
+            // 其他常用類型
+            "list", "object");
+
+    /** 作為List元素時不需要生成子類的值類型（標準化名稱） */
+    private static final Set<String> SIMPLE_VALUE_TYPES = Set.of(
+            "String", "Integer", "Long", "Double", "Float", "Boolean",
+            "Short", "Byte", "Character", "int", "long", "double",
+            "float", "boolean", "short", "byte", "char",
+            "BigDecimal", "BigInteger", "Date", "LocalDate", "LocalDateTime");
+
+    /** 類型簡單名稱到完整類名的映射 */
+    private static final Map<String, String> TYPE_IMPORTS = Map.of(
+            "Timestamp", "java.sql.Timestamp",
+            "BigDecimal", "java.math.BigDecimal",
+            "LocalDate", "java.time.LocalDate",
+            "LocalDateTime", "java.time.LocalDateTime",
+            "Date", "java.util.Date",
+            "List", "java.util.List");
+
+    /** 包裝類型（標準化名稱）到基本類型的映射 */
+    private static final Map<String, String> PRIMITIVE_NAMES = Map.of(
+            "Integer", "int",
+            "Long", "long",
+            "Double", "double",
+            "Float", "float",
+            "Boolean", "boolean",
+            "Short", "short",
+            "Byte", "byte",
+            "Character", "char");
+
+    /** 駐留表容量上限，超過後不再緩存新的類型 */
+    private static final int MAX_INTERNED = 10_000;
+
+    private static final Map<String, TypeDescriptor> INTERNED = new ConcurrentHashMap<>();
+
+    private static final TypeDescriptor NULL_TYPE = new TypeDescriptor(null);
+
+    static {
+        FORMATTED_NAMES.put("string", "String");
+        FORMATTED_NAMES.put("integer", "Integer");
+        FORMATTED_NAMES.put("int", "Integer");
+        FORMATTED_NAMES.put("long", "Long");
+        FORMATTED_NAMES.put("double", "Double");
+        FORMATTED_NAMES.put("float", "Float");
+        FORMATTED_NAMES.put("boolean", "Boolean");
+        FORMATTED_NAMES.put("date", "Date");
+        FORMATTED_NAMES.put("datetime", "LocalDateTime");
+        FORMATTED_NAMES.put("timestamp", "Timestamp");
+        FORMATTED_NAMES.put("bigdecimal", "BigDecimal");
+        FORMATTED_NAMES.put("decimal", "BigDecimal");
+        FORMATTED_NAMES.put("char", "Character");
+        FORMATTED_NAMES.put("byte", "Byte");
+        FORMATTED_NAMES.put("short", "Short");
+        FORMATTED_NAMES.put("void", "Void");
+        FORMATTED_NAMES.put("localdate", "LocalDate");
+        FORMATTED_NAMES.put("localdatetime", "LocalDateTime");
+    }
+
+    /** 原始類型字符串 */
+    private final String source;
+    /** 標準化後的類型名稱，如 string -> String */
+    private final String formattedName;
+    /** List的泛型參數，非泛型時為空字符串 */
+    private final String genericArgument;
+    /** 是否為List類型 */
+    private final boolean list;
+    /** 是否為對象類型（需要生成子類） */
+    private final boolean object;
+    /** 是否為原始類型（List時判斷泛型參數） */
+    private final boolean primitive;
+    /** 類型字符串本身是否為基本類型或包裝類型 */
+    private final boolean primitiveOrWrapper;
+    /** 是否為字符串類型 */
+    private final boolean stringType;
+    /** 是否為decimal/BigDecimal類型 */
+    private final boolean decimal;
+    /** 是否為已知類型 */
+    private final boolean known;
+    /** 是否為不需要生成子類的值類型 */
+    private final boolean simpleValueType;
+    /** 作為字段時是否需要 @Valid 級聯驗證 */
+    private final boolean cascadeValidation;
+    /** 對應的基本類型，如 Integer -> int，List<Integer> -> int[]，沒有對應的基本類型時為 null */
+    private final String primitiveName;
+    /** 標準化名稱中用到的類型所需的導入 */
+    private final Set<String> imports;
+
+    private TypeDescriptor(String source) {
+        this.source = source;
+        if (source == null) {
+            this.formattedName = null;
+            this.genericArgument = "";
+            this.list = false;
+            this.object = false;
+            this.primitive = false;
+            this.primitiveOrWrapper = false;
+            this.stringType = false;
+            this.decimal = false;
+            this.known = false;
+            this.simpleValueType = false;
+            this.cascadeValidation = false;
+            this.primitiveName = null;
+            this.imports = Collections.emptySet();
+            return;
+        }
+
+        String trimmed = source.trim();
+        String lowerTrimmed = trimmed.toLowerCase();
+
+        this.formattedName = source.isEmpty() ? source : FORMATTED_NAMES.getOrDefault(lowerTrimmed, source);
+        this.list = trimmed.equalsIgnoreCase("list") || lowerTrimmed.startsWith("list<");
+        this.genericArgument = list && source.contains("<") ? extractGenericArgument(source) : "";
+        this.primitiveOrWrapper = isPrimitiveOrWrapperType(source);
+        this.primitive = resolvePrimitive(source);
+        this.object = resolveObject(trimmed);
+        this.stringType = source.toLowerCase().contains("string");
+        this.decimal = source.equalsIgnoreCase("decimal") || source.equalsIgnoreCase("bigdecimal");
+        this.known = resolveKnown(source);
+        this.simpleValueType = SIMPLE_VALUE_TYPES.contains(formattedName);
+        this.cascadeValidation = list && !isPrimitiveOrWrapperType(genericArgument);
+        this.primitiveName = list ? resolvePrimitiveArray(genericArgument) : PRIMITIVE_NAMES.get(formattedName);
+        this.imports = Collections.unmodifiableSet(collectImports(formattedName));
+    }
+
+    /**
+     * 獲取類型描述
+     *
+     * @param type 類型字符串，可為null
+     * @return 駐留的類型描述
+     */
+    public static TypeDescriptor of(String type) {
+        if (type == null) {
+            return NULL_TYPE;
+        }
+        TypeDescriptor descriptor = INTERNED.get(type);
+        if (descriptor == null) {
+            descriptor = new TypeDescriptor(type);
+            if (INTERNED.size() < MAX_INTERNED) {
+                TypeDescriptor existing = INTERNED.putIfAbsent(type, descriptor);
+                if (existing != null) {
+                    descriptor = existing;
+                }
+            }
+        }
+        return descriptor;
+    }
+
+    /**
+     * 判斷類型名稱是否為基本類型或其包裝類型
+     * 包括：
+     * 1. 基本類型（int, long等）
+     * 2. 包裝類型（Integer, Long等）
+     * 3. 常用類型（String, Date等）
+     */
+    public static boolean isPrimitiveOrWrapperType(String type) {
+        return PRIMITIVE_AND_WRAPPER_TYPES.contains(type.toLowerCase());
+    }
+
+    /**
+     * 收集類型名稱中每個標識符所需的導入，例如 List<BigDecimal> 需要 List 和 BigDecimal
+     *
+     * @param typeName 類型名稱
+     * @return 完整類名集合
+     */
+    public static Set<String> collectImports(String typeName) {
+        Set<String> imports = new HashSet<>();
+        if (typeName == null) {
+            return imports;
+        }
+        int start = -1;
+        for (int i = 0; i <= typeName.length(); i++) {
+            boolean identifierPart = i < typeName.length() && Character.isJavaIdentifierPart(typeName.charAt(i));
+            if (identifierPart && start < 0) {
+                start = i;
+            } else if (!identifierPart && start >= 0) {
+                String importPath = TYPE_IMPORTS.get(typeName.substring(start, i));
+                if (importPath != null) {
+                    imports.add(importPath);
+                }
+                start = -1;
+            }
+        }
+        return imports;
+    }
+
+    /**
+     * List 元素為數字或布爾時對應的基本類型數組
+     */
+    private static String resolvePrimitiveArray(String elementType) {
+        String primitive = PRIMITIVE_NAMES.get(FORMATTED_NAMES.getOrDefault(elementType.toLowerCase(), elementType));
+        return primitive != null ? primitive + "[]" : null;
+    }
+
+    /**
+     * 判斷是否為原始類型，List類型判斷其泛型參數
+     */
+    private static boolean resolvePrimitive(String type) {
+        if (type.toLowerCase().trim().startsWith("list<")) {
+            return isPrimitiveOrWrapperType(extractGenericArgument(type));
+        }
+        return isPrimitiveOrWrapperType(type);
+    }
+
+    /**
+     * 判斷是否為對象類型
+     * 包括：
+     * 1. 純對象類型
+     * 2. 純List類型（無泛型參數）
+     * 3. 包含非原始類型的List
+     */
+    private boolean resolveObject(String trimmed) {
+        if (trimmed.equalsIgnoreCase("list")) {
+            return true; // 純List類型視為對象
+        }
+
+        if (trimmed.startsWith("List<") || trimmed.startsWith("list<")) {
+            return !isPrimitiveOrWrapperType(extractGenericArgument(trimmed));
+        }
+
+        return trimmed.equals("Object") || (!resolvePrimitive(trimmed) && !list);
+    }
+
+    /**
+     * 取出第一個 '<' 與最後一個 '>' 之間的泛型參數，缺少 '>' 時取 '<' 之後的全部內容
+     */
+    private static String extractGenericArgument(String type) {
+        int start = type.indexOf('<') + 1;
+        int end = type.lastIndexOf('>');
+        if (end < start) {
+            end = type.length();
+        }
+        return type.substring(start, end).trim();
+    }
+
+    /**
+     * 判斷是否為已知類型，泛型類型要求基礎類型和泛型參數都已知
+     */
+    private static boolean resolveKnown(String type) {
+        int genericStart = type.indexOf('<');
+        if (genericStart >= 0) {
+            int genericEnd = type.lastIndexOf('>');
+            if (genericEnd < genericStart) {
+                return false;
+            }
+            return resolveKnown(type.substring(0, genericStart).trim())
+                    && resolveKnown(type.substring(genericStart + 1, genericEnd).trim());
+        }
+
+        String lowerType = type.toLowerCase();
+        return KNOWN_TYPES.contains(lowerType)
+                || lowerType.endsWith("dto") // DTO 類型
+                || type.contains("."); // 帶包名的完整類型
+    }
+}
@@ -1,7 +1,11 @@
 package com.catchaybk.dtogeneratorplugin.core.model;
 
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
+
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class UserConfig {
     public final List<Field> fields;
@@ -14,11 +18,14 @@ public class UserConfig {
     public final String targetPackage;
     public final String jsonPropertyStyle;
     public final List<String> jsonAliasStyles;
+    public final ValidationMessageTemplates validationMessages;
+    public final Set<GenerationFeature> features;
 
     public UserConfig(List<Field> fields, String mainClassName, String author,
                       String msgId, boolean isJava17, String messageDirectionComment,
                       Map<Integer, Map<String, String>> levelClassNamesMap, String targetPackage,
-                      String jsonPropertyStyle, List<String> jsonAliasStyles) {
+                      String jsonPropertyStyle, List<String> jsonAliasStyles,
+                      ValidationMessageTemplates validationMessages, Set<GenerationFeature> features) {
         this.fields = fields;
         this.mainClassName = mainClassName;
         this.author = author;
@@ -29,5 +36,29 @@ public class UserConfig {
         this.targetPackage = targetPackage;
         this.jsonPropertyStyle = jsonPropertyStyle;
         this.jsonAliasStyles = jsonAliasStyles;
+        this.validationMessages = validationMessages;
+        this.features = features.isEmpty()
+                ? EnumSet.noneOf(GenerationFeature.class)
+                : EnumSet.copyOf(features);
+        if (fields != null) {
+            boolean primitiveTypes = isEnabled(GenerationFeature.PRIMITIVE_TYPES);
+            for (Field field : fields) {
+                field.setPrimitiveTypes(primitiveTypes);
+            }
+        }
+    }
+
+    /**
+     * 判斷是否啟用指定的生成功能
+     */
+    public boolean isEnabled(GenerationFeature feature) {
+        return features.contains(feature);
+    }
+
+    /**
+     * 是否生成 record（僅 Java 17）
+     */
+    public boolean isRecordOutput() {
+        return isJava17 && isEnabled(GenerationFeature.RECORDS);
     }
 }
\ No newline at end of file
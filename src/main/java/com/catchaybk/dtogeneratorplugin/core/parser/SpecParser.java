@@ -0,0 +1,628 @@
+package com.catchaybk.dtogeneratorplugin.core.parser;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 電文規格解析器
+ * 將從Excel/文本複製的規格內容解析為表格行，不依賴任何IDE API
+ * <p>
+ * 每行輸出固定 7 個欄位：Level、Data Name、Data Type、Size、Required、Comments、Pattern
+ * <p>
+ * 數據填充策略：
+ * - 3個值或更少：按順序填充到前面的欄位
+ * - 4個值：根據最後一個值的特徵（Size/Required/Comment）決定填充位置
+ * - 5個值：分析第四和第五個值的特徵來決定填充位置
+ * - 6個值：按順序填充所有欄位
+ * - 7個或更多值：最後一個值作為Pattern
+ * <p>
+ * 不符合數據行格式的行（如列舉值說明）會被合併到上一行的註解中
+ */
+public class SpecParser {
+    public static final int COLUMN_COUNT = 7;
+    public static final int LEVEL_INDEX = 0;
+    public static final int DATA_NAME_INDEX = 1;
+    public static final int DATA_TYPE_INDEX = 2;
+    public static final int SIZE_INDEX = 3;
+    public static final int REQUIRED_INDEX = 4;
+    public static final int COMMENTS_INDEX = 5;
+    public static final int PATTERN_INDEX = 6;
+
+    /** 規格文件的默認副檔名 */
+    public static final List<String> DEFAULT_EXTENSIONS = List.of("txt", "tsv", "spec");
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * 解析規格文本
+     *
+     * @param text 規格文本
+     * @param sink 接收每一行解析結果的回調
+     */
+    public static void parse(String text, Consumer<String[]> sink) {
+        try {
+            parse(new StringReader(text), sink);
+        } catch (IOException e) {
+            // StringReader 不會拋出IO異常
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 以串流方式解析規格內容
+     * 逐塊讀取輸入並按換行符切分，任何時候只保留當前行與尚未輸出的數據行，
+     * 適合從文件讀取體積很大的規格
+     *
+     * @param reader 規格內容，由調用方負責關閉
+     * @param sink   接收每一行解析結果的回調
+     * @throws IOException 讀取失敗時
+     */
+    public static void parse(Reader reader, Consumer<String[]> sink) throws IOException {
+        RowAccumulator accumulator = new RowAccumulator(sink);
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        StringBuilder line = new StringBuilder();
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    line.append(buffer, start, i - start);
+                    accumulator.accept(line.toString());
+                    line.setLength(0);
+                    start = i + 1;
+                }
+            }
+            line.append(buffer, start, read - start);
+        }
+        accumulator.accept(line.toString());
+        accumulator.finish();
+    }
+
+    /**
+     * 解析規格文本並轉換為字段列表，無法轉換的行會被略過
+     *
+     * @param text     規格文本
+     * @param isJava17 是否使用Java 17
+     * @return 字段列表
+     */
+    public static List<Field> parseFields(String text, boolean isJava17) {
+        List<Field> fields = new ArrayList<>();
+        parse(text, row -> {
+            Field field = toField(row, isJava17);
+            if (field != null) {
+                fields.add(field);
+            }
+        });
+        return fields;
+    }
+
+    /**
+     * 以串流方式解析規格內容並逐個輸出字段，無法轉換的行會被略過
+     *
+     * @param reader   規格內容，由調用方負責關閉
+     * @param isJava17 是否使用Java 17
+     * @param sink     接收每個字段的回調
+     * @throws IOException 讀取失敗時
+     */
+    public static void parseFields(Reader reader, boolean isJava17, Consumer<Field> sink) throws IOException {
+        parse(reader, row -> {
+            Field field = toField(row, isJava17);
+            if (field != null) {
+                sink.accept(field);
+            }
+        });
+    }
+
+    /**
+     * 將表格行轉換為字段
+     *
+     * @param row      表格行
+     * @param isJava17 是否使用Java 17
+     * @return 字段，層級無法解析時返回null
+     */
+    public static Field toField(String[] row, boolean isJava17) {
+        try {
+            return new Field(
+                    Integer.parseInt(row[LEVEL_INDEX].trim()),
+                    row[DATA_NAME_INDEX],
+                    row[DATA_TYPE_INDEX],
+                    row[SIZE_INDEX],
+                    "Y".equalsIgnoreCase(row[REQUIRED_INDEX]),
+                    row[COMMENTS_INDEX],
+                    row[PATTERN_INDEX],
+                    isJava17);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 由規格文件名得到電文ID：去除副檔名後只保留字母、數字與底線，以數字開頭或為空時加前綴 M
+     *
+     * @param fileName 規格文件名
+     * @return 合法的Java識別字
+     */
+    public static String specId(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String name = dot > 0 ? fileName.substring(0, dot) : fileName;
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_') {
+                sb.append(ch);
+            }
+        }
+        if (sb.length() == 0 || Character.isDigit(sb.charAt(0))) {
+            sb.insert(0, 'M');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 驗證Size格式是否有效
+     * 支持：
+     * 1. 純數字格式（如：10）
+     * 2. 帶小數點的格式（如：10,2）
+     *
+     * @param value 要驗證的值
+     * @return 格式是否有效
+     */
+    public static boolean isValidSizeFormat(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return true;
+        }
+
+        // 檢查是否為純數字或帶逗號的數字格式
+        int comma = value.indexOf(',');
+        if (comma < 0) {
+            return isDigits(value, 0, value.length());
+        }
+        return isDigits(value, 0, comma) && isDigits(value, comma + 1, value.length());
+    }
+
+    /**
+     * 判斷指定範圍是否為非空的ASCII數字序列
+     */
+    private static boolean isDigits(String value, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char ch = value.charAt(i);
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判斷是否為單個 Y/N 字符（不區分大小寫）
+     */
+    private static boolean isYesNo(String value) {
+        if (value.length() != 1) {
+            return false;
+        }
+        char ch = value.charAt(0);
+        return ch == 'Y' || ch == 'y' || ch == 'N' || ch == 'n';
+    }
+
+    private static String[] withComment(String[] row, String comment) {
+        row[COMMENTS_INDEX] = (row[COMMENTS_INDEX] + " " + comment).trim();
+        return row;
+    }
+
+    /**
+     * 由數據行的欄位值和括號註解構建表格行
+     */
+    private static String[] buildRow(List<String> values, String comment) {
+        String[] newRow = new String[COLUMN_COUNT];
+        Arrays.fill(newRow, "");
+
+        distributeValues(values, newRow);
+
+        // 設置註解
+        if (!comment.isEmpty()) {
+            newRow[COMMENTS_INDEX] = comment;
+        }
+
+        return newRow;
+    }
+
+    /**
+     * 根據數據量和特徵智能分配值到對應欄位
+     *
+     * @param values 要分配的值列表
+     * @param newRow 新行數據數組
+     */
+    private static void distributeValues(List<String> values, String[] newRow) {
+        int totalValues = values.size();
+
+        // 根據值的數量決定處理策略
+        switch (totalValues) {
+            case 1:
+            case 2:
+            case 3:
+                // 3個或更少的值，直接按順序填充前面的欄位
+                fillByOrder(values, newRow);
+                break;
+
+            case 4:
+                handleFourValues(values, newRow);
+                break;
+            case 5:
+                handleFiveValues(values, newRow);
+                break;
+            case 6:
+                // 6個值的情況，Pattern欄位保持為空
+                handleNormalValues(values, newRow);
+                break;
+
+            default:
+                // 7個或更多值，最後一個值作為Pattern
+                handleValuesWithPattern(values, newRow);
+        }
+    }
+
+    private static void fillByOrder(List<String> values, String[] newRow) {
+        // 直接按順序填充
+        for (int i = 0; i < values.size(); i++) {
+            newRow[i] = values.get(i);
+        }
+    }
+
+    /**
+     * 處理4個值的情況
+     * 規則：
+     * 1. 如果最後一個值是數字格式，視為Size
+     * 2. 如果最後一個值是Y/N，視為Required
+     * 3. 其他情況，視為Comments
+     *
+     * @param values 4個值的列表
+     * @param newRow 新行數據數組
+     */
+    private static void handleFourValues(List<String> values, String[] newRow) {
+        String lastValue = values.get(3);
+
+        newRow[LEVEL_INDEX] = values.get(0);
+        newRow[DATA_NAME_INDEX] = values.get(1);
+        newRow[DATA_TYPE_INDEX] = values.get(2);
+
+        // 如果最後一個值是數字格式，可能是Size
+        if (isValidSizeFormat(lastValue)) {
+            newRow[SIZE_INDEX] = lastValue;
+        }
+        // 如果最後一個值是Y/N，可能是Required
+        else if (isYesNo(lastValue)) {
+            newRow[REQUIRED_INDEX] = lastValue.toUpperCase();
+        }
+        // 其他情況，可能是註解
+        else {
+            newRow[COMMENTS_INDEX] = lastValue;
+        }
+    }
+
+    /**
+     * 處理5個值的情況
+     * 規則：
+     * 1. 前三個值固定為Level、Name、Type
+     * 2. 第四個值如果是Size格式，則第五個值可能是Required或Comment
+     * 3. 第四個值如果是Y/N，則是Required，第五個值為Comment
+     * 4. 其他情況，第四個值為Size，第五個值為Comment
+     *
+     * @param values 5個值的列表
+     * @param newRow 新行數據數組
+     */
+    private static void handleFiveValues(List<String> values, String[] newRow) {
+        String fourthValue = values.get(3);
+        String fifthValue = values.get(4);
+
+        // 基本資料總是填入
+        newRow[LEVEL_INDEX] = values.get(0);
+        newRow[DATA_NAME_INDEX] = values.get(1);
+        newRow[DATA_TYPE_INDEX] = values.get(2);
+
+        // 如果第四個值是Size格式
+        if (isValidSizeFormat(fourthValue)) {
+            newRow[SIZE_INDEX] = fourthValue;
+            if (isYesNo(fifthValue)) {
+                newRow[REQUIRED_INDEX] = fifthValue.toUpperCase();
+            } else {
+                newRow[COMMENTS_INDEX] = fifthValue;
+            }
+        }
+        // 如果第四個值是Y/N
+        else if (isYesNo(fourthValue)) {
+            newRow[REQUIRED_INDEX] = fourthValue.toUpperCase();
+            newRow[COMMENTS_INDEX] = fifthValue;
+        }
+        // 其他情況
+        else {
+            newRow[SIZE_INDEX] = fourthValue;
+            newRow[COMMENTS_INDEX] = fifthValue;
+        }
+    }
+
+    private static void handleNormalValues(List<String> values, String[] newRow) {
+        // 填充前6個欄位
+        for (int i = 0; i < Math.min(values.size(), 6); i++) {
+            newRow[i] = values.get(i);
+        }
+        // Pattern 欄位保持為空
+        newRow[PATTERN_INDEX] = "";
+    }
+
+    private static void handleValuesWithPattern(List<String> values, String[] newRow) {
+        // 填充前6個欄位
+        for (int i = 0; i < 6; i++) {
+            newRow[i] = values.get(i);
+        }
+        // 最後一個值作為Pattern
+        newRow[PATTERN_INDEX] = values.get(values.size() - 1);
+    }
+
+    /**
+     * 逐行累積數據行
+     * 數據行要等到下一個數據行出現（或輸入結束）才能輸出，因為其後不符合數據行格式的行
+     * 需要合併到它的註解中
+     */
+    private static class RowAccumulator {
+        private final Consumer<String[]> sink;
+        private final LineScanner scanner = new LineScanner();
+        private final StringBuilder currentComment = new StringBuilder();
+        private String[] currentRow;
+
+        RowAccumulator(Consumer<String[]> sink) {
+            this.sink = sink;
+        }
+
+        void accept(String row) {
+            LineType type = scanner.scan(row);
+            if (type == LineType.BLANK)
+                return;
+
+            if (type == LineType.DATA) {
+                if (currentRow != null) {
+                    // 輸出之前的行
+                    sink.accept(withComment(currentRow, currentComment.toString()));
+                }
+                // 處理新行
+                currentRow = scanner.toRow();
+                currentComment.setLength(0); // 清空註解
+            } else {
+                // 累積註解
+                if (!currentComment.isEmpty()) {
+                    currentComment.append("\n");
+                }
+                scanner.appendTrimmed(currentComment);
+            }
+        }
+
+        void finish() {
+            // 輸出最後一行
+            if (currentRow != null) {
+                sink.accept(withComment(currentRow, currentComment.toString()));
+                currentRow = null;
+            }
+        }
+    }
+
+    private enum LineType {
+        /** 空行 */
+        BLANK,
+        /** 數據行 */
+        DATA,
+        /** 其他文字，合併到上一數據行的註解 */
+        TEXT
+    }
+
+    /**
+     * 單次遍歷的行掃描器
+     * 在同一次遍歷中判斷行類型並記錄欄位位置，不使用正則表達式，
+     * 只有確認為數據行後才截取欄位字符串
+     * <p>
+     * 判斷數據行的條件：
+     * 1. 以數字開頭，且數字後不是 ':'、'.' 或 '。'（排除 "1:"、"1." 這類列舉值說明）
+     * 2. 以空白分隔後至少有3個值
+     * 3. 第二個值不能是純數字，也不能包含冒號或點號（避免誤判列舉值）
+     * <p>
+     * 欄位以 tab 或兩個以上連續空格分隔，單個空格視為欄位內容；
+     * 第一個以 '(' 開頭的欄位及其後所有欄位合併為註解
+     */
+    private static class LineScanner {
+        private String line;
+        /** 去除首尾空白後的範圍 */
+        private int trimStart;
+        private int trimEnd;
+        /** 欄位範圍，第 i 個欄位為 [fieldBounds[2i], fieldBounds[2i + 1]) */
+        private int[] fieldBounds = new int[32];
+        private int fieldCount;
+
+        LineType scan(String line) {
+            this.line = line;
+            this.fieldCount = 0;
+
+            int length = line.length();
+            trimStart = 0;
+            trimEnd = length;
+            while (trimStart < trimEnd && line.charAt(trimStart) <= ' ') {
+                trimStart++;
+            }
+            while (trimEnd > trimStart && line.charAt(trimEnd - 1) <= ' ') {
+                trimEnd--;
+            }
+            if (trimStart == trimEnd) {
+                return LineType.BLANK;
+            }
+
+            // 以數字開頭，且數字後不是 ':'、'.'、'。'
+            int pos = trimStart;
+            while (pos < trimEnd && isAsciiDigit(line.charAt(pos))) {
+                pos++;
+            }
+            if (pos == trimStart) {
+                return LineType.TEXT;
+            }
+            if (pos < trimEnd) {
+                char next = line.charAt(pos);
+                if (next == ':' || next == '.' || next == '。') {
+                    return LineType.TEXT;
+                }
+            }
+
+            boolean dataRow = true;
+            int valueCount = 0;
+            int valueStart = -1;
+            boolean valueHasContent = false;
+            int fieldStart = 0;
+
+            for (int i = 0; i <= length; i++) {
+                char ch = i < length ? line.charAt(i) : '\n';
+
+                // 以空白切分的值只在去除首尾空白後的範圍內統計
+                if (i >= trimStart && i <= trimEnd) {
+                    if (i < trimEnd && isLineTerminator(ch)) {
+                        // 行內含有換行類字符時不視為數據行
+                        dataRow = false;
+                    }
+                    if (i == trimEnd || isWhitespace(ch)) {
+                        if (valueStart >= 0) {
+                            if (valueHasContent) {
+                                valueCount++;
+                                if (valueCount == 2 && isEnumerationValue(valueStart, i)) {
+                                    dataRow = false;
+                                }
+                            }
+                            valueStart = -1;
+                        }
+                    } else {
+                        if (valueStart < 0) {
+                            valueStart = i;
+                            valueHasContent = false;
+                        }
+                        if (ch > ' ') {
+                            valueHasContent = true;
+                        }
+                    }
+                }
+
+                // 欄位以 tab 或兩個以上連續空格分隔
+                if (i == length) {
+                    addField(fieldStart, i);
+                } else if (ch == '\t') {
+                    addField(fieldStart, i);
+                    fieldStart = i + 1;
+                } else if (ch == ' ' && i + 1 < length && line.charAt(i + 1) == ' ') {
+                    addField(fieldStart, i);
+                    int end = i + 2;
+                    while (end < length && line.charAt(end) == ' ') {
+                        end++;
+                    }
+                    // 跳過的連續空格同時也是值的分隔符，當前值已在上方結束
+                    fieldStart = end;
+                    i = end - 1;
+                }
+            }
+
+            return dataRow && valueCount >= 3 ? LineType.DATA : LineType.TEXT;
+        }
+
+        /**
+         * 第二個值為純數字或包含冒號、點號時，該行視為列舉值說明
+         */
+        private boolean isEnumerationValue(int start, int end) {
+            boolean hasColonOrDot = false;
+            for (int i = start; i < end; i++) {
+                char ch = line.charAt(i);
+                if (ch == ':' || ch == '.') {
+                    hasColonOrDot = true;
+                    break;
+                }
+            }
+            while (start < end && line.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && line.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return hasColonOrDot || isDigits(line, start, end);
+        }
+
+        private void addField(int start, int end) {
+            // 只含空白的欄位直接略過
+            boolean hasContent = false;
+            for (int i = start; i < end; i++) {
+                if (line.charAt(i) > ' ') {
+                    hasContent = true;
+                    break;
+                }
+            }
+            if (!hasContent) {
+                return;
+            }
+            if (fieldCount * 2 == fieldBounds.length) {
+                fieldBounds = Arrays.copyOf(fieldBounds, fieldBounds.length * 2);
+            }
+            fieldBounds[fieldCount * 2] = start;
+            fieldBounds[fieldCount * 2 + 1] = end;
+            fieldCount++;
+        }
+
+        /**
+         * 將最近一次掃描的數據行轉換為表格行
+         */
+        String[] toRow() {
+            List<String> values = new ArrayList<>(Math.min(fieldCount, COLUMN_COUNT + 1));
+            StringBuilder comment = new StringBuilder();
+            boolean isComment = false;
+
+            for (int f = 0; f < fieldCount; f++) {
+                int start = fieldBounds[f * 2];
+                int end = fieldBounds[f * 2 + 1];
+                if (line.charAt(start) == '(' && !isComment) {
+                    isComment = true;
+                    comment.append(line, start, end);
+                } else if (isComment) {
+                    comment.append(' ').append(line, start, end);
+                } else {
+                    values.add(line.substring(start, end).trim());
+                }
+            }
+
+            return buildRow(values, comment.toString());
+        }
+
+        /**
+         * 將最近一次掃描的行去除首尾空白後追加到緩衝區
+         */
+        void appendTrimmed(StringBuilder sb) {
+            sb.append(line, trimStart, trimEnd);
+        }
+
+        private static boolean isAsciiDigit(char ch) {
+            return ch >= '0' && ch <= '9';
+        }
+
+        /**
+         * 與正則表達式 \\s 相同的空白字符
+         */
+        private static boolean isWhitespace(char ch) {
+            return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+        }
+
+        /**
+         * 正則表達式中 '.' 不匹配的行結束字符
+         */
+        private static boolean isLineTerminator(char ch) {
+            return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.catchaybk.dtogeneratorplugin.intellij.action;
 
-import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureAnalyzer;
-import com.catchaybk.dtogeneratorplugin.core.generator.ClassGenerator;
+import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureDeduplicator;
+import com.catchaybk.dtogeneratorplugin.core.generator.AliasFanOutChecker;
+import com.catchaybk.dtogeneratorplugin.core.generator.BenchmarkGenerator;
+import com.catchaybk.dtogeneratorplugin.core.generator.StructureRenderer;
 import com.catchaybk.dtogeneratorplugin.core.model.Structure;
 import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+import com.catchaybk.dtogeneratorplugin.intellij.service.DtoGeneration;
+import com.catchaybk.dtogeneratorplugin.intellij.service.SpecConfigService;
 import com.catchaybk.dtogeneratorplugin.intellij.ui.dialog.GeneratorDialog;
+import com.catchaybk.dtogeneratorplugin.intellij.writer.GeneratedFileWriter;
 import com.intellij.notification.NotificationGroupManager;
 import com.intellij.notification.NotificationType;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
@@ -12,21 +17,20 @@ import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.command.WriteCommandAction;
-import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.*;
-import com.intellij.psi.codeStyle.JavaCodeStyleManager;
+import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class GenerateAction extends AnAction {
-    private String targetPackage;
-
     @Override
     public void actionPerformed(@NotNull AnActionEvent e) {
         Project project = e.getProject();
@@ -41,40 +45,50 @@ public class GenerateAction extends AnAction {
         // 獲取用戶配置
         UserConfig config = dialog.getUserConfig();
 
-        // 創建目標目錄
-        PsiDirectory targetDirectory = createPackageDirectories(project, e.getData(CommonDataKeys.PSI_FILE),
-                config.targetPackage);
-        if (targetDirectory == null) {
+        // 查找源碼根目錄，包目錄在寫入階段再創建
+        VirtualFile sourceRoot = findSourceRoot(project, e.getData(CommonDataKeys.PSI_FILE));
+        if (sourceRoot == null) {
             Messages.showErrorDialog(project, "無法創建目標包路徑", "錯誤");
             return;
         }
 
-        // 生成 DTO 類
-        WriteCommandAction.runWriteCommandAction(project, () -> {
-            try {
-                generateDtoClasses(project, targetDirectory, config);
-            } catch (Exception ex) {
-                Messages.showErrorDialog(project, "生成DTO時發生錯誤: " + ex.getMessage(), "錯誤");
+        // 在後台分析結構並渲染所有類，完成後再統一寫入
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "生成DTO", true) {
+            private final DtoGeneration generation = new DtoGeneration(project, config);
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                indicator.setIndeterminate(true);
+                indicator.setText("正在分析結構...");
+                generation.analyze();
+                indicator.checkCanceled();
+
+                indicator.setIndeterminate(false);
+                indicator.setText("正在生成類...");
+                generation.render(new IndicatorProgressListener(indicator));
+                indicator.checkCanceled();
             }
-        });
-    }
 
-    private PsiDirectory createPackageDirectories(Project project, PsiFile currentFile, String packageName) {
-        try {
-            PsiManager psiManager = PsiManager.getInstance(project);
-            VirtualFile sourceRoot = findSourceRoot(project, currentFile);
-            if (sourceRoot == null)
-                return null;
-
-            PsiDirectory directory = psiManager.findDirectory(sourceRoot);
-            if (directory == null)
-                return null;
-
-            this.targetPackage = packageName;
-            return createDirectories(directory, packageName);
-        } catch (Exception ex) {
-            return null;
-        }
+            @Override
+            public void onSuccess() {
+                // 在一次寫入操作中創建包目錄並寫入所有文件
+                WriteCommandAction.runWriteCommandAction(project, () -> {
+                    try {
+                        GeneratedFileWriter.WriteResult result = generation.write(sourceRoot);
+                        SpecConfigService.getInstance(project)
+                                .update(config, dialog.getMessageDirection(), sourceRoot);
+                        showCompletionNotification(project, generation, result);
+                    } catch (Exception ex) {
+                        Messages.showErrorDialog(project, "生成DTO時發生錯誤: " + ex.getMessage(), "錯誤");
+                    }
+                });
+            }
+
+            @Override
+            public void onThrowable(@NotNull Throwable error) {
+                Messages.showErrorDialog(project, "生成DTO時發生錯誤: " + error.getMessage(), "錯誤");
+            }
+        });
     }
 
     private VirtualFile findSourceRoot(Project project, PsiFile currentFile) {
@@ -89,102 +103,68 @@ public class GenerateAction extends AnAction {
         return roots.length > 0 ? roots[0] : null;
     }
 
-    private PsiDirectory createDirectories(PsiDirectory root, String packagePath) {
-        PsiDirectory current = root;
-        for (String dir : packagePath.split("\\.")) {
-            PsiDirectory subDir = current.findSubdirectory(dir);
-            current = subDir != null ? subDir : current.createSubdirectory(dir);
-        }
-        return current;
-    }
-
-    private void generateDtoClasses(Project project, PsiDirectory directory, UserConfig config) {
-        Structure mainStructure = new StructureAnalyzer(
-                config.fields,
-                config.mainClassName,
-                config.levelClassNamesMap).analyze();
-
-        // 收集空類信息和計數
-        List<String> emptyClasses = new ArrayList<>();
-        ClassCounter counter = new ClassCounter();
-
-        // 檢查主類
+    private void countClasses(Structure structure, List<String> emptyClasses, ClassCounter counter) {
         counter.totalClasses++;
-        if (mainStructure.getFields().isEmpty()) {
-            emptyClasses.add(mainStructure.getClassName());
+        if (structure.getFields().isEmpty()) {
+            emptyClasses.add(structure.getClassName());
         } else {
             counter.successClasses++;
         }
 
-        // 遞歸生成所有類並檢查
-        generateAllClasses(project, directory, mainStructure, config, emptyClasses, counter);
-
-        // 顯示結果通知
-        showCompletionNotification(project, counter.totalClasses, counter.successClasses, emptyClasses);
-    }
-
-    private void generateAllClasses(Project project, PsiDirectory directory,
-                                    Structure structure, UserConfig config,
-                                    List<String> emptyClasses, ClassCounter counter) {
-        // 生成當前類
-        String classContent = new ClassGenerator(targetPackage, config)
-                .generateClass(structure.getClassName(), structure.getFields());
-        createJavaClass(project, directory, structure.getClassName(), classContent);
-
         // 檢查子類
         for (Structure childStructure : structure.getChildStructures()) {
-            counter.totalClasses++;
-            if (childStructure.getFields().isEmpty()) {
-                emptyClasses.add(childStructure.getClassName());
-            } else {
-                counter.successClasses++;
-            }
-            generateAllClasses(project, directory, childStructure, config, emptyClasses, counter);
+            countClasses(childStructure, emptyClasses, counter);
         }
     }
 
-    private void showCompletionNotification(Project project, int totalClasses, int successClasses,
-                                            List<String> emptyClasses) {
+    private void showCompletionNotification(Project project, DtoGeneration generation,
+                                            GeneratedFileWriter.WriteResult result) {
+        Structure mainStructure = generation.getMainStructure();
+        StructureDeduplicator deduplicator = generation.getDeduplicator();
+        int companionCount = generation.getCompanionCount();
+        List<String> aliasWarnings = generation.getAliasWarnings();
+
+        // 收集空類信息和計數
+        List<String> emptyClasses = new ArrayList<>();
+        ClassCounter counter = new ClassCounter();
+        countClasses(mainStructure, emptyClasses, counter);
+
         StringBuilder message = new StringBuilder()
-                .append(String.format("已成功生成 %d 個Class", successClasses));
+                .append(String.format("已成功生成 %d 個Class", counter.successClasses))
+                .append(String.format("\n新增 %d 個，更新 %d 個，未變更 %d 個文件",
+                        result.getCreated(), result.getUpdated(), result.getUnchanged()));
+        if (companionCount > 0) {
+            message.append(String.format("\n另生成 %d 個輔助類（驗證器、編解碼器等）",
+                    counter.totalClasses * companionCount));
+        }
+        if (generation.hasBenchmark()) {
+            message.append(String.format("\n另生成基準測試 %s%s", mainStructure.getClassName(), BenchmarkGenerator.SUFFIX));
+        }
+        if (deduplicator != null && deduplicator.getSharedCount() > 0) {
+            message.append(String.format("\n%d 個子結構改為引用其他電文已生成的類", deduplicator.getSharedCount()));
+        }
 
         if (!emptyClasses.isEmpty()) {
             message.append(String.format("\n\n警告：以下 %d 個類沒有任何屬性，可能是由於類型設置錯誤：\n", emptyClasses.size()))
                     .append(String.join("\n", emptyClasses));
         }
+        if (!aliasWarnings.isEmpty()) {
+            message.append(String.format("\n\n提示：以下 %d 個類的別名超過 %d 個，可考慮減少 JsonAlias 格式：\n",
+                            aliasWarnings.size(), AliasFanOutChecker.MAX_ALIASES_PER_CLASS))
+                    .append(String.join("\n", aliasWarnings));
+        }
 
         NotificationGroupManager.getInstance()
                 .getNotificationGroup("DTO Generator Notifications")
                 .createNotification(
                         "DTO生成完成",
                         message.toString(),
-                        emptyClasses.isEmpty() ? NotificationType.IDE_UPDATE : NotificationType.WARNING)
+                        emptyClasses.isEmpty()
+                                ? NotificationType.IDE_UPDATE
+                                : NotificationType.WARNING)
                 .notify(project);
     }
 
-    private void createJavaClass(Project project, PsiDirectory directory,
-                                 String className, String classContent) {
-        PsiFileFactory factory = PsiFileFactory.getInstance(project);
-        String fileName = className + ".java";
-
-        // 刪除已存在的文件
-        PsiFile existingFile = directory.findFile(fileName);
-        if (existingFile != null) {
-            existingFile.delete();
-        }
-
-        // 創建新文件
-        PsiFile file = factory.createFileFromText(fileName, StdFileTypes.JAVA, classContent);
-        directory.add(file);
-
-        // 優化導入
-        if (file instanceof PsiJavaFile) {
-            JavaCodeStyleManager styleManager = JavaCodeStyleManager.getInstance(project);
-            styleManager.optimizeImports((PsiJavaFile) file);
-            styleManager.shortenClassReferences(file);
-        }
-    }
-
     @Override
     public void update(@NotNull AnActionEvent e) {
         e.getPresentation().setEnabledAndVisible(e.getProject() != null);
@@ -192,7 +172,29 @@ public class GenerateAction extends AnAction {
 
     @Override
     public @NotNull ActionUpdateThread getActionUpdateThread() {
-        return ActionUpdateThread.EDT;
+        return ActionUpdateThread.BGT;
+    }
+
+    /**
+     * 將渲染進度轉發到進度指示器
+     */
+    private static class IndicatorProgressListener implements StructureRenderer.ProgressListener {
+        private final ProgressIndicator indicator;
+
+        IndicatorProgressListener(ProgressIndicator indicator) {
+            this.indicator = indicator;
+        }
+
+        @Override
+        public void onClassRendered(String className, int renderedCount, int totalCount) {
+            indicator.setFraction((double) renderedCount / totalCount);
+            indicator.setText2(String.format("%d / %d：%s", renderedCount, totalCount, className));
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return indicator.isCanceled();
+        }
     }
 
     private static class ClassCounter {
@@ -0,0 +1,58 @@
+package com.catchaybk.dtogeneratorplugin.intellij.listener;
+
+import com.catchaybk.dtogeneratorplugin.core.parser.SpecParser;
+import com.catchaybk.dtogeneratorplugin.intellij.service.SpecConfigService;
+import com.catchaybk.dtogeneratorplugin.intellij.service.SpecRegenerationService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 監聽專案中規格文件的變更
+ * 只挑出已保存配置的電文對應的規格文件，交給 {@link SpecRegenerationService} 延遲處理。
+ * 此處在寫入操作中被調用，不做任何解析或生成。
+ */
+public class SpecFileListener implements BulkFileListener {
+    private final Project project;
+
+    public SpecFileListener(Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public void after(@NotNull List<? extends VFileEvent> events) {
+        SpecConfigService configService = SpecConfigService.getInstance(project);
+        if (configService.isEmpty()) {
+            return;
+        }
+
+        List<VirtualFile> changed = new ArrayList<>();
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        for (VFileEvent event : events) {
+            if (event instanceof VFileDeleteEvent) {
+                continue;
+            }
+            VirtualFile file = event.getFile();
+            if (file == null || file.isDirectory() || !isSpecFile(file)) {
+                continue;
+            }
+            if (configService.find(file.getName()) != null && fileIndex.isInContent(file)) {
+                changed.add(file);
+            }
+        }
+        SpecRegenerationService.getInstance(project).schedule(changed);
+    }
+
+    private static boolean isSpecFile(VirtualFile file) {
+        String extension = file.getExtension();
+        return extension != null && SpecParser.DEFAULT_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,118 @@
+package com.catchaybk.dtogeneratorplugin.intellij.service;
+
+import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureAnalyzer;
+import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureDeduplicator;
+import com.catchaybk.dtogeneratorplugin.core.generator.AliasFanOutChecker;
+import com.catchaybk.dtogeneratorplugin.core.generator.BenchmarkGenerator;
+import com.catchaybk.dtogeneratorplugin.core.generator.ClassGenerator;
+import com.catchaybk.dtogeneratorplugin.core.generator.CompanionGenerator;
+import com.catchaybk.dtogeneratorplugin.core.generator.StructureRenderer;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+import com.catchaybk.dtogeneratorplugin.intellij.writer.GeneratedFileWriter;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一次DTO生成
+ * 手動生成與規格文件變更後的自動重新生成共用此流程，分為兩個階段：
+ * 1. 後台線程中分析結構（analyze）並渲染所有類（render），不需要任何IDE鎖
+ * 2. 寫入操作中寫入文件並登記共用結構（write）
+ */
+@Getter
+public class DtoGeneration {
+    private final Project project;
+    private final UserConfig config;
+    private StructureDeduplicator deduplicator;
+    private Structure mainStructure;
+    private Map<String, String> classSources;
+    private List<String> aliasWarnings = List.of();
+    private int companionCount;
+    private List<String> companionSuffixes = List.of();
+
+    public DtoGeneration(Project project, UserConfig config) {
+        this.project = project;
+        this.config = config;
+    }
+
+    /**
+     * 分析結構樹，可在後台線程中調用
+     */
+    public void analyze() {
+        deduplicator = createDeduplicator();
+        mainStructure = new StructureAnalyzer(
+                config.fields,
+                config.mainClassName,
+                config.levelClassNamesMap,
+                deduplicator).analyze();
+    }
+
+    /**
+     * 渲染所有類及伴生類，可在後台線程中調用
+     *
+     * @param listener 進度監聽器，取消後不再渲染尚未開始的類
+     */
+    public void render(StructureRenderer.ProgressListener listener) {
+        ClassGenerator generator = new ClassGenerator(config.targetPackage, config);
+        List<CompanionGenerator> companionGenerators = CompanionGenerator.forConfig(config.targetPackage, config);
+        companionCount = companionGenerators.size();
+        companionSuffixes = companionGenerators.stream().map(CompanionGenerator::getSuffix).toList();
+        classSources = new StructureRenderer(generator, companionGenerators).render(mainStructure, listener);
+        if (listener.isCanceled()) {
+            return;
+        }
+
+        if (hasBenchmark()) {
+            classSources.put(mainStructure.getClassName() + BenchmarkGenerator.SUFFIX,
+                    new BenchmarkGenerator(config.targetPackage, config).generate(mainStructure));
+        }
+        if (config.isEnabled(GenerationFeature.JACKSON_THROUGHPUT)) {
+            aliasWarnings = new AliasFanOutChecker(generator).check(mainStructure);
+        }
+    }
+
+    /**
+     * 是否為主結構生成了基準測試
+     */
+    public boolean hasBenchmark() {
+        return config.isEnabled(GenerationFeature.BENCHMARKS);
+    }
+
+    /**
+     * 寫入所有渲染好的類，並登記可供其他電文共用的子結構
+     * 必須在寫入操作中調用
+     *
+     * @param sourceRoot 源碼根目錄
+     * @return 新增、更新及未變更的文件數量
+     * @throws IOException 創建目錄或寫入文件失敗時
+     */
+    public GeneratedFileWriter.WriteResult write(VirtualFile sourceRoot) throws IOException {
+        GeneratedFileWriter.WriteResult result =
+                new GeneratedFileWriter(sourceRoot, config.targetPackage).write(classSources);
+        if (deduplicator != null && config.isEnabled(GenerationFeature.SHARED_STRUCTURES)) {
+            StructureIndexService.getInstance(project)
+                    .register(deduplicator.getIndexEntries(), config.targetPackage, companionSuffixes);
+        }
+        return result;
+    }
+
+    /**
+     * 根據生成選項創建結構去重器，未啟用合併時返回 null
+     */
+    private StructureDeduplicator createDeduplicator() {
+        if (!config.isEnabled(GenerationFeature.MERGE_IDENTICAL_STRUCTURES)) {
+            return null;
+        }
+        if (!config.isEnabled(GenerationFeature.SHARED_STRUCTURES)) {
+            return new StructureDeduplicator();
+        }
+        return new StructureDeduplicator(StructureIndexService.getInstance(project).createIndex(),
+                config.targetPackage, StructureDeduplicator.outputVariant(config));
+    }
+}
@@ -0,0 +1,189 @@
+package com.catchaybk.dtogeneratorplugin.intellij.service;
+
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
+import com.catchaybk.dtogeneratorplugin.core.generator.ClassNameGenerator;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+import com.catchaybk.dtogeneratorplugin.core.parser.SpecParser;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 專案級電文配置
+ * 啟用「規格文件變更時自動重新生成」後，保存每個電文最近一次生成時的配置，存儲在專案的 .idea 目錄中。
+ * 配置以電文ID為鍵，與規格文件名去除副檔名後的電文ID（不分大小寫）對應。
+ */
+@Service(Service.Level.PROJECT)
+@State(name = "DtoGeneratorSpecConfigs", storages = @Storage("dtoGeneratorSpecConfigs.xml"))
+public final class SpecConfigService implements PersistentStateComponent<SpecConfigService.ConfigState> {
+    private final Map<String, SpecConfig> configs = new ConcurrentHashMap<>();
+
+    public static SpecConfigService getInstance(Project project) {
+        return project.getService(SpecConfigService.class);
+    }
+
+    /**
+     * 生成完成後記錄配置：啟用自動重新生成時保存，否則移除該電文已保存的配置
+     *
+     * @param config           本次生成的用戶配置
+     * @param messageDirection 電文方向（上行/下行/無），用於為新增的子結構命名
+     * @param sourceRoot       本次寫入的源碼根目錄
+     */
+    public void update(UserConfig config, String messageDirection, VirtualFile sourceRoot) {
+        if (config.msgId == null || config.msgId.isEmpty()) {
+            return;
+        }
+        String key = key(config.msgId);
+        if (!config.isEnabled(GenerationFeature.WATCH_SPEC_FILES)) {
+            configs.remove(key);
+            return;
+        }
+        configs.put(key, SpecConfig.of(config, messageDirection, sourceRoot.getUrl()));
+    }
+
+    /**
+     * 按規格文件名查找已保存的配置
+     *
+     * @param fileName 規格文件名
+     * @return 配置，該電文未啟用自動重新生成時為 null
+     */
+    public SpecConfig find(String fileName) {
+        return configs.get(key(SpecParser.specId(fileName)));
+    }
+
+    /**
+     * 是否沒有任何電文啟用自動重新生成
+     */
+    public boolean isEmpty() {
+        return configs.isEmpty();
+    }
+
+    private static String key(String msgId) {
+        return SpecParser.specId(msgId).toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public ConfigState getState() {
+        ConfigState state = new ConfigState();
+        state.configs = new HashMap<>(configs);
+        return state;
+    }
+
+    @Override
+    public void loadState(@NotNull ConfigState state) {
+        configs.clear();
+        configs.putAll(state.configs);
+    }
+
+    /**
+     * 持久化狀態
+     */
+    public static class ConfigState {
+        public Map<String, SpecConfig> configs = new HashMap<>();
+    }
+
+    /**
+     * 單個電文的生成配置
+     * 字段不含規格內容本身，重新生成時從規格文件解析
+     */
+    public static class SpecConfig {
+        public String msgId = "";
+        public String mainClassName = "";
+        public String author = "";
+        public boolean java17 = true;
+        public String messageDirection = "無";
+        public String messageDirectionComment = "";
+        public String targetPackage = "";
+        public String sourceRootUrl = "";
+        public String jsonPropertyStyle = "原始格式";
+        public List<String> jsonAliasStyles = new ArrayList<>();
+        /** 啟用的生成功能的命令列名稱 */
+        public List<String> features = new ArrayList<>();
+        /** 「層級:字段名」到配置對話框中填寫的子類名 */
+        public Map<String, String> classNames = new HashMap<>();
+
+        static SpecConfig of(UserConfig config, String messageDirection, String sourceRootUrl) {
+            SpecConfig specConfig = new SpecConfig();
+            specConfig.msgId = config.msgId;
+            specConfig.mainClassName = config.mainClassName;
+            specConfig.author = config.author != null ? config.author : "";
+            specConfig.java17 = config.isJava17;
+            specConfig.messageDirection = messageDirection;
+            specConfig.messageDirectionComment = config.messageDirectionComment;
+            specConfig.targetPackage = config.targetPackage;
+            specConfig.sourceRootUrl = sourceRootUrl;
+            specConfig.jsonPropertyStyle = config.jsonPropertyStyle;
+            specConfig.jsonAliasStyles = new ArrayList<>(config.jsonAliasStyles);
+            for (GenerationFeature feature : config.features) {
+                specConfig.features.add(feature.getOptionName());
+            }
+            if (config.levelClassNamesMap != null) {
+                for (Map.Entry<Integer, Map<String, String>> level : config.levelClassNamesMap.entrySet()) {
+                    for (Map.Entry<String, String> entry : level.getValue().entrySet()) {
+                        specConfig.classNames.put(level.getKey() + ":" + entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            return specConfig;
+        }
+
+        /**
+         * 以規格文件中的字段創建用戶配置
+         * 保存過的子類名沿用；規格中新增的對象字段按命名規則生成類名，與配置對話框自動填入的一致
+         *
+         * @param fields   從規格文件解析的字段
+         * @param messages 驗證消息模板
+         * @return 用戶配置
+         */
+        public UserConfig toUserConfig(List<Field> fields, ValidationMessageTemplates messages) {
+            Map<Integer, Map<String, String>> levelClassNamesMap =
+                    ClassNameGenerator.generateLevelClassNames(fields, msgId, messageDirection);
+            for (Map.Entry<String, String> entry : classNames.entrySet()) {
+                int colon = entry.getKey().indexOf(':');
+                if (colon > 0) {
+                    levelClassNamesMap
+                            .computeIfAbsent(Integer.parseInt(entry.getKey().substring(0, colon)), k -> new HashMap<>())
+                            .put(entry.getKey().substring(colon + 1), entry.getValue());
+                }
+            }
+
+            Set<GenerationFeature> enabledFeatures = EnumSet.noneOf(GenerationFeature.class);
+            for (String feature : features) {
+                try {
+                    enabledFeatures.add(GenerationFeature.fromOptionName(feature));
+                } catch (IllegalArgumentException e) {
+                    // 舊版本保存的功能已不存在
+                }
+            }
+
+            return new UserConfig(
+                    fields,
+                    mainClassName,
+                    author,
+                    msgId,
+                    java17,
+                    messageDirectionComment,
+                    levelClassNamesMap,
+                    targetPackage,
+                    jsonPropertyStyle,
+                    jsonAliasStyles,
+                    messages,
+                    enabledFeatures);
+        }
+    }
+}
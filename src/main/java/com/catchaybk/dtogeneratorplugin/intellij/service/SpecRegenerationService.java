@@ -0,0 +1,213 @@
+package com.catchaybk.dtogeneratorplugin.intellij.service;
+
+import com.catchaybk.dtogeneratorplugin.core.generator.ContentHash;
+import com.catchaybk.dtogeneratorplugin.core.generator.StructureRenderer;
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+import com.catchaybk.dtogeneratorplugin.core.parser.SpecParser;
+import com.catchaybk.dtogeneratorplugin.intellij.ui.dialog.ValidationMessageSettingDialog;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.util.Alarm;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 規格文件變更後的自動重新生成
+ * 變更的文件先合併到待處理集合，最後一次變更後等待一段時間再統一處理，
+ * 這樣 git pull 等批量更新只會觸發一次後台任務。任務逐個文件處理：
+ * 解析、分析、渲染都在後台線程，只有寫入文件時短暫進入寫入操作；
+ * 內容與上次生成時相同的文件直接跳過。
+ * 文件處理完成後才從待處理集合移除，任務被取消時未處理的文件保留到下一次變更時一併處理。
+ */
+@Service(Service.Level.PROJECT)
+public final class SpecRegenerationService implements Disposable {
+    /** 最後一次變更後等待的時間 */
+    private static final int DEBOUNCE_MILLIS = 1000;
+
+    private final Project project;
+    private final Alarm alarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+    /** 待處理的規格文件到最近一次登記的序號，處理期間再次登記的文件不會在處理完成時被移除 */
+    private final Map<VirtualFile, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicLong scheduleCount = new AtomicLong();
+    /** 規格文件URL到上次生成時內容的哈希值 */
+    private final Map<String, String> generatedHashes = new ConcurrentHashMap<>();
+    /** 是否有後台任務在執行，只在事件分派線程中讀寫 */
+    private boolean running;
+
+    public SpecRegenerationService(Project project) {
+        this.project = project;
+    }
+
+    public static SpecRegenerationService getInstance(Project project) {
+        return project.getService(SpecRegenerationService.class);
+    }
+
+    /**
+     * 登記變更的規格文件，最後一次變更後延遲處理
+     *
+     * @param files 變更的規格文件
+     */
+    public void schedule(Collection<VirtualFile> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        long stamp = scheduleCount.incrementAndGet();
+        for (VirtualFile file : files) {
+            pending.put(file, stamp);
+        }
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::flush, DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * 開始處理待處理的文件；已有任務在執行時，新登記的文件由該任務一併處理
+     */
+    private void flush() {
+        if (running || pending.isEmpty() || project.isDisposed()) {
+            return;
+        }
+        running = true;
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "根據規格文件重新生成DTO", true) {
+            private final List<String> regenerated = new ArrayList<>();
+            private final List<String> failures = new ArrayList<>();
+            private boolean canceled;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                for (Map.Entry<VirtualFile, Long> entry : pending.entrySet()) {
+                    indicator.checkCanceled();
+                    VirtualFile file = entry.getKey();
+                    indicator.setText("正在處理 " + file.getName());
+                    try {
+                        regenerate(file, indicator);
+                    } catch (ProcessCanceledException e) {
+                        // 取消時文件仍在待處理集合中
+                        throw e;
+                    } catch (Exception e) {
+                        failures.add(file.getName() + "：" + e.getMessage());
+                    }
+                    pending.remove(file, entry.getValue());
+                }
+            }
+
+            private void regenerate(VirtualFile file, ProgressIndicator indicator) throws Exception {
+                SpecConfigService.SpecConfig specConfig = SpecConfigService.getInstance(project).find(file.getName());
+                if (specConfig == null || !file.isValid()) {
+                    return;
+                }
+                String text = ReadAction.compute(() -> VfsUtilCore.loadText(file));
+                String hash = ContentHash.of(text);
+                if (hash.equals(generatedHashes.get(file.getUrl()))) {
+                    return;
+                }
+
+                List<Field> fields = SpecParser.parseFields(text, specConfig.java17);
+                if (fields.isEmpty()) {
+                    return;
+                }
+                VirtualFile sourceRoot = VirtualFileManager.getInstance().findFileByUrl(specConfig.sourceRootUrl);
+                if (sourceRoot == null) {
+                    throw new IllegalStateException("找不到源碼根目錄 " + specConfig.sourceRootUrl);
+                }
+
+                UserConfig config = specConfig.toUserConfig(fields, ValidationMessageSettingDialog.loadTemplates());
+                DtoGeneration generation = new DtoGeneration(project, config);
+                generation.analyze();
+                generation.render(new StructureRenderer.ProgressListener() {
+                    @Override
+                    public void onClassRendered(String className, int renderedCount, int totalCount) {
+                        indicator.setText2(String.format("%d / %d：%s", renderedCount, totalCount, className));
+                    }
+
+                    @Override
+                    public boolean isCanceled() {
+                        return indicator.isCanceled();
+                    }
+                });
+                indicator.checkCanceled();
+
+                // 每個電文單獨一次寫入操作，避免長時間阻塞界面
+                Exception[] error = new Exception[1];
+                ApplicationManager.getApplication().invokeAndWait(() -> {
+                    try {
+                        WriteCommandAction.writeCommandAction(project)
+                                .withName("重新生成 " + config.mainClassName)
+                                .compute(() -> generation.write(sourceRoot));
+                    } catch (Exception e) {
+                        error[0] = e;
+                    }
+                });
+                if (error[0] != null) {
+                    throw error[0];
+                }
+                generatedHashes.put(file.getUrl(), hash);
+                regenerated.add(config.mainClassName);
+            }
+
+            @Override
+            public void onCancel() {
+                canceled = true;
+            }
+
+            @Override
+            public void onFinished() {
+                running = false;
+                if (!regenerated.isEmpty() || !failures.isEmpty()) {
+                    showNotification(regenerated, failures);
+                }
+                // 任務結束前登記而未被處理的文件；用戶取消時不自動重新開始
+                if (!canceled && !pending.isEmpty()) {
+                    alarm.addRequest(SpecRegenerationService.this::flush, DEBOUNCE_MILLIS);
+                }
+            }
+        });
+    }
+
+    private void showNotification(List<String> regenerated, List<String> failures) {
+        StringBuilder message = new StringBuilder();
+        if (!regenerated.isEmpty()) {
+            message.append(String.format("已重新生成 %d 個電文：", regenerated.size()))
+                    .append(String.join("、", regenerated));
+        }
+        if (!failures.isEmpty()) {
+            if (message.length() > 0) {
+                message.append("\n\n");
+            }
+            message.append(String.format("以下 %d 個規格文件重新生成失敗：\n", failures.size()))
+                    .append(String.join("\n", failures));
+        }
+
+        NotificationGroupManager.getInstance()
+                .getNotificationGroup("DTO Generator Notifications")
+                .createNotification(
+                        "DTO重新生成完成",
+                        message.toString(),
+                        failures.isEmpty() ? NotificationType.INFORMATION : NotificationType.WARNING)
+                .notify(project);
+    }
+
+    @Override
+    public void dispose() {
+        pending.clear();
+    }
+}
@@ -0,0 +1,132 @@
+package com.catchaybk.dtogeneratorplugin.intellij.service;
+
+import com.catchaybk.dtogeneratorplugin.core.analyzer.StructureIndex;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.IndexNotReadyException;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.search.GlobalSearchScope;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 專案級共用結構索引
+ * 保存每個已生成子類的索引鍵（結構指紋及輸出形式）與完整類名，存儲在專案的 .idea 目錄中，
+ * 生成其他電文時以相同選項生成的相同子結構可直接引用已有的類
+ * <p>
+ * 查詢為一次哈希表查找；返回前確認類及其伴生類（驗證器、編解碼器等）仍存在於專案中，
+ * 已刪除或改名的類會從索引移除。
+ * 索引建立期間無法查找類，此時不共用任何類。
+ */
+@Service(Service.Level.PROJECT)
+@State(name = "DtoGeneratorStructureIndex", storages = @Storage("dtoGeneratorStructureIndex.xml"))
+public final class StructureIndexService implements PersistentStateComponent<StructureIndexService.IndexState> {
+    /** 索引鍵的計算方式，變更後舊的條目不再適用 */
+    private static final int VERSION = 3;
+
+    private final Project project;
+    private final Map<String, String> entries = new ConcurrentHashMap<>();
+    /** 索引鍵到該類伴生類的後綴，沒有伴生類的類不記錄 */
+    private final Map<String, List<String>> companions = new ConcurrentHashMap<>();
+
+    public StructureIndexService(Project project) {
+        this.project = project;
+    }
+
+    public static StructureIndexService getInstance(Project project) {
+        return project.getService(StructureIndexService.class);
+    }
+
+    /**
+     * 創建供結構去重器使用的索引，可在後台線程中調用
+     */
+    public StructureIndex createIndex() {
+        return this::find;
+    }
+
+    /**
+     * 記錄本次生成的子類
+     *
+     * @param structures        索引鍵到結構的映射
+     * @param packageName       類所在的包
+     * @param companionSuffixes 本次為每個類生成的伴生類的後綴
+     */
+    public void register(Map<String, Structure> structures, String packageName, List<String> companionSuffixes) {
+        String prefix = packageName == null || packageName.isEmpty() ? "" : packageName + ".";
+        for (Map.Entry<String, Structure> entry : structures.entrySet()) {
+            entries.put(entry.getKey(), prefix + entry.getValue().getClassName());
+            if (companionSuffixes.isEmpty()) {
+                companions.remove(entry.getKey());
+            } else {
+                companions.put(entry.getKey(), List.copyOf(companionSuffixes));
+            }
+        }
+    }
+
+    private String find(String key) {
+        String qualifiedName = entries.get(key);
+        if (qualifiedName == null || DumbService.isDumb(project)) {
+            return null;
+        }
+        try {
+            if (!classExists(qualifiedName)) {
+                entries.remove(key, qualifiedName);
+                companions.remove(key);
+                return null;
+            }
+            for (String suffix : companions.getOrDefault(key, List.of())) {
+                if (!classExists(qualifiedName + suffix)) {
+                    // 伴生類已被刪除，引用該類會使父類的伴生類無法編譯
+                    return null;
+                }
+            }
+        } catch (IndexNotReadyException e) {
+            // 查找期間開始建立索引
+            return null;
+        }
+        return qualifiedName;
+    }
+
+    private boolean classExists(String qualifiedName) {
+        return ReadAction.compute(() -> !project.isDisposed() && JavaPsiFacade.getInstance(project)
+                .findClass(qualifiedName, GlobalSearchScope.projectScope(project)) != null);
+    }
+
+    @Override
+    public IndexState getState() {
+        IndexState state = new IndexState();
+        state.version = VERSION;
+        state.entries = new HashMap<>(entries);
+        state.companions = new HashMap<>(companions);
+        return state;
+    }
+
+    @Override
+    public void loadState(@NotNull IndexState state) {
+        entries.clear();
+        companions.clear();
+        if (state.version == VERSION) {
+            entries.putAll(state.entries);
+            companions.putAll(state.companions);
+        }
+    }
+
+    /**
+     * 持久化狀態
+     */
+    public static class IndexState {
+        public int version;
+        public Map<String, String> entries = new HashMap<>();
+        public Map<String, List<String>> companions = new HashMap<>();
+    }
+}
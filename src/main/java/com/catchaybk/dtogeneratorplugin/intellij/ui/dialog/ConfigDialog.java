@@ -1,6 +1,7 @@
 package com.catchaybk.dtogeneratorplugin.intellij.ui.dialog;
 
 import com.catchaybk.dtogeneratorplugin.core.generator.ClassNameGenerator;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
 import com.catchaybk.dtogeneratorplugin.intellij.ui.factory.ConfigPanelFactory;
 import com.intellij.ide.util.PackageChooserDialog;
 import com.intellij.ide.util.PropertiesComponent;
@@ -23,9 +24,12 @@ import javax.swing.border.MatteBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -146,7 +150,8 @@ public class ConfigDialog extends DialogWrapper {
                 ui.javaVersionBox,
                 ui.mainClassField,
                 ui.jsonPropertyStyleCombo,
-                ui.jsonAliasPanel
+                ui.jsonAliasPanel,
+                ui.featurePanel
         };
 
         String[] labels = {
@@ -158,7 +163,8 @@ public class ConfigDialog extends DialogWrapper {
                 "Java版本:",
                 "主類名:",
                 "JSON Property 格式:",
-                "JSON Alias 格式:"
+                "JSON Alias 格式:",
+                "生成選項:"
         };
 
         // 創建基本配置面板
@@ -298,6 +304,21 @@ public class ConfigDialog extends DialogWrapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 獲取勾選的生成功能
+     *
+     * @return 生成功能集合
+     */
+    public Set<GenerationFeature> getFeatures() {
+        Set<GenerationFeature> features = EnumSet.noneOf(GenerationFeature.class);
+        for (Map.Entry<GenerationFeature, JCheckBox> entry : ui.featureBoxes.entrySet()) {
+            if (entry.getValue().isSelected()) {
+                features.add(entry.getKey());
+            }
+        }
+        return features;
+    }
+
     /**
      * 獲取電文方向的註釋
      */
@@ -577,6 +598,8 @@ public class ConfigDialog extends DialogWrapper {
         final JList<String> jsonAliasStyleList;
         final JScrollPane jsonAliasScrollPane;
         final JPanel jsonAliasPanel;
+        final Map<GenerationFeature, JCheckBox> featureBoxes = new EnumMap<>(GenerationFeature.class);
+        final JPanel featurePanel;
 
         UIComponents() {
             // 創建組件
@@ -643,6 +666,8 @@ public class ConfigDialog extends DialogWrapper {
             tipLabel.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 0));
             jsonAliasPanel.add(tipLabel, BorderLayout.NORTH);
 
+            featurePanel = createFeaturePanel();
+
             // 初始化包路徑
             packageChooser.setText(config.initialPackage);
 
@@ -708,6 +733,21 @@ public class ConfigDialog extends DialogWrapper {
             return comboBox;
         }
 
+        private JPanel createFeaturePanel() {
+            JPanel panel = new JPanel();
+            panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+            panel.setOpaque(false);
+            for (GenerationFeature feature : GenerationFeature.values()) {
+                JCheckBox checkBox = new JCheckBox(feature.getDisplayName());
+                checkBox.setOpaque(false);
+                checkBox.setSelected(feature.isEnabledByDefault());
+                checkBox.setToolTipText(feature.getDescription());
+                featureBoxes.put(feature, checkBox);
+                panel.add(checkBox);
+            }
+            return panel;
+        }
+
         private JComboBox<String> createJavaVersionBox() {
             JComboBox<String> comboBox = new JComboBox<>(JAVA_VERSIONS);
             styleComboBox(comboBox);
@@ -1,6 +1,7 @@
 package com.catchaybk.dtogeneratorplugin.intellij.ui.dialog;
 
 import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
 import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
 import com.catchaybk.dtogeneratorplugin.intellij.ui.model.FieldTableModel;
 import com.intellij.ide.util.PropertiesComponent;
@@ -106,7 +107,7 @@ public class GeneratorDialog extends DialogWrapper {
 
                 // 設置列標題提示
                 String toolTip = switch (column) {
-                    case 0 -> "欄位層級 (1-3)";
+                    case 0 -> "欄位層級 (從 1 開始，不限層數)";
                     case 1 -> "欄位名稱 (例如: userId)";
                     case 2 -> "數據類型 (例如: String, Integer, List<User>)";
                     case 3 -> "數據長度限制 (例如: 字串使用'50'，小數使用'10,2')";
@@ -535,6 +536,10 @@ public class GeneratorDialog extends DialogWrapper {
         return new HashMap<>(levelClassNamesMap);
     }
 
+    public String getMessageDirection() {
+        return configDialog != null ? configDialog.getMessageDirection() : "無";
+    }
+
     public String getMessageDirectionComment() {
         return configDialog != null ? configDialog.getMessageDirectionComment() : "";
     }
@@ -559,6 +564,8 @@ public class GeneratorDialog extends DialogWrapper {
                 getLevelClassNamesMap(),
                 getTargetPackage(),
                 configDialog != null ? configDialog.getJsonPropertyStyle().split(" ")[0] : "原始格式",
-                configDialog != null ? configDialog.getJsonAliasStyles() : Collections.emptyList());
+                configDialog != null ? configDialog.getJsonAliasStyles() : Collections.emptyList(),
+                ValidationMessageSettingDialog.loadTemplates(),
+                configDialog != null ? configDialog.getFeatures() : GenerationFeature.defaults());
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.catchaybk.dtogeneratorplugin.intellij.ui.dialog;
 
+import com.catchaybk.dtogeneratorplugin.core.config.ValidationMessageTemplates;
 import com.intellij.ide.util.PropertiesComponent;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.ui.DialogWrapper;
 import com.intellij.ui.components.JBTextField;
 
@@ -27,12 +29,6 @@ import java.awt.Insets;
  * - ${fraction} - 小數位數（僅用於Digits）
  */
 public class ValidationMessageSettingDialog extends DialogWrapper {
-    private static final String NOTBLANK_KEY = "dto.generator.validation.notblank";
-    private static final String NOTNULL_KEY = "dto.generator.validation.notnull";
-    private static final String SIZE_KEY = "dto.generator.validation.size";
-    private static final String DIGITS_KEY = "dto.generator.validation.digits";
-    private static final String PATTERN_KEY = "dto.generator.validation.pattern";
-
     private final JBTextField notBlankField;
     private final JBTextField notNullField;
     private final JBTextField sizeField;
@@ -42,55 +38,39 @@ public class ValidationMessageSettingDialog extends DialogWrapper {
     public ValidationMessageSettingDialog() {
         super(true);
 
-        PropertiesComponent props = PropertiesComponent.getInstance();
-        notBlankField = new JBTextField(props.getValue(NOTBLANK_KEY, "${name} 不得為空"));
-        notNullField = new JBTextField(props.getValue(NOTNULL_KEY, "${name} 為必填"));
-        sizeField = new JBTextField(props.getValue(SIZE_KEY, "${name} 長度不得超過${max}"));
-        digitsField = new JBTextField(props.getValue(DIGITS_KEY,
-                "${name}格式不正確，整數位最多${integer}位，小數位最多${fraction}位"));
-        patternField = new JBTextField(props.getValue(PATTERN_KEY, "${name} 不符合格式"));
+        ValidationMessageTemplates templates = loadTemplates();
+        notBlankField = new JBTextField(templates.getNotBlank());
+        notNullField = new JBTextField(templates.getNotNull());
+        sizeField = new JBTextField(templates.getSize());
+        digitsField = new JBTextField(templates.getDigits());
+        patternField = new JBTextField(templates.getPattern());
 
         init();
         setTitle("驗證消息設置");
     }
 
-    public static String getNotBlankMessage(String propertyName, String comment) {
-        String template = PropertiesComponent.getInstance().getValue(NOTBLANK_KEY, "${name} 不得為空");
-        return template.replace("${name}", propertyName)
-                .replace("${comment}", comment != null && !comment.isEmpty() ? comment : propertyName);
-    }
-
-    public static String getNotNullMessage(String propertyName, String comment) {
-        String template = PropertiesComponent.getInstance().getValue(NOTNULL_KEY, "${name} 為必填");
-        return template.replace("${name}", propertyName)
-                .replace("${comment}", comment != null && !comment.isEmpty() ? comment : propertyName);
-    }
-
-    public static String getSizeMessage(String propertyName, String comment, String max) {
-        String template = PropertiesComponent.getInstance().getValue(SIZE_KEY, "${name} 長度不得超過${max}");
-        return template.replace("${name}", propertyName)
-                .replace("${comment}", comment != null && !comment.isEmpty() ? comment : propertyName)
-                .replace("${max}", max);
-    }
-
-    public static String getDigitsMessage(String propertyName, String comment, String size) {
-        String template = PropertiesComponent.getInstance().getValue(DIGITS_KEY,
-                "${name}格式不正確，整數位最多${integer}位，小數位最多${fraction}位");
-
-        String[] parts = size.split(",");
-        String integer = parts[0];
-        String fraction = parts.length > 1 ? parts[1] : "0";
-
-        return template.replace("${name}", propertyName)
-                .replace("${comment}", comment != null && !comment.isEmpty() ? comment : propertyName)
-                .replace("${integer}", integer)
-                .replace("${fraction}", fraction);
+    /**
+     * 讀取目前保存的消息模板
+     * 每次生成只需讀取一次，之後由 UserConfig 傳遞給各個字段
+     */
+    public static ValidationMessageTemplates loadTemplates() {
+        return new ValidationMessageTemplates(
+                getTemplate(ValidationMessageTemplates.NOTBLANK_KEY, ValidationMessageTemplates.DEFAULT_NOTBLANK),
+                getTemplate(ValidationMessageTemplates.NOTNULL_KEY, ValidationMessageTemplates.DEFAULT_NOTNULL),
+                getTemplate(ValidationMessageTemplates.SIZE_KEY, ValidationMessageTemplates.DEFAULT_SIZE),
+                getTemplate(ValidationMessageTemplates.DIGITS_KEY, ValidationMessageTemplates.DEFAULT_DIGITS),
+                getTemplate(ValidationMessageTemplates.PATTERN_KEY, ValidationMessageTemplates.DEFAULT_PATTERN));
     }
 
-    public static String getPatternMessage(String propertyName, String comment) {
-        String template = PropertiesComponent.getInstance().getValue(PATTERN_KEY, "${name} 不符合格式");
-        return template.replace("${name}", propertyName)
-                .replace("${comment}", comment != null && !comment.isEmpty() ? comment : propertyName);
+    /**
+     * 讀取消息模板
+     * 在沒有IDE實例的環境（如JMH基準測試）中直接使用默認模板
+     */
+    private static String getTemplate(String key, String defaultTemplate) {
+        if (ApplicationManager.getApplication() == null) {
+            return defaultTemplate;
+        }
+        return PropertiesComponent.getInstance().getValue(key, defaultTemplate);
     }
 
     @Override
@@ -141,11 +121,11 @@ public class ValidationMessageSettingDialog extends DialogWrapper {
     @Override
     protected void doOKAction() {
         PropertiesComponent props = PropertiesComponent.getInstance();
-        props.setValue(NOTBLANK_KEY, notBlankField.getText());
-        props.setValue(NOTNULL_KEY, notNullField.getText());
-        props.setValue(SIZE_KEY, sizeField.getText());
-        props.setValue(DIGITS_KEY, digitsField.getText());
-        props.setValue(PATTERN_KEY, patternField.getText());
+        props.setValue(ValidationMessageTemplates.NOTBLANK_KEY, notBlankField.getText());
+        props.setValue(ValidationMessageTemplates.NOTNULL_KEY, notNullField.getText());
+        props.setValue(ValidationMessageTemplates.SIZE_KEY, sizeField.getText());
+        props.setValue(ValidationMessageTemplates.DIGITS_KEY, digitsField.getText());
+        props.setValue(ValidationMessageTemplates.PATTERN_KEY, patternField.getText());
         super.doOKAction();
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.catchaybk.dtogeneratorplugin.intellij.writer;
+
+import com.catchaybk.dtogeneratorplugin.core.generator.ContentHash;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 生成文件寫入器
+ * 在一次寫入操作中把所有渲染好的類直接寫入VFS
+ * <p>
+ * 與逐個創建PsiFile相比：
+ * 1. 已存在的文件直接覆蓋內容，保留文件身份，不會先刪除再新增
+ * 2. 不為每個文件單獨構建PSI，也不逐個優化導入（ClassGenerator 已輸出排序好的最小導入列表）
+ * 3. 包目錄的創建與文件寫入位於同一寫入操作中
+ * 4. 內容與現有文件相同的類不會被重寫，避免無謂的索引失效和重新編譯
+ * <p>
+ * 所有方法都必須在寫入操作中調用
+ */
+public class GeneratedFileWriter {
+    private final VirtualFile sourceRoot;
+    private final String packageName;
+
+    public GeneratedFileWriter(VirtualFile sourceRoot, String packageName) {
+        this.sourceRoot = sourceRoot;
+        this.packageName = packageName;
+    }
+
+    /**
+     * 寫入所有類
+     *
+     * @param classSources 類名到源碼的映射
+     * @return 新增、更新及未變更的文件數量
+     * @throws IOException 創建目錄或寫入文件失敗時
+     */
+    public WriteResult write(Map<String, String> classSources) throws IOException {
+        WriteResult result = new WriteResult();
+        VirtualFile directory = createPackageDirectory();
+        for (Map.Entry<String, String> entry : classSources.entrySet()) {
+            String fileName = entry.getKey() + ".java";
+            VirtualFile file = directory.findChild(fileName);
+            if (file == null) {
+                file = directory.createChildData(this, fileName);
+                result.created++;
+            } else if (ContentHash.sameContent(VfsUtil.loadText(file), entry.getValue())) {
+                result.unchanged++;
+                continue;
+            } else {
+                result.updated++;
+            }
+            VfsUtil.saveText(file, entry.getValue());
+        }
+        return result;
+    }
+
+    private VirtualFile createPackageDirectory() throws IOException {
+        if (packageName == null || packageName.isEmpty()) {
+            return sourceRoot;
+        }
+        VirtualFile directory = VfsUtil.createDirectoryIfMissing(sourceRoot, packageName.replace('.', '/'));
+        if (directory == null) {
+            throw new IOException("無法創建目標包路徑: " + packageName);
+        }
+        return directory;
+    }
+
+    /**
+     * 寫入結果統計
+     */
+    @Getter
+    public static class WriteResult {
+        private int created;
+        private int updated;
+        private int unchanged;
+    }
+}
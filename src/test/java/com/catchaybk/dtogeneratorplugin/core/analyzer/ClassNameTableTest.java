@@ -0,0 +1,76 @@
+package com.catchaybk.dtogeneratorplugin.core.analyzer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClassNameTableTest {
+
+    @Test
+    void resolvesNamesOnDeepPaths() {
+        Map<Integer, Map<String, String>> configured = new HashMap<>();
+        configured.put(8, new HashMap<>(Map.of("L8", "LeafDTO")));
+        configured.put(3, new HashMap<>(Map.of("L7", "SeventhDTO")));
+        ClassNameTable table = new ClassNameTable("Main", configured);
+
+        ClassNameTable.Path path = ClassNameTable.Path.ROOT;
+        for (int level = 1; level <= 6; level++) {
+            path = path.child("L" + level);
+            assertEquals("L" + level + "DTO", table.assign(path, level));
+        }
+        ClassNameTable.Path l7 = path.child("L7");
+        ClassNameTable.Path l8 = l7.child("L8");
+        ClassNameTable.Path l9 = l8.child("L9");
+
+        // 第 7 層未配置時沿用其他層級為同名字段配置的類名
+        assertEquals("SeventhDTO", table.assign(l7, 7));
+        assertEquals("LeafDTO", table.assign(l8, 8));
+        assertEquals("L9DTO", table.assign(l9, 9));
+        assertEquals("L1/L2/L3/L4/L5/L6/L7/L8/L9", l9.toString());
+    }
+
+    @Test
+    void samePathBuiltTwiceKeepsItsName() {
+        ClassNameTable table = new ClassNameTable("Main", null);
+        ClassNameTable.Path first = ClassNameTable.Path.ROOT;
+        ClassNameTable.Path second = ClassNameTable.Path.ROOT;
+        for (int level = 1; level <= 8; level++) {
+            first = first.child("N" + level);
+            second = second.child("N" + level);
+        }
+
+        assertEquals(first, second);
+        assertEquals("N8DTO", table.assign(first, 8));
+        assertEquals("N8DTO", table.assign(second, 8));
+    }
+
+    @Test
+    void collisionsTakeParentPrefixThenNumericSuffix() {
+        ClassNameTable table = new ClassNameTable("Main", null);
+        ClassNameTable.Path root = ClassNameTable.Path.ROOT;
+
+        assertEquals("InfoDTO", table.assign(root.child("payer").child("Info"), 2));
+        assertEquals("PayeeInfoDTO", table.assign(root.child("payee").child("Info"), 2));
+        // 父字段名也相同時，在加前綴的類名後加序號
+        assertEquals("PayeeInfoDTO2", table.assign(root.child("Order").child("payee").child("Info"), 3));
+        assertEquals("PayeeInfoDTO3", table.assign(root.child("Refund").child("payee").child("Info"), 3));
+        // 首個路徑仍使用原類名，加前綴的類名本身也不會被重複分配
+        assertEquals("InfoDTO", table.assign(root.child("payer").child("Info"), 2));
+        assertEquals("PayeeInfoDTO", table.assign(root.child("payee").child("Info"), 2));
+    }
+
+    @Test
+    void topLevelCollisionsTakeNumericSuffixOnly() {
+        Map<Integer, Map<String, String>> configured = new HashMap<>();
+        configured.put(1, new HashMap<>(Map.of("Payer", "PartyDTO", "Payee", "PartyDTO")));
+        ClassNameTable table = new ClassNameTable("InfoDTO", configured);
+
+        // 主類沒有字段名可作前綴，直接加序號
+        assertEquals("InfoDTO2", table.assign(ClassNameTable.Path.ROOT.child("Info"), 1));
+        assertEquals("PartyDTO", table.assign(ClassNameTable.Path.ROOT.child("Payer"), 1));
+        assertEquals("PartyDTO2", table.assign(ClassNameTable.Path.ROOT.child("Payee"), 1));
+    }
+}
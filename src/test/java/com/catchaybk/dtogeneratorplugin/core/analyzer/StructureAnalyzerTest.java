@@ -0,0 +1,194 @@
+package com.catchaybk.dtogeneratorplugin.core.analyzer;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.TypeDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StructureAnalyzerTest {
+    /** 掛在主結構上的字段的父字段 */
+    private static final Field MAIN = field(0, "main", "Object");
+
+    @Test
+    void simpleSiblingDoesNotHideObjectParent() {
+        Field payer = field(1, "Payer", "Object");
+        Field remark = field(1, "Remark", "String");
+        Field name = field(2, "Name", "String");
+        Field acct = field(2, "Acct", "String");
+
+        Structure main = analyze(payer, remark, name, acct);
+
+        assertEquals(List.of(payer, remark), main.getFields());
+        assertEquals(1, main.getChildStructures().size());
+        Structure payerStructure = main.getChildStructures().get(0);
+        assertSame(payer, payerStructure.getParentField());
+        assertEquals(List.of(name, acct), payerStructure.getFields());
+    }
+
+    @Test
+    void simpleSiblingDoesNotHideListParentAtDepth() {
+        Field header = field(1, "Header", "Object");
+        Field items = field(2, "Items", "List");
+        Field count = field(2, "Count", "int");
+        Field amount = field(3, "Amount", "String");
+
+        Structure main = analyze(header, items, count, amount);
+
+        Structure headerStructure = main.getChildStructures().get(0);
+        assertEquals(List.of(items, count), headerStructure.getFields());
+        Structure itemStructure = headerStructure.getChildStructures().get(0);
+        assertSame(items, itemStructure.getParentField());
+        assertEquals(List.of(amount), itemStructure.getFields());
+    }
+
+    @Test
+    void shallowerSimpleFieldEndsDeeperObject() {
+        Field payer = field(1, "Payer", "Object");
+        Field name = field(2, "Name", "String");
+        Field remark = field(1, "Remark", "String");
+        Field code = field(2, "Code", "String");
+        Field orphan = field(3, "Orphan", "String");
+
+        Structure main = analyze(payer, name, remark, code, orphan);
+
+        // Code 仍屬於 Payer；Orphan 的上一層沒有對象，被忽略
+        assertEquals(List.of(payer, remark), main.getFields());
+        assertEquals(List.of(name, code), main.getChildStructures().get(0).getFields());
+    }
+
+    @Test
+    void laterObjectReplacesEarlierOneAtSameLevel() {
+        Field payer = field(1, "Payer", "Object");
+        Field payee = field(1, "Payee", "Object");
+        Field name = field(2, "Name", "String");
+
+        Structure main = analyze(payer, payee, name);
+
+        assertEquals(List.of(), main.getChildStructures().get(0).getFields());
+        assertEquals(List.of(name), main.getChildStructures().get(1).getFields());
+    }
+
+    @Test
+    void matchesBaselineParentResolution() {
+        Random random = new Random(20240101L);
+        String[] types = { "String", "int", "Object", "List", "List<String>" };
+        for (int round = 0; round < 500; round++) {
+            List<Field> fields = new ArrayList<>();
+            int level = 1;
+            for (int i = 0; i < 40; i++) {
+                level = 1 + random.nextInt(level + 2);
+                fields.add(field(level, "F" + round + "_" + i, types[random.nextInt(types.length)]));
+            }
+
+            String spec = describe(fields);
+            Map<Field, Field> expected = baselineParents(fields);
+            Map<Field, Field> actual = new IdentityHashMap<>();
+            collectParents(new StructureAnalyzer(fields, "Main", new HashMap<>()).analyze(), MAIN, actual);
+
+            for (Field f : fields) {
+                assertSame(expected.get(f), actual.get(f),
+                        () -> f.getDataName() + " 的父字段不同：" + spec);
+            }
+        }
+    }
+
+    private static Structure analyze(Field... fields) {
+        return new StructureAnalyzer(List.of(fields), "Main", new HashMap<>()).analyze();
+    }
+
+    private static Field field(int level, String name, String type) {
+        return new Field(level, name, type, "10", false, "", "", true);
+    }
+
+    private static void collectParents(Structure structure, Field parent, Map<Field, Field> parents) {
+        for (Field f : structure.getFields()) {
+            parents.put(f, parent);
+        }
+        for (Structure child : structure.getChildStructures()) {
+            collectParents(child, child.getParentField(), parents);
+        }
+    }
+
+    /**
+     * 重新實現改寫前 StructureAnalyzer 的父節點查找：逐層處理，
+     * 向前找同一父層級中最近的對象或List，遇到更淺的字段即停止，再以字段名取得該層已建立的子結構。
+     * 字段名在測試中唯一，因此按名稱查找與按字段查找相同
+     *
+     * @return 字段到父字段（主結構為 MAIN），被忽略的字段不在映射中
+     */
+    private static Map<Field, Field> baselineParents(List<Field> fields) {
+        int minLevel = fields.stream().mapToInt(Field::getLevel).min().orElse(1);
+        Map<Integer, List<Field>> byLevel = new TreeMap<>();
+        for (Field f : fields) {
+            byLevel.computeIfAbsent(f.getLevel(), k -> new ArrayList<>()).add(f);
+        }
+
+        Map<Field, Field> parents = new IdentityHashMap<>();
+        Map<Integer, Map<String, Field>> structures = new HashMap<>();
+        for (Map.Entry<Integer, List<Field>> entry : byLevel.entrySet()) {
+            int level = entry.getKey();
+            for (Field f : entry.getValue()) {
+                Field parent;
+                if (level == minLevel) {
+                    parent = MAIN;
+                } else {
+                    Field parentField = findParentField(fields, f);
+                    parent = parentField == null ? null
+                            : structures.getOrDefault(level - 1, Map.of()).get(parentField.getDataName());
+                }
+                if (parent == null) {
+                    continue;
+                }
+                parents.put(f, parent);
+                if (createsStructure(f)) {
+                    structures.computeIfAbsent(level, k -> new HashMap<>()).put(f.getDataName(), f);
+                }
+            }
+        }
+        return parents;
+    }
+
+    private static Field findParentField(List<Field> fields, Field current) {
+        int targetLevel = current.getLevel() - 1;
+        for (int i = fields.indexOf(current) - 1; i >= 0; i--) {
+            Field f = fields.get(i);
+            if (f.getLevel() == targetLevel && (f.isObject() || f.isList())) {
+                return f;
+            }
+            if (f.getLevel() < targetLevel) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private static boolean createsStructure(Field f) {
+        if (f.isList()) {
+            String type = f.getDataType();
+            String generic = type.startsWith("List<") && type.endsWith(">")
+                    ? type.substring(5, type.length() - 1).trim()
+                    : type;
+            return !TypeDescriptor.of(generic).isSimpleValueType();
+        }
+        return f.isObject();
+    }
+
+    private static String describe(List<Field> fields) {
+        StringBuilder sb = new StringBuilder();
+        for (Field f : fields) {
+            sb.append('\n').append(f.getLevel()).append(' ').append(f.getDataName()).append(' ').append(f.getDataType());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,203 @@
+package com.catchaybk.dtogeneratorplugin.core.analyzer;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.GenerationFeature;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StructureDeduplicatorTest {
+
+    @Test
+    void identicalBlocksBecomeOneClassReferencedByBothParents() {
+        List<Field> fields = new ArrayList<>();
+        fields.add(field(1, "Payer", "Object", "", false, ""));
+        fields.add(field(2, "Name", "String", "40", true, ""));
+        fields.addAll(amtInfo(2, "付款金額"));
+        fields.add(field(1, "Payee", "Object", "", false, ""));
+        fields.addAll(amtInfo(2, "收款金額"));
+
+        StructureDeduplicator deduplicator = new StructureDeduplicator();
+        Structure main = analyze(fields, deduplicator);
+
+        Structure payer = main.getChildStructures().get(0);
+        Structure payee = main.getChildStructures().get(1);
+        assertEquals(List.of("AmtInfoDTO"), classNames(payer.getChildStructures()));
+        assertEquals(List.of(), classNames(payee.getChildStructures()));
+        assertEquals("AmtInfoDTO", fieldNamed(payer, "AmtInfo").getChildClassName());
+        assertEquals("AmtInfoDTO", fieldNamed(payee, "AmtInfo").getChildClassName());
+        assertEquals("AmtInfoDTO", fieldNamed(payee, "AmtInfo").getDataType());
+        assertEquals(List.of("AmtInfoDTO", "PayerDTO", "PayeeDTO"),
+                classNames(new ArrayList<>(deduplicator.getCanonicalStructures().values())));
+    }
+
+    @Test
+    void blocksDifferingInSizeRequiredOrPatternAreKept() {
+        Field[] variants = {
+                field(3, "Ccy", "String", "4", true, ""),
+                field(3, "Ccy", "String", "3", false, ""),
+                new Field(3, "Ccy", "String", "3", true, "", "[A-Z]{3}", true),
+        };
+        for (Field variant : variants) {
+            List<Field> fields = new ArrayList<>();
+            fields.add(field(1, "Payer", "Object", "", false, ""));
+            fields.add(field(2, "Name", "String", "40", true, ""));
+            fields.addAll(amtInfo(2, ""));
+            fields.add(field(1, "Payee", "Object", "", false, ""));
+            fields.add(field(2, "AmtInfo", "Object", "", true, ""));
+            fields.add(field(3, "Amt", "BigDecimal", "12,2", true, ""));
+            fields.add(variant);
+
+            Structure main = analyze(fields, new StructureDeduplicator());
+
+            Structure payee = main.getChildStructures().get(1);
+            assertEquals(List.of("PayeeAmtInfoDTO"), classNames(payee.getChildStructures()),
+                    () -> "不應合併：" + variant.getSize() + "/" + variant.isRequired() + "/" + variant.getPattern());
+            assertEquals("PayeeAmtInfoDTO", fieldNamed(payee, "AmtInfo").getChildClassName());
+        }
+    }
+
+    @Test
+    void firstStructureCompletedInPostOrderKeepsItsName() {
+        // Detail 在 Header 之內，比 Header 先完成，也比後面的 Total 先完成
+        List<Field> fields = new ArrayList<>();
+        fields.add(field(1, "Header", "Object", "", true, ""));
+        fields.add(field(2, "Seq", "int", "3", true, ""));
+        fields.add(field(2, "Detail", "Object", "", true, ""));
+        fields.add(field(3, "Amt", "BigDecimal", "12,2", true, "明細金額"));
+        fields.add(field(3, "Ccy", "String", "3", true, ""));
+        fields.add(field(1, "Total", "Object", "", true, ""));
+        fields.add(field(2, "Amt", "BigDecimal", "12,2", true, "總金額"));
+        fields.add(field(2, "Ccy", "String", "3", true, ""));
+
+        Structure main = analyze(fields, new StructureDeduplicator());
+
+        assertEquals(List.of("HeaderDTO"), classNames(main.getChildStructures()));
+        assertEquals("DetailDTO", fieldNamed(main, "Total").getChildClassName());
+        assertEquals("明細金額", main.getChildStructures().get(0).getChildStructures().get(0)
+                .getFields().get(0).getComments());
+    }
+
+    @Test
+    void sharedClassIsReferencedFromAnotherPackage() {
+        StructureDeduplicator first = new StructureDeduplicator(StructureIndex.NONE, "com.demo.ac001", "java17");
+        analyze(payerWithAmtInfo(), first);
+        StructureIndex index = indexOf(first, "com.demo.ac001");
+
+        StructureDeduplicator second = new StructureDeduplicator(index, "com.demo.ac002", "java17");
+        Structure main = analyze(payerWithAmtInfo(), second);
+
+        // 後序查找：先引用 AC001 的 AmtInfoDTO，整個 Payer 子樹也相同，再引用 AC001 的 PayerDTO
+        assertEquals(List.of(), main.getChildStructures());
+        assertEquals("com.demo.ac001.PayerDTO", fieldNamed(main, "Payer").getChildClassImport());
+        assertEquals(2, second.getSharedCount());
+    }
+
+    @Test
+    void sharedClassIsNotReferencedWhenOutputVariantDiffers() {
+        StructureDeduplicator first = new StructureDeduplicator(StructureIndex.NONE, "com.demo.ac001", "java17");
+        analyze(payerWithAmtInfo(), first);
+        StructureIndex index = indexOf(first, "com.demo.ac001");
+
+        StructureDeduplicator second = new StructureDeduplicator(index, "com.demo.ac002", "java17,records");
+        Structure main = analyze(payerWithAmtInfo(), second);
+
+        assertEquals(List.of("PayerDTO"), classNames(main.getChildStructures()));
+        assertEquals(0, second.getSharedCount());
+    }
+
+    @Test
+    void sharedClassIsNotReferencedWhenItsNameClashesWithALocalClass() {
+        StructureDeduplicator first = new StructureDeduplicator(StructureIndex.NONE, "com.demo.ac001", "java17");
+        analyze(payerWithAmtInfo(), first);
+        StructureIndex index = indexOf(first, "com.demo.ac001");
+
+        // 本電文另有一個不同的 AmtInfoDTO，導入 com.demo.ac001.AmtInfoDTO 會與之衝突
+        List<Field> fields = new ArrayList<>();
+        fields.add(field(1, "AmtInfo", "Object", "", true, ""));
+        fields.add(field(2, "Rate", "BigDecimal", "9,6", true, ""));
+        fields.add(field(1, "Fee", "Object", "", true, ""));
+        fields.addAll(amtInfo(2, ""));
+
+        StructureDeduplicator second = new StructureDeduplicator(index, "com.demo.ac002", "java17");
+        Structure main = analyze(fields, second);
+
+        Field feeAmt = fieldNamed(main.getChildStructures().get(1), "AmtInfo");
+        assertEquals("FeeAmtInfoDTO", feeAmt.getChildClassName());
+        assertNull(feeAmt.getChildClassImport());
+        assertEquals(0, second.getSharedCount());
+    }
+
+    @Test
+    void outputVariantDependsOnJsonNamingAndJacksonAnnotations() {
+        String base = StructureDeduplicator.outputVariant(config("原始格式", List.of("小駝峰", "全大寫"), Set.of()));
+
+        assertEquals(base, StructureDeduplicator.outputVariant(config("原始格式", List.of("小駝峰", "全大寫"), Set.of())));
+        assertNotEquals(base, StructureDeduplicator.outputVariant(config("小駝峰", List.of("小駝峰", "全大寫"), Set.of())));
+        assertNotEquals(base, StructureDeduplicator.outputVariant(config("原始格式", List.of("全大寫", "小駝峰"), Set.of())));
+        assertNotEquals(base, StructureDeduplicator.outputVariant(config("原始格式", List.of("小駝峰"), Set.of())));
+        assertNotEquals(base, StructureDeduplicator.outputVariant(config("原始格式", List.of("小駝峰", "全大寫"),
+                Set.of(GenerationFeature.JACKSON_THROUGHPUT))));
+    }
+
+    private static UserConfig config(String jsonPropertyStyle, List<String> jsonAliasStyles,
+            Set<GenerationFeature> features) {
+        return new UserConfig(null, "Main", "", "AC001", true, "", new HashMap<>(), "com.demo",
+                jsonPropertyStyle, jsonAliasStyles, null, features);
+    }
+
+    private static List<Field> payerWithAmtInfo() {
+        List<Field> fields = new ArrayList<>();
+        fields.add(field(1, "Payer", "Object", "", true, ""));
+        fields.add(field(2, "Name", "String", "40", true, ""));
+        fields.addAll(amtInfo(2, ""));
+        return fields;
+    }
+
+    private static List<Field> amtInfo(int level, String comment) {
+        return List.of(
+                field(level, "AmtInfo", "Object", "", true, comment),
+                field(level + 1, "Amt", "BigDecimal", "12,2", true, ""),
+                field(level + 1, "Ccy", "String", "3", true, ""));
+    }
+
+    private static StructureIndex indexOf(StructureDeduplicator deduplicator, String packageName) {
+        Map<String, String> entries = new HashMap<>();
+        deduplicator.getIndexEntries().forEach((key, structure) ->
+                entries.put(key, packageName + "." + structure.getClassName()));
+        return entries::get;
+    }
+
+    private static Structure analyze(List<Field> fields, StructureDeduplicator deduplicator) {
+        return new StructureAnalyzer(fields, "Main", new HashMap<>(), deduplicator).analyze();
+    }
+
+    private static Field field(int level, String name, String type, String size, boolean required, String comment) {
+        return new Field(level, name, type, size, required, comment, "", true);
+    }
+
+    private static Field fieldNamed(Structure structure, String name) {
+        return structure.getFields().stream()
+                .filter(f -> f.getDataName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<String> classNames(List<Structure> structures) {
+        List<String> names = new ArrayList<>();
+        for (Structure structure : structures) {
+            names.add(structure.getClassName());
+        }
+        return names;
+    }
+}
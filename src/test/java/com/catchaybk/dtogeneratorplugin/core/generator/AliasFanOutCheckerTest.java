@@ -0,0 +1,52 @@
+package com.catchaybk.dtogeneratorplugin.core.generator;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import com.catchaybk.dtogeneratorplugin.core.model.Structure;
+import com.catchaybk.dtogeneratorplugin.core.model.UserConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AliasFanOutCheckerTest {
+    private static final List<String> TWO_STYLES = List.of(NameStyleConverter.UPPER_CASE, NameStyleConverter.UPPER_SNAKE_CASE);
+
+    @Test
+    void typicalClassWithSeveralAliasStylesIsNotReported() {
+        // 兩種別名格式使名稱數多於屬性數的兩倍，但別名總數仍在上限內
+        assertEquals(List.of(), check(structure("PayerDTO", 20), TWO_STYLES));
+    }
+
+    @Test
+    void classAboveTheAbsoluteLimitIsReported() {
+        assertEquals(List.of("WideDTO：40 個屬性共有 80 個別名"), check(structure("WideDTO", 40), TWO_STYLES));
+    }
+
+    @Test
+    void childStructuresAreCheckedInPreOrder() {
+        Structure main = structure("MainDTO", 40);
+        Structure narrow = structure("NarrowDTO", 5);
+        narrow.addChildStructure(structure("DeepDTO", 33), new Field(2, "deep", "Object", "", false, "", "", true));
+        main.addChildStructure(narrow, new Field(1, "narrow", "Object", "", false, "", "", true));
+
+        assertEquals(List.of("MainDTO：40 個屬性共有 80 個別名", "DeepDTO：33 個屬性共有 66 個別名"),
+                check(main, TWO_STYLES));
+    }
+
+    private static List<String> check(Structure structure, List<String> aliasStyles) {
+        UserConfig config = new UserConfig(null, "MainDTO", "", "AC001", true, "", new HashMap<>(), "com.demo",
+                NameStyleConverter.ORIGINAL, aliasStyles, null, Set.of());
+        return new AliasFanOutChecker(new ClassGenerator("com.demo", config)).check(structure);
+    }
+
+    private static Structure structure(String className, int propertyCount) {
+        Structure structure = new Structure(className);
+        for (int i = 0; i < propertyCount; i++) {
+            structure.addField(new Field(1, "fieldName" + i, "String", "10", false, "", "", true));
+        }
+        return structure;
+    }
+}
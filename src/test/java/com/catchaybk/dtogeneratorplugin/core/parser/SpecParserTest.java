@@ -0,0 +1,127 @@
+package com.catchaybk.dtogeneratorplugin.core.parser;
+
+import com.catchaybk.dtogeneratorplugin.core.model.Field;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpecParserTest {
+
+    @Test
+    void parsesTabSeparatedRows() {
+        String spec = String.join("\n",
+                "1\tCustId\tString\t10\tY\t客戶ID",
+                "1\tAmt\tBigDecimal\t12,2\tN\t金額",
+                "1\tSupList\tList\t5\tY\t明細",
+                "2\tAcctNo\tString\t16\tY\t帳號",
+                "1\tTail\tString\t4\tN\t尾\t[A-Z]+");
+
+        assertEquals(List.of(
+                "1|CustId|String|10|true|客戶ID|",
+                "1|Amt|BigDecimal|12,2|false|金額|",
+                "1|SupList|List|5|true|明細|",
+                "2|AcctNo|String|16|true|帳號|",
+                "1|Tail|String|4|false|尾|[A-Z]+"), describe(SpecParser.parseFields(spec, true)));
+    }
+
+    @Test
+    void wrappedCellLinesAreAppendedToPreviousComment() {
+        String spec = String.join("\n",
+                "1\tStatus\tString\t1\tY\t狀態",
+                "0: 停用",
+                "1. 啟用",
+                "2\t備用",
+                "1\tName\tString\t20\tN\t名稱");
+
+        assertEquals(List.of(
+                "1|Status|String|1|true|狀態 0: 停用\n1. 啟用\n2\t備用|",
+                "1|Name|String|20|false|名稱|"), describe(SpecParser.parseFields(spec, true)));
+    }
+
+    @Test
+    void headerAndCommentRowsAreNotFields() {
+        String spec = String.join("\n",
+                "電文規格 AC001",
+                "Level\tData Name\tData Type\tSize\tRequired\tComments",
+                "",
+                "1\tCustId\tString\t10\tY\t客戶ID",
+                "   ",
+                "1\tPayer\tObject\t\tN\t(付款人) 見附表",
+                "Level\tData Name\tData Type\tSize\tRequired\tComments");
+
+        assertEquals(List.of(
+                "1|CustId|String|10|true|客戶ID|",
+                "1|Payer|Object||false|(付款人) 見附表 Level\tData Name\tData Type\tSize\tRequired\tComments|"),
+                describe(SpecParser.parseFields(spec, true)));
+    }
+
+    @Test
+    void splitsOnDoubleSpacesButKeepsSingleSpaces() {
+        String[] row = parseRows("1  CustName  String  40  Y  客戶 名稱").get(0);
+
+        assertArrayEquals(new String[]{"1", "CustName", "String", "40", "Y", "客戶 名稱", ""}, row);
+    }
+
+    @Test
+    void distributesShortRowsByValueShape() {
+        List<String[]> rows = parseRows(String.join("\n",
+                "1\tA\tString",
+                "1\tB\tString\t10",
+                "1\tC\tString\ty",
+                "1\tD\tString\t說明",
+                "1\tE\tString\tN\t說明",
+                "1\tF\tString\t10\tY"));
+
+        assertArrayEquals(new String[]{"1", "A", "String", "", "", "", ""}, rows.get(0));
+        assertArrayEquals(new String[]{"1", "B", "String", "10", "", "", ""}, rows.get(1));
+        assertArrayEquals(new String[]{"1", "C", "String", "", "Y", "", ""}, rows.get(2));
+        assertArrayEquals(new String[]{"1", "D", "String", "", "", "說明", ""}, rows.get(3));
+        assertArrayEquals(new String[]{"1", "E", "String", "", "N", "說明", ""}, rows.get(4));
+        assertArrayEquals(new String[]{"1", "F", "String", "10", "Y", "", ""}, rows.get(5));
+    }
+
+    @Test
+    void crlfInputMatchesLfInput() {
+        String lf = "1\tCustId\tString\t10\tY\t客戶ID\n0: 停用\n1\tAmt\tBigDecimal\t12,2\tN\t金額";
+
+        assertEquals(describe(SpecParser.parseFields(lf, true)),
+                describe(SpecParser.parseFields(lf.replace("\n", "\r\n"), true)));
+    }
+
+    @Test
+    void readerParsingMatchesTextParsingAcrossBufferBoundaries() throws IOException {
+        StringBuilder spec = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            spec.append(i % 3 + 1).append("\tField").append(i).append("\tString\t10\tY\t說明").append(i).append('\n');
+            if (i % 7 == 0) {
+                spec.append("0: 續行").append(i).append('\n');
+            }
+        }
+
+        List<Field> streamed = new ArrayList<>();
+        SpecParser.parseFields(new StringReader(spec.toString()), true, streamed::add);
+
+        assertEquals(describe(SpecParser.parseFields(spec.toString(), true)), describe(streamed));
+    }
+
+    private static List<String[]> parseRows(String text) {
+        List<String[]> rows = new ArrayList<>();
+        SpecParser.parse(text, rows::add);
+        return rows;
+    }
+
+    private static List<String> describe(List<Field> fields) {
+        List<String> lines = new ArrayList<>();
+        for (Field f : fields) {
+            lines.add(f.getLevel() + "|" + f.getDataName() + "|" + f.getDataType() + "|" + f.getSize() + "|"
+                    + f.isRequired() + "|" + f.getComments() + "|" + f.getPattern());
+        }
+        return lines;
+    }
+}